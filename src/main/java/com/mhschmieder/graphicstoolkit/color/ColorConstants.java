@@ -130,6 +130,32 @@ public final class ColorConstants {
      */
     public static final int                             NUMBER_OF_CMYK_COMPONENTS = 4;
 
+    /**
+     * The invariant spec-mandated index for the lightness component of CIE
+     * L*a*b* and OKLab.
+     */
+    public static final int                             LAB_LIGHTNESS_INDEX       = 0;
+
+    /**
+     * The invariant spec-mandated index for the green-red opponent component
+     * of CIE L*a*b* and OKLab.
+     */
+    public static final int                             LAB_A_INDEX               =
+                                                                    LAB_LIGHTNESS_INDEX + 1;
+
+    /**
+     * The invariant spec-mandated index for the blue-yellow opponent component
+     * of CIE L*a*b* and OKLab.
+     */
+    public static final int                             LAB_B_INDEX               =
+                                                                    LAB_A_INDEX + 1;
+
+    /**
+     * The number of specified individual L*a*b* or OKLab components, which is
+     * invariant.
+     */
+    public static final int                             NUMBER_OF_LAB_COMPONENTS  = 3;
+
     //////// Custom colors to augment the AWT named color constants //////////
 
     /**
@@ -0,0 +1,208 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.color;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * {@code ColorLookupTables} is a container for precomputed 256-entry lookup
+ * tables that replace the per-pixel division, weighting, gamma coding and
+ * hexadecimal string formatting in the inner loops of the color conversion
+ * methods in {@link ColorUtilities} and {@link PerceptualColorUtilities}.
+ * <p>
+ * The floating-point tables hold exactly the same single-precision products
+ * that the original arithmetic computes, so results are bit-for-bit identical.
+ * The fixed-point tables support integer-only conversion to 8-bit code values,
+ * which are guaranteed to be within one code value of the floating-point math.
+ * <p>
+ * The tables are package-private as arrays cannot be made immutable; they are
+ * only read, never written, after class initialization.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+final class ColorLookupTables {
+
+    /**
+     * The default constructor is disabled, as this is a static constants class.
+     */
+    private ColorLookupTables() {}
+
+    /**
+     * The number of entries in each table; one per 8-bit color component.
+     */
+    static final int     NUMBER_OF_ENTRIES      = 256;
+
+    /**
+     * The number of fractional bits used by the fixed-point tables.
+     */
+    static final int     FIXED_POINT_SHIFT      = 16;
+
+    /**
+     * The fixed-point representation of one half, for rounding to nearest.
+     */
+    static final int     FIXED_POINT_HALF       = 1 << ( FIXED_POINT_SHIFT - 1 );
+
+    /**
+     * The smallest sum of 0-255 based R, G, and B components that is not
+     * considered dark by the equal weighted Bitmap conversion, as the average
+     * of the normalized components must be at least 0.5 (382.5 / 765).
+     */
+    static final int     BITMAP_THRESHOLD_SUM   = 383;
+
+    /**
+     * The 0-255 based color components converted to a floating-point basis
+     * (between 0.0 and 1.0), exactly as {@code component / 255f}.
+     */
+    static final float[] NORMALIZED_COMPONENTS  = new float[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The normalized Red components pre-multiplied by the NTSC gray weight.
+     */
+    static final float[] GRAY_RED_WEIGHTS       = new float[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The normalized Green components pre-multiplied by the NTSC gray weight.
+     */
+    static final float[] GRAY_GREEN_WEIGHTS     = new float[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The normalized Blue components pre-multiplied by the NTSC gray weight.
+     */
+    static final float[] GRAY_BLUE_WEIGHTS      = new float[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The Red components scaled to fixed-point 8-bit gray code values.
+     */
+    static final int[]   GRAY_RED_FIXED         = new int[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The Green components scaled to fixed-point 8-bit gray code values.
+     */
+    static final int[]   GRAY_GREEN_FIXED       = new int[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The Blue components scaled to fixed-point 8-bit gray code values.
+     */
+    static final int[]   GRAY_BLUE_FIXED        = new int[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The fixed-point reciprocals of the maximum RGB component, pre-scaled by
+     * 255 so that a component times its entry is an 8-bit code value. The
+     * zero entry is unused, as Absolute Black is always special-cased.
+     */
+    static final int[]   CMYK_RECIPROCALS_FIXED = new int[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The lower-case two-character hexadecimal ASCII representations of each
+     * 8-bit code value, stored as consecutive pairs of bytes.
+     */
+    static final byte[]  HEX_DIGIT_PAIRS        = new byte[ 2 * NUMBER_OF_ENTRIES ];
+
+    /**
+     * The lower-case two-character hexadecimal strings for each 8-bit code
+     * value, shared so that no strings are created during conversion. Each
+     * row holds the 16 code values that share a high digit.
+     */
+    @SuppressWarnings("nls")
+    static final String[] HEX_STRINGS           = {
+            "00", "01", "02", "03", "04", "05", "06", "07", "08", "09", "0a", "0b", "0c", "0d", "0e", "0f",
+            "10", "11", "12", "13", "14", "15", "16", "17", "18", "19", "1a", "1b", "1c", "1d", "1e", "1f",
+            "20", "21", "22", "23", "24", "25", "26", "27", "28", "29", "2a", "2b", "2c", "2d", "2e", "2f",
+            "30", "31", "32", "33", "34", "35", "36", "37", "38", "39", "3a", "3b", "3c", "3d", "3e", "3f",
+            "40", "41", "42", "43", "44", "45", "46", "47", "48", "49", "4a", "4b", "4c", "4d", "4e", "4f",
+            "50", "51", "52", "53", "54", "55", "56", "57", "58", "59", "5a", "5b", "5c", "5d", "5e", "5f",
+            "60", "61", "62", "63", "64", "65", "66", "67", "68", "69", "6a", "6b", "6c", "6d", "6e", "6f",
+            "70", "71", "72", "73", "74", "75", "76", "77", "78", "79", "7a", "7b", "7c", "7d", "7e", "7f",
+            "80", "81", "82", "83", "84", "85", "86", "87", "88", "89", "8a", "8b", "8c", "8d", "8e", "8f",
+            "90", "91", "92", "93", "94", "95", "96", "97", "98", "99", "9a", "9b", "9c", "9d", "9e", "9f",
+            "a0", "a1", "a2", "a3", "a4", "a5", "a6", "a7", "a8", "a9", "aa", "ab", "ac", "ad", "ae", "af",
+            "b0", "b1", "b2", "b3", "b4", "b5", "b6", "b7", "b8", "b9", "ba", "bb", "bc", "bd", "be", "bf",
+            "c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7", "c8", "c9", "ca", "cb", "cc", "cd", "ce", "cf",
+            "d0", "d1", "d2", "d3", "d4", "d5", "d6", "d7", "d8", "d9", "da", "db", "dc", "dd", "de", "df",
+            "e0", "e1", "e2", "e3", "e4", "e5", "e6", "e7", "e8", "e9", "ea", "eb", "ec", "ed", "ee", "ef",
+            "f0", "f1", "f2", "f3", "f4", "f5", "f6", "f7", "f8", "f9", "fa", "fb", "fc", "fd", "fe", "ff"
+    };
+
+    /**
+     * The 0-255 based sRGB gamma-encoded color components converted to linear
+     * light (between 0.0 and 1.0), per the IEC 61966-2-1 transfer function.
+     */
+    static final float[] SRGB_TO_LINEAR         = new float[ NUMBER_OF_ENTRIES ];
+
+    /**
+     * The linear light values at which sRGB gamma encoding rounds up to each
+     * 0-255 based code value from 1 to 255, being the linearized midpoints
+     * between adjacent code values, so that encoding needs only a search.
+     */
+    static final float[] LINEAR_TO_SRGB         = new float[ NUMBER_OF_ENTRIES - 1 ];
+
+    static {
+        // NOTE: The floating-point products must be computed in the same order
+        //  and precision as the original formulae, to stay bit-for-bit exact.
+        for ( int component = 0; component < NUMBER_OF_ENTRIES; component++ ) {
+            final float normalizedComponent = component / 255f;
+            NORMALIZED_COMPONENTS[ component ] = normalizedComponent;
+
+            GRAY_RED_WEIGHTS[ component ] = 0.2989f * normalizedComponent;
+            GRAY_GREEN_WEIGHTS[ component ] = 0.587f * normalizedComponent;
+            GRAY_BLUE_WEIGHTS[ component ] = 0.114f * normalizedComponent;
+
+            final double fixedPointComponent = component * ( double ) ( 1 << FIXED_POINT_SHIFT );
+            GRAY_RED_FIXED[ component ] = ( int ) FastMath.round( 0.2989d * fixedPointComponent );
+            GRAY_GREEN_FIXED[ component ] = ( int ) FastMath.round( 0.587d * fixedPointComponent );
+            GRAY_BLUE_FIXED[ component ] = ( int ) FastMath.round( 0.114d * fixedPointComponent );
+
+            CMYK_RECIPROCALS_FIXED[ component ] = ( component == 0 )
+                ? 0
+                : ( int ) FastMath.round( ( 255d * ( 1 << FIXED_POINT_SHIFT ) ) / component );
+
+            final char highDigit = Character.forDigit( component >> 4, 16 );
+            final char lowDigit = Character.forDigit( component & 0xf, 16 );
+            HEX_DIGIT_PAIRS[ 2 * component ] = ( byte ) highDigit;
+            HEX_DIGIT_PAIRS[ ( 2 * component ) + 1 ] = ( byte ) lowDigit;
+
+            final double encodedComponent = component / 255d;
+            SRGB_TO_LINEAR[ component ] = ( float ) ( ( encodedComponent <= 0.04045d )
+                ? encodedComponent / 12.92d
+                : FastMath.pow( ( encodedComponent + 0.055d ) / 1.055d, 2.4d ) );
+
+            if ( component > 0 ) {
+                final double encodedMidpoint = ( component - 0.5d ) / 255d;
+                LINEAR_TO_SRGB[ component - 1 ] = ( float ) ( ( encodedMidpoint <= 0.04045d )
+                    ? encodedMidpoint / 12.92d
+                    : FastMath.pow( ( encodedMidpoint + 0.055d ) / 1.055d, 2.4d ) );
+            }
+        }
+    }
+
+}
@@ -79,8 +79,9 @@ package com.mhschmieder.graphicstoolkit.color;
  * standards due to being closer to human perception, their device independence
  * makes them difficult to convert to and from standard device-dependent RGB,
  * HSB (also known as HSV), or CMYK. As PostScript and most other graphics
- * output formats do not support them anyway, any conversion of these color
- * spaces are the responsibility of client applications and dedicated libraries.
+ * output formats do not support them anyway, they are not offered as Color
+ * Modes; conversions to and from CIELAB and OKLab for on-screen purposes such
+ * as gradient interpolation are provided by {@link PerceptualColorUtilities}.
  * <p>
  * There was an initial attempt to support both HSB and LAB, but they were both
  * backed out as neither has much utility in the context of file export vs.
@@ -0,0 +1,424 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.color;
+
+import java.awt.Color;
+
+/**
+ * {@code ColorPool} interns {@link Color} instances by packed ARGB value, so
+ * that equal colors throughout a scene share one instance, in the same spirit
+ * as {@link String#intern}. Each distinct value is held in an
+ * {@link InternedColor} entry that also caches its derived data, such as gray
+ * and CMYK conversions, the dark vs. light flag, and hexadecimal form.
+ * <p>
+ * The entries are kept in an open-addressing hash table with linear probing
+ * that is keyed directly by the packed integer, so lookups are O(1) and never
+ * box the key. Lookups of existing colors do not lock; only the insertion of
+ * a new color is synchronized. As entries are never removed, a lookup that
+ * races with an insertion at worst takes the synchronized path and finds the
+ * entry there.
+ * <p>
+ * Only plain sRGB {@link Color} instances are interned. Subclasses such as
+ * {@link java.awt.SystemColor} carry semantics beyond their value, and colors
+ * in other color spaces would lose precision, so they are returned as-is.
+ * <p>
+ * A pool may be bounded to a maximum number of distinct colors, beyond which
+ * new colors are passed through without being interned, along with a private
+ * entry that is not retained. Entries are never evicted, as that would break
+ * the identity of the canonical instances that are already handed out, so the
+ * bound simply stops the pool from growing with every color that is drawn.
+ * <p>
+ * The shared pool is pre-seeded with the named colors of AWT and of
+ * {@link ColorConstants}, so that they are the canonical instances for their
+ * values, and is bounded to {@link #SHARED_POOL_MAXIMUM_SIZE} colors, as it
+ * lives as long as the JVM. Clients that intern the unbounded palettes of
+ * heatmaps or gradients should use a private pool that they discard.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ColorPool {
+
+    /**
+     * The default initial capacity, which comfortably holds the pre-seeded
+     * named colors along with a typical palette of imported colors.
+     */
+    public static final int         DEFAULT_INITIAL_CAPACITY = 256;
+
+    /**
+     * The maximum number of distinct colors in the shared pool, which is far
+     * more than the palette of a typical imported scene.
+     */
+    public static final int         SHARED_POOL_MAXIMUM_SIZE = 4096;
+
+    /**
+     * The shared pool, for clients that have no need for a private pool.
+     */
+    private static final ColorPool SHARED_POOL              = makeSharedPool();
+
+    /**
+     * The maximum number of distinct colors in the pool.
+     */
+    private final int                maximumSize;
+
+    /**
+     * The hash table of entries, whose length is always a power of two. It is
+     * replaced rather than resized in place, so that lock-free lookups always
+     * see a consistent table.
+     */
+    private volatile InternedColor[] entries;
+
+    /**
+     * The number of entries in the table; only accessed while synchronized.
+     */
+    private int                      size;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the default constructor, which uses the default initial
+     * capacity and does not bound the pool.
+     *
+     * @since 1.0
+     */
+    public ColorPool() {
+        this( DEFAULT_INITIAL_CAPACITY );
+    }
+
+    /**
+     * This constructor does not bound the pool.
+     *
+     * @param initialCapacity
+     *            The number of distinct colors that can be held before the
+     *            table needs to grow
+     *
+     * @since 1.0
+     */
+    public ColorPool( final int initialCapacity ) {
+        this( initialCapacity, Integer.MAX_VALUE );
+    }
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param initialCapacity
+     *            The number of distinct colors that can be held before the
+     *            table needs to grow
+     * @param pMaximumSize
+     *            The maximum number of distinct colors to intern, beyond which
+     *            new colors are passed through without being interned
+     *
+     * @since 1.0
+     */
+    public ColorPool( final int initialCapacity, final int pMaximumSize ) {
+        maximumSize = pMaximumSize;
+
+        // Keep the load factor at or below one half, as linear probing
+        // degrades quickly beyond that.
+        int tableLength = 16;
+        while ( tableLength < ( 2 * initialCapacity ) ) {
+            tableLength <<= 1;
+        }
+
+        entries = new InternedColor[ tableLength ];
+        size = 0;
+    }
+
+    /**
+     * Returns the shared pool, pre-seeded with the named colors.
+     *
+     * @return The shared {@link ColorPool}
+     *
+     * @since 1.0
+     */
+    public static ColorPool getSharedPool() {
+        return SHARED_POOL;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the number of distinct colors in the pool.
+     *
+     * @return The number of distinct colors in the pool
+     *
+     * @since 1.0
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of distinct colors in the pool.
+     *
+     * @return The maximum number of distinct colors in the pool
+     *
+     * @since 1.0
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Returns the canonical instance of the supplied color, which becomes the
+     * canonical instance itself if no equal color was interned before.
+     *
+     * @param color
+     *            The {@link Color} to intern
+     * @return The canonical {@link Color} that is equal to the supplied color,
+     *         or the supplied color itself if it cannot be interned, is
+     *         {@code null}, or is new to a pool that is full
+     *
+     * @since 1.0
+     */
+    public Color intern( final Color color ) {
+        if ( !isInternable( color ) ) {
+            return color;
+        }
+
+        return getEntry( color ).getColor();
+    }
+
+    /**
+     * Returns the canonical instance of the color for a packed ARGB value,
+     * creating it if no equal color was interned before.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @return The canonical {@link Color} for the packed ARGB value
+     *
+     * @since 1.0
+     */
+    public Color intern( final int packedColor ) {
+        return getEntry( packedColor ).getColor();
+    }
+
+    /**
+     * Returns the pool entry for the supplied color, interning it if no equal
+     * color was interned before.
+     *
+     * @param color
+     *            The {@link Color} whose entry is needed
+     * @return The {@link InternedColor} entry for the color's packed ARGB
+     *         value, whose color is the canonical instance
+     *
+     * @since 1.0
+     */
+    public InternedColor getEntry( final Color color ) {
+        final int packedColor = color.getRGB();
+        final InternedColor entry = findEntry( packedColor );
+        if ( entry != null ) {
+            return entry;
+        }
+
+        return addEntry( packedColor, isInternable( color ) ? color : null );
+    }
+
+    /**
+     * Returns the pool entry for a packed ARGB value, creating it if no equal
+     * color was interned before.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @return The {@link InternedColor} entry for the packed ARGB value
+     *
+     * @since 1.0
+     */
+    public InternedColor getEntry( final int packedColor ) {
+        final InternedColor entry = findEntry( packedColor );
+        if ( entry != null ) {
+            return entry;
+        }
+
+        return addEntry( packedColor, null );
+    }
+
+    /**
+     * Returns the existing entry for a packed ARGB value, without locking.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @return The {@link InternedColor} entry for the packed ARGB value, or
+     *         {@code null} if it was not found
+     *
+     * @since 1.0
+     */
+    private InternedColor findEntry( final int packedColor ) {
+        final InternedColor[] table = entries;
+        final int mask = table.length - 1;
+        int index = hash( packedColor ) & mask;
+        InternedColor entry;
+        while ( ( entry = table[ index ] ) != null ) {
+            if ( entry.getPackedColor() == packedColor ) {
+                return entry;
+            }
+            index = ( index + 1 ) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds an entry for a packed ARGB value, unless another thread added one
+     * first, growing the table as needed.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @param color
+     *            The {@link Color} to use as the canonical instance, or
+     *            {@code null} if a new one should be created
+     * @return The {@link InternedColor} entry for the packed ARGB value
+     *
+     * @since 1.0
+     */
+    private synchronized InternedColor addEntry( final int packedColor, final Color color ) {
+        final InternedColor existingEntry = findEntry( packedColor );
+        if ( existingEntry != null ) {
+            return existingEntry;
+        }
+
+        final InternedColor entry = new InternedColor( ( color != null )
+            ? color
+            : new Color( packedColor, true ) );
+
+        // Once the pool is full, hand out an entry that is not retained.
+        if ( size >= maximumSize ) {
+            return entry;
+        }
+
+        InternedColor[] table = entries;
+        if ( ( 2 * ( size + 1 ) ) > table.length ) {
+            final InternedColor[] grownTable = new InternedColor[ 2 * table.length ];
+            for ( final InternedColor oldEntry : table ) {
+                if ( oldEntry != null ) {
+                    insertEntry( grownTable, oldEntry );
+                }
+            }
+            insertEntry( grownTable, entry );
+
+            // Publish the fully populated table in one volatile write.
+            entries = grownTable;
+        }
+        else {
+            insertEntry( table, entry );
+        }
+        size++;
+
+        return entry;
+    }
+
+    /**
+     * Inserts an entry into the first free slot of its probe sequence.
+     *
+     * @param table
+     *            The hash table to insert the entry into
+     * @param entry
+     *            The {@link InternedColor} entry to insert
+     *
+     * @since 1.0
+     */
+    private static void insertEntry( final InternedColor[] table, final InternedColor entry ) {
+        final int mask = table.length - 1;
+        int index = hash( entry.getPackedColor() ) & mask;
+        while ( table[ index ] != null ) {
+            index = ( index + 1 ) & mask;
+        }
+        table[ index ] = entry;
+    }
+
+    /**
+     * Returns a well-distributed hash code for a packed ARGB value, as nearby
+     * colors differ only in their low bits and opaque colors all share the
+     * same high bits.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @return The hash code for the packed ARGB value
+     *
+     * @since 1.0
+     */
+    private static int hash( final int packedColor ) {
+        final int hash = packedColor * 0x9e3779b9;
+        return hash ^ ( hash >>> 16 );
+    }
+
+    /**
+     * Returns a flag for whether the supplied color may be interned, which is
+     * the case for plain sRGB {@link Color} instances.
+     *
+     * @param color
+     *            The {@link Color} to check
+     * @return {@code true} if the color may be interned; {@code false} if it
+     *         must be used as-is
+     *
+     * @since 1.0
+     */
+    private static boolean isInternable( final Color color ) {
+        return ( color != null ) && ( color.getClass() == Color.class )
+                && color.getColorSpace().isCS_sRGB();
+    }
+
+    /**
+     * Returns a new pool that is pre-seeded with the named colors, so that
+     * they are the canonical instances for their values.
+     *
+     * @return A new {@link ColorPool} holding the named colors
+     *
+     * @since 1.0
+     */
+    private static ColorPool makeSharedPool() {
+        final ColorPool colorPool = new ColorPool( DEFAULT_INITIAL_CAPACITY,
+                                                   SHARED_POOL_MAXIMUM_SIZE );
+
+        final Color[] namedColors = {
+                ColorConstants.MAROON, ColorConstants.OLIVE, ColorConstants.LIME,
+                ColorConstants.TEAL, ColorConstants.CYAN, ColorConstants.NAVY,
+                ColorConstants.PURPLE, ColorConstants.MAGENTA, ColorConstants.BRIGHTYELLOW,
+                ColorConstants.DARKROYALBLUE, ColorConstants.LEMON, ColorConstants.GRAY05,
+                ColorConstants.GRAY10, ColorConstants.GRAY15, ColorConstants.GRAY20,
+                ColorConstants.GRAY25, ColorConstants.GRAY30, ColorConstants.GRAY33_3,
+                ColorConstants.GRAY40, ColorConstants.GRAY45, ColorConstants.GRAY50,
+                ColorConstants.GRAY55, ColorConstants.GRAY60, ColorConstants.GRAY66_6,
+                ColorConstants.GRAY70, ColorConstants.GRAY75, ColorConstants.GRAY80,
+                ColorConstants.GRAY90, Color.WHITE, Color.LIGHT_GRAY, Color.GRAY,
+                Color.DARK_GRAY, Color.BLACK, Color.RED, Color.PINK, Color.ORANGE,
+                Color.YELLOW, Color.GREEN, Color.MAGENTA, Color.CYAN, Color.BLUE };
+        for ( final Color namedColor : namedColors ) {
+            colorPool.intern( namedColor );
+        }
+
+        return colorPool;
+    }
+
+}
@@ -31,6 +31,10 @@
 package com.mhschmieder.graphicstoolkit.color;
 
 import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 import org.apache.commons.math3.util.FastMath;
 
@@ -136,6 +140,309 @@ public final class ColorUtilities {
         return ( ( packedColor >> 24 ) & 0xff );
     }
 
+    //////////// Bulk color converters for packed ARGB pixel buffers //////////
+
+    /**
+     * Converts a rectangular region of packed ARGB pixels to floating-point
+     * gray values from 0.0 to 1.0, which also matches PostScript.
+     * <p>
+     * This is the array-at-a-time equivalent of {@link #rgbToGray(Color)}, and
+     * uses the same NTSC weighting so that every gray value is bit-for-bit
+     * identical to the single color conversion. No memory is allocated per
+     * pixel, making this suitable for multi-megapixel rasters.
+     * <p>
+     * Alpha is ignored, as with the single color conversions. A single run of
+     * pixels can be converted by passing a height of one.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param pixelScanlineStride
+     *            The distance between the start of consecutive pixel rows
+     * @param grayValues
+     *            The destination for the floating-point gray values
+     * @param grayOffset
+     *            The index of the first gray value to write
+     * @param grayScanlineStride
+     *            The distance between the start of consecutive gray rows
+     * @param width
+     *            The number of pixels per row to convert
+     * @param height
+     *            The number of rows to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToGray( final int[] pixels,
+                                  final int pixelOffset,
+                                  final int pixelScanlineStride,
+                                  final float[] grayValues,
+                                  final int grayOffset,
+                                  final int grayScanlineStride,
+                                  final int width,
+                                  final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+            int grayIndex = grayOffset + ( row * grayScanlineStride );
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelIndex++ ];
+                grayValues[ grayIndex++ ] = rgbToGray( getRed( packedColor ),
+                                                       getGreen( packedColor ),
+                                                       getBlue( packedColor ) );
+            }
+        }
+    }
+
+    /**
+     * Converts a rectangular region of packed ARGB pixels to 8-bit gray values
+     * from 0 to 255, as used for PostScript image blocks.
+     * <p>
+     * This is the array-at-a-time equivalent of {@link #rgbToGrayHex(Color)},
+     * using the integer-only {@link #rgbToGrayValue(int, int, int)}, so each
+     * code value is within one of what the hexadecimal string encodes. No
+     * memory is allocated per pixel.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param pixelScanlineStride
+     *            The distance between the start of consecutive pixel rows
+     * @param grayValues
+     *            The destination for the 8-bit gray values
+     * @param grayOffset
+     *            The index of the first gray value to write
+     * @param grayScanlineStride
+     *            The distance between the start of consecutive gray rows
+     * @param width
+     *            The number of pixels per row to convert
+     * @param height
+     *            The number of rows to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToGray( final int[] pixels,
+                                  final int pixelOffset,
+                                  final int pixelScanlineStride,
+                                  final byte[] grayValues,
+                                  final int grayOffset,
+                                  final int grayScanlineStride,
+                                  final int width,
+                                  final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+            int grayIndex = grayOffset + ( row * grayScanlineStride );
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelIndex++ ];
+                grayValues[ grayIndex++ ] = ( byte ) rgbToGrayValue( getRed( packedColor ),
+                                                                     getGreen( packedColor ),
+                                                                     getBlue( packedColor ) );
+            }
+        }
+    }
+
+    /**
+     * Converts a rectangular region of packed ARGB pixels to floating-point
+     * bitmap values of either 0.0 or 1.0, which also matches PostScript.
+     * <p>
+     * This is the array-at-a-time equivalent of {@link #rgbToBitmap(Color)},
+     * and is bit-for-bit identical to the single color conversion. No memory
+     * is allocated per pixel.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param pixelScanlineStride
+     *            The distance between the start of consecutive pixel rows
+     * @param bitmapValues
+     *            The destination for the floating-point bitmap values
+     * @param bitmapOffset
+     *            The index of the first bitmap value to write
+     * @param bitmapScanlineStride
+     *            The distance between the start of consecutive bitmap rows
+     * @param width
+     *            The number of pixels per row to convert
+     * @param height
+     *            The number of rows to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToBitmap( final int[] pixels,
+                                    final int pixelOffset,
+                                    final int pixelScanlineStride,
+                                    final float[] bitmapValues,
+                                    final int bitmapOffset,
+                                    final int bitmapScanlineStride,
+                                    final int width,
+                                    final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+            int bitmapIndex = bitmapOffset + ( row * bitmapScanlineStride );
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelIndex++ ];
+                bitmapValues[ bitmapIndex++ ] = rgbToBitmap( getRed( packedColor ),
+                                                             getGreen( packedColor ),
+                                                             getBlue( packedColor ) );
+            }
+        }
+    }
+
+    /**
+     * Converts a rectangular region of packed ARGB pixels to 8-bit bitmap
+     * values of either 0 (Black) or 255 (White), one per byte.
+     * <p>
+     * This is the array-at-a-time equivalent of
+     * {@link #rgbToBitmapHex(Color)}, and produces the same code value that
+     * the hexadecimal string encodes, using integer-only arithmetic. No memory
+     * is allocated per pixel.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param pixelScanlineStride
+     *            The distance between the start of consecutive pixel rows
+     * @param bitmapValues
+     *            The destination for the 8-bit bitmap values
+     * @param bitmapOffset
+     *            The index of the first bitmap value to write
+     * @param bitmapScanlineStride
+     *            The distance between the start of consecutive bitmap rows
+     * @param width
+     *            The number of pixels per row to convert
+     * @param height
+     *            The number of rows to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToBitmap( final int[] pixels,
+                                    final int pixelOffset,
+                                    final int pixelScanlineStride,
+                                    final byte[] bitmapValues,
+                                    final int bitmapOffset,
+                                    final int bitmapScanlineStride,
+                                    final int width,
+                                    final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+            int bitmapIndex = bitmapOffset + ( row * bitmapScanlineStride );
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelIndex++ ];
+                bitmapValues[ bitmapIndex++ ] = ( byte ) rgbToBitmapValue( getRed( packedColor ),
+                                                                           getGreen( packedColor ),
+                                                                           getBlue( packedColor ) );
+            }
+        }
+    }
+
+    /**
+     * Converts a rectangular region of packed ARGB pixels to floating-point
+     * CMYK values from 0.0 to 1.0, which also matches PostScript.
+     * <p>
+     * This is the array-at-a-time equivalent of {@link #rgbToCmyk(Color)}, and
+     * preserves its special-casing of Absolute Black and Absolute White so that
+     * every CMYK value is bit-for-bit identical to the single color conversion
+     * of an opaque color. No memory is allocated per pixel.
+     * <p>
+     * Four consecutive values are written per pixel, in the invariant CMYK
+     * component order, so the destination scanline stride must account for
+     * that.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param pixelScanlineStride
+     *            The distance between the start of consecutive pixel rows
+     * @param cmykValues
+     *            The destination for the floating-point CMYK values
+     * @param cmykOffset
+     *            The index of the first CMYK value to write
+     * @param cmykScanlineStride
+     *            The distance between the start of consecutive CMYK rows
+     * @param width
+     *            The number of pixels per row to convert
+     * @param height
+     *            The number of rows to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToCmyk( final int[] pixels,
+                                  final int pixelOffset,
+                                  final int pixelScanlineStride,
+                                  final float[] cmykValues,
+                                  final int cmykOffset,
+                                  final int cmykScanlineStride,
+                                  final int width,
+                                  final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+            int cmykIndex = cmykOffset + ( row * cmykScanlineStride );
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelIndex++ ];
+                rgbToCmyk( packedColor, cmykValues, cmykIndex );
+                cmykIndex += ColorConstants.NUMBER_OF_CMYK_COMPONENTS;
+            }
+        }
+    }
+
+    /**
+     * Converts a rectangular region of packed ARGB pixels to 8-bit CMYK values
+     * from 0 to 255, as used for PostScript image blocks.
+     * <p>
+     * This is the array-at-a-time equivalent of {@link #rgbToCmykHex(Color)},
+     * using the integer-only {@link #rgbToPackedCmyk(int, int, int)}, so each
+     * code value is within one of what the hexadecimal strings encode. No
+     * memory is allocated per pixel.
+     * <p>
+     * Four consecutive values are written per pixel, in the invariant CMYK
+     * component order, so the destination scanline stride must account for
+     * that.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param pixelScanlineStride
+     *            The distance between the start of consecutive pixel rows
+     * @param cmykValues
+     *            The destination for the 8-bit CMYK values
+     * @param cmykOffset
+     *            The index of the first CMYK value to write
+     * @param cmykScanlineStride
+     *            The distance between the start of consecutive CMYK rows
+     * @param width
+     *            The number of pixels per row to convert
+     * @param height
+     *            The number of rows to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToCmyk( final int[] pixels,
+                                  final int pixelOffset,
+                                  final int pixelScanlineStride,
+                                  final byte[] cmykValues,
+                                  final int cmykOffset,
+                                  final int cmykScanlineStride,
+                                  final int width,
+                                  final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+            int cmykIndex = cmykOffset + ( row * cmykScanlineStride );
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelIndex++ ];
+                final int packedCmyk = rgbToPackedCmyk( getRed( packedColor ),
+                                                        getGreen( packedColor ),
+                                                        getBlue( packedColor ) );
+                cmykValues[ cmykIndex++ ] = ( byte ) ( packedCmyk >> 24 );
+                cmykValues[ cmykIndex++ ] = ( byte ) ( packedCmyk >> 16 );
+                cmykValues[ cmykIndex++ ] = ( byte ) ( packedCmyk >> 8 );
+                cmykValues[ cmykIndex++ ] = ( byte ) packedCmyk;
+            }
+        }
+    }
+
     /////////////// Color converters for hexadecimal string output /////////////
 
     /**
@@ -149,39 +456,41 @@ public final class ColorUtilities {
      *
      * @since 1.0
      */
-    @SuppressWarnings("nls")
     private static String colorComponentToHexString( final int colorComponentValue ) {
         // Set any negative or out-of-bounds values to black.
         if ( ( colorComponentValue < 0 ) || ( colorComponentValue > 255 ) ) {
             return ColorConstants.BLACK_HEX;
         }
 
-        // Detect Absolute Black as a trivial case.
-        if ( colorComponentValue == 0 ) {
-            return ColorConstants.BLACK_HEX;
-        }
-
-        // Detect Absolute White as a trivial case.
-        if ( colorComponentValue == 255 ) {
-            return ColorConstants.WHITE_HEX;
-        }
-
-        // Convert the color component value to hexadecimal (no leading zeroes).
-        String colorComponentHexValue = Integer.toHexString( colorComponentValue );
+        // Look up the shared two-character string, as PostScript requires a
+        // consistent number of bits for each color in an image block. Our
+        // images are 8 bits, which requires two characters, including any
+        // leading zero.
+        return ColorLookupTables.HEX_STRINGS[ colorComponentValue ];
+    }
 
-        // Fail-safe in case of unknown quirks with the hexadecimal method.
-        if ( ( colorComponentHexValue == null ) || colorComponentHexValue.isEmpty() ) {
-            return ColorConstants.BLACK_HEX;
-        }
+    /**
+     * Returns an integer between 0 and 255 that represents a floating-point
+     * percentage between 0.0 and 1.0, using the same rounding as is applied
+     * for the two-character hexadecimal strings.
+     *
+     * @param colorComponentPercentage
+     *            A floating-point percentage from 0.0 to 1.0, to convert to an
+     *            integer from 0 to 255
+     * @return An integer from 0 to 255
+     *
+     * @since 1.0
+     */
+    private static int colorComponentToValue( final float colorComponentPercentage ) {
+        final int colorComponentValue = FastMath.round( colorComponentPercentage * 255 );
 
-        // If the result is only one digit, pad with an extra "0" in front as
-        // PostScript requires a consistent number of bits for each color in an
-        // image block. Our images are 8 bits, which requires two characters.
-        if ( colorComponentHexValue.length() == 1 ) {
-            colorComponentHexValue = "0" + colorComponentHexValue;
-        }
+        // Avoid overflow beyond the allowed integer range; negative values are
+        // treated as black, as they are for the hexadecimal conversion.
+        final int colorComponentValueAdjusted = FastMath.max( 0,
+                                                              FastMath.min( colorComponentValue,
+                                                                            255 ) );
 
-        return colorComponentHexValue;
+        return colorComponentValueAdjusted;
     }
 
     /**
@@ -200,10 +509,7 @@ public final class ColorUtilities {
     private static String colorComponentToHexString( final float colorComponentPercentage ) {
         // Get the floating-point value back into integer space, from 0 to 255,
         // as that is what is needed for the hexadecimal conversion.
-        final int colorComponentValue = FastMath.round( colorComponentPercentage * 255 );
-
-        // Avoid overflow beyond the allowed integer range.
-        final int colorComponentValueAdjusted = FastMath.min( colorComponentValue, 255 );
+        final int colorComponentValueAdjusted = colorComponentToValue( colorComponentPercentage );
 
         // Convert this integer to a two-character hexadecimal strings.
         final String colorComponentHexValue =
@@ -352,7 +658,22 @@ public final class ColorUtilities {
         // to a floating-point CMYK basis from 0.0 to 1.0, which also matches
         // PostScript. Special-case for Absolute Black and Absolute White, to
         // avoid masking with almost-black and almost-white.
-        final float[] cmykValues = rgbToCmyk( color );
+        //
+        // The CMYK buffer receives the RGB components first, and is then
+        // overwritten in place by the out-parameter conversion, exactly as for
+        // rgbToCmyk( Color ).
+        final float[] cmykValues = new float[ ColorConstants.NUMBER_OF_CMYK_COMPONENTS ];
+        if ( Color.BLACK.equals( color ) ) {
+            cmykValues[ ColorConstants.CMYK_BLACK_INDEX ] = 1f;
+        }
+        else if ( !Color.WHITE.equals( color ) ) {
+            color.getRGBColorComponents( cmykValues );
+            rgbToCmyk( cmykValues[ ColorConstants.RGB_RED_INDEX ],
+                       cmykValues[ ColorConstants.RGB_GREEN_INDEX ],
+                       cmykValues[ ColorConstants.RGB_BLUE_INDEX ],
+                       cmykValues,
+                       0 );
+        }
         final float cyanValue = cmykValues[ ColorConstants.CMYK_CYAN_INDEX ];
         final float magentaValue = cmykValues[ ColorConstants.CMYK_MAGENTA_INDEX ];
         final float yellowValue = cmykValues[ ColorConstants.CMYK_YELLOW_INDEX ];
@@ -374,6 +695,293 @@ public final class ColorUtilities {
         return cmykHexValues;
     }
 
+    ////////// Color converters for streaming hexadecimal image output ////////
+
+    /**
+     * Returns the number of color components per pixel for the supplied
+     * {@link ColorMode}, which is also the number of bytes per pixel of its
+     * 8-bit samples when each Bitmap pixel is stored as a whole byte.
+     *
+     * @param colorMode
+     *            The {@link ColorMode} of the image data
+     * @return 1 for Bitmap and Grayscale, 3 for RGB, and 4 for CMYK
+     *
+     * @since 1.0
+     */
+    public static int getComponentsPerPixel( final ColorMode colorMode ) {
+        switch ( colorMode ) {
+        case BITMAP:
+        case GRAYSCALE:
+            return 1;
+        case CMYK:
+            return ColorConstants.NUMBER_OF_CMYK_COMPONENTS;
+        case RGB:
+        default:
+            return ColorConstants.NUMBER_OF_RGB_COMPONENTS;
+        }
+    }
+
+    /**
+     * Returns the number of hexadecimal characters that encode one pixel in a
+     * PostScript image block for the supplied {@link ColorMode}, at 8 bits per
+     * color component.
+     * <p>
+     * This is useful for sizing the destination buffers for the streaming
+     * hexadecimal converters.
+     *
+     * @param colorMode
+     *            The {@link ColorMode} of the encoded image data
+     * @return The number of hexadecimal characters per pixel
+     *
+     * @since 1.0
+     */
+    public static int getHexCharactersPerPixel( final ColorMode colorMode ) {
+        return 2 * getComponentsPerPixel( colorMode );
+    }
+
+    /**
+     * Writes a row of packed ARGB pixels as hexadecimal PostScript image data
+     * for the supplied {@link ColorMode}, directly into a byte array.
+     * <p>
+     * This is the streaming equivalent of {@link #rgbToBitmapHex(Color)},
+     * {@link #rgbToGrayHex(Color)}, {@link #rgbToRgbHex(Color)} and
+     * {@link #rgbToCmykHex(Color)}, but writes the two ASCII characters per
+     * color component from a static table, so no strings or arrays are created
+     * at all. Bitmap, grayscale and CMYK code values come from the integer-only
+     * converters. Alpha is ignored.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to encode
+     * @param pixelOffset
+     *            The index of the first pixel to encode
+     * @param width
+     *            The number of pixels to encode
+     * @param colorMode
+     *            The {@link ColorMode} to convert the pixels to
+     * @param hexBytes
+     *            The destination for the ASCII hexadecimal characters, which
+     *            must have room for {@link #getHexCharactersPerPixel} per pixel
+     * @param hexOffset
+     *            The index of the first hexadecimal character to write
+     * @return The index after the last hexadecimal character written
+     *
+     * @since 1.0
+     */
+    public static int rgbToHex( final int[] pixels,
+                                final int pixelOffset,
+                                final int width,
+                                final ColorMode colorMode,
+                                final byte[] hexBytes,
+                                final int hexOffset ) {
+        final int pixelEnd = pixelOffset + width;
+        int hexIndex = hexOffset;
+
+        // Switch outside the loop so each Color Mode has a tight inner loop.
+        switch ( colorMode ) {
+        case BITMAP:
+            for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+                final int packedColor = pixels[ pixelIndex ];
+                hexIndex = colorComponentToHex( rgbToBitmapValue( getRed( packedColor ),
+                                                                  getGreen( packedColor ),
+                                                                  getBlue( packedColor ) ),
+                                                hexBytes,
+                                                hexIndex );
+            }
+            break;
+        case GRAYSCALE:
+            for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+                final int packedColor = pixels[ pixelIndex ];
+                hexIndex = colorComponentToHex( rgbToGrayValue( getRed( packedColor ),
+                                                                getGreen( packedColor ),
+                                                                getBlue( packedColor ) ),
+                                                hexBytes,
+                                                hexIndex );
+            }
+            break;
+        case CMYK:
+            for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+                final int packedColor = pixels[ pixelIndex ];
+                final int packedCmyk = rgbToPackedCmyk( getRed( packedColor ),
+                                                        getGreen( packedColor ),
+                                                        getBlue( packedColor ) );
+                hexIndex = colorComponentToHex( ( packedCmyk >> 24 ) & 0xff, hexBytes, hexIndex );
+                hexIndex = colorComponentToHex( ( packedCmyk >> 16 ) & 0xff, hexBytes, hexIndex );
+                hexIndex = colorComponentToHex( ( packedCmyk >> 8 ) & 0xff, hexBytes, hexIndex );
+                hexIndex = colorComponentToHex( packedCmyk & 0xff, hexBytes, hexIndex );
+            }
+            break;
+        case RGB:
+        default:
+            for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+                final int packedColor = pixels[ pixelIndex ];
+                hexIndex = colorComponentToHex( getRed( packedColor ), hexBytes, hexIndex );
+                hexIndex = colorComponentToHex( getGreen( packedColor ), hexBytes, hexIndex );
+                hexIndex = colorComponentToHex( getBlue( packedColor ), hexBytes, hexIndex );
+            }
+            break;
+        }
+
+        return hexIndex;
+    }
+
+    /**
+     * Writes a row of packed ARGB pixels as hexadecimal PostScript image data
+     * for the supplied {@link ColorMode}, at the current position of a
+     * {@link ByteBuffer}, whose position is then advanced past the data.
+     * <p>
+     * Array-backed buffers are written through their backing array; direct
+     * buffers are written one character at a time, still without allocation.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to encode
+     * @param pixelOffset
+     *            The index of the first pixel to encode
+     * @param width
+     *            The number of pixels to encode
+     * @param colorMode
+     *            The {@link ColorMode} to convert the pixels to
+     * @param hexBuffer
+     *            The destination for the ASCII hexadecimal characters, which
+     *            must have room for {@link #getHexCharactersPerPixel} per pixel
+     *
+     * @since 1.0
+     */
+    public static void rgbToHex( final int[] pixels,
+                                 final int pixelOffset,
+                                 final int width,
+                                 final ColorMode colorMode,
+                                 final ByteBuffer hexBuffer ) {
+        final int hexLength = width * getHexCharactersPerPixel( colorMode );
+        if ( hexBuffer.remaining() < hexLength ) {
+            throw new BufferOverflowException();
+        }
+
+        if ( hexBuffer.hasArray() ) {
+            final int hexOffset = hexBuffer.arrayOffset() + hexBuffer.position();
+            rgbToHex( pixels, pixelOffset, width, colorMode, hexBuffer.array(), hexOffset );
+            hexBuffer.position( hexBuffer.position() + hexLength );
+            return;
+        }
+
+        final int pixelEnd = pixelOffset + width;
+        for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+            final int packedColor = pixels[ pixelIndex ];
+            final int awtRed = getRed( packedColor );
+            final int awtGreen = getGreen( packedColor );
+            final int awtBlue = getBlue( packedColor );
+            switch ( colorMode ) {
+            case BITMAP:
+                putColorComponentHex( rgbToBitmapValue( awtRed, awtGreen, awtBlue ), hexBuffer );
+                break;
+            case GRAYSCALE:
+                putColorComponentHex( rgbToGrayValue( awtRed, awtGreen, awtBlue ), hexBuffer );
+                break;
+            case CMYK:
+                final int packedCmyk = rgbToPackedCmyk( awtRed, awtGreen, awtBlue );
+                putColorComponentHex( ( packedCmyk >> 24 ) & 0xff, hexBuffer );
+                putColorComponentHex( ( packedCmyk >> 16 ) & 0xff, hexBuffer );
+                putColorComponentHex( ( packedCmyk >> 8 ) & 0xff, hexBuffer );
+                putColorComponentHex( packedCmyk & 0xff, hexBuffer );
+                break;
+            case RGB:
+            default:
+                putColorComponentHex( awtRed, hexBuffer );
+                putColorComponentHex( awtGreen, hexBuffer );
+                putColorComponentHex( awtBlue, hexBuffer );
+                break;
+            }
+        }
+    }
+
+    /**
+     * Writes a row of packed ARGB pixels as hexadecimal PostScript image data
+     * for the supplied {@link ColorMode}, to an {@link OutputStream}.
+     * <p>
+     * The caller supplies the working buffer, which is filled and flushed to
+     * the stream as many times as needed, so that encoding an entire image
+     * allocates nothing beyond that one buffer.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to encode
+     * @param pixelOffset
+     *            The index of the first pixel to encode
+     * @param width
+     *            The number of pixels to encode
+     * @param colorMode
+     *            The {@link ColorMode} to convert the pixels to
+     * @param outputStream
+     *            The {@link OutputStream} to write the ASCII hexadecimal
+     *            characters to
+     * @param workBuffer
+     *            The working buffer, which must have room for at least one
+     *            pixel's worth of hexadecimal characters
+     * @throws IOException
+     *             If the {@link OutputStream} could not be written to
+     *
+     * @since 1.0
+     */
+    public static void rgbToHex( final int[] pixels,
+                                 final int pixelOffset,
+                                 final int width,
+                                 final ColorMode colorMode,
+                                 final OutputStream outputStream,
+                                 final byte[] workBuffer )
+            throws IOException {
+        final int hexCharactersPerPixel = getHexCharactersPerPixel( colorMode );
+        final int pixelsPerChunk = workBuffer.length / hexCharactersPerPixel;
+        if ( pixelsPerChunk < 1 ) {
+            throw new IllegalArgumentException( "Work buffer is too small for one pixel" ); //$NON-NLS-1$
+        }
+
+        final int pixelEnd = pixelOffset + width;
+        for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex += pixelsPerChunk ) {
+            final int chunkWidth = FastMath.min( pixelsPerChunk, pixelEnd - pixelIndex );
+            final int hexLength = rgbToHex( pixels, pixelIndex, chunkWidth, colorMode, workBuffer, 0 );
+            outputStream.write( workBuffer, 0, hexLength );
+        }
+    }
+
+    /**
+     * Writes the two hexadecimal ASCII characters for a color component code
+     * value into a byte array.
+     *
+     * @param colorComponentValue
+     *            A color component code value from 0 to 255
+     * @param hexBytes
+     *            The destination for the ASCII hexadecimal characters
+     * @param hexIndex
+     *            The index of the first hexadecimal character to write
+     * @return The index after the second hexadecimal character
+     *
+     * @since 1.0
+     */
+    private static int colorComponentToHex( final int colorComponentValue,
+                                            final byte[] hexBytes,
+                                            final int hexIndex ) {
+        final int tableIndex = 2 * colorComponentValue;
+        hexBytes[ hexIndex ] = ColorLookupTables.HEX_DIGIT_PAIRS[ tableIndex ];
+        hexBytes[ hexIndex + 1 ] = ColorLookupTables.HEX_DIGIT_PAIRS[ tableIndex + 1 ];
+        return hexIndex + 2;
+    }
+
+    /**
+     * Puts the two hexadecimal ASCII characters for a color component code
+     * value at the current position of a {@link ByteBuffer}.
+     *
+     * @param colorComponentValue
+     *            A color component code value from 0 to 255
+     * @param hexBuffer
+     *            The destination for the ASCII hexadecimal characters
+     *
+     * @since 1.0
+     */
+    private static void putColorComponentHex( final int colorComponentValue,
+                                              final ByteBuffer hexBuffer ) {
+        final int tableIndex = 2 * colorComponentValue;
+        hexBuffer.put( ColorLookupTables.HEX_DIGIT_PAIRS[ tableIndex ] );
+        hexBuffer.put( ColorLookupTables.HEX_DIGIT_PAIRS[ tableIndex + 1 ] );
+    }
+
     /////////////// Color converters for standard numeric output ///////////////
 
     /**
@@ -446,6 +1054,13 @@ public final class ColorUtilities {
      * @since 1.0
      */
     public static float rgbToBitmap( final int awtRed, final int awtGreen, final int awtBlue ) {
+        // Take the integer-only fast path when the components are in range, as
+        // comparing their sum against the threshold is exactly equivalent.
+        if ( isComponentRange( awtRed, awtGreen, awtBlue ) ) {
+            final int rgbSum = awtRed + awtGreen + awtBlue;
+            return ( rgbSum < ColorLookupTables.BITMAP_THRESHOLD_SUM ) ? 0f : 1f;
+        }
+
         // Convert AWT's 0-255 integer values to a floating-point basis (between
         // 0.0 or 1.0).
         final float rgbRed = awtRed / 255f;
@@ -587,6 +1202,15 @@ public final class ColorUtilities {
      * @since 1.0
      */
     public static float rgbToGray( final int awtRed, final int awtGreen, final int awtBlue ) {
+        // Take the table-driven fast path when the components are in range, as
+        // the pre-weighted tables hold the exact same floating-point products.
+        if ( isComponentRange( awtRed, awtGreen, awtBlue ) ) {
+            final float grayValue = ColorLookupTables.GRAY_RED_WEIGHTS[ awtRed ]
+                    + ColorLookupTables.GRAY_GREEN_WEIGHTS[ awtGreen ]
+                    + ColorLookupTables.GRAY_BLUE_WEIGHTS[ awtBlue ];
+            return FastMath.min( grayValue, 1.0f );
+        }
+
         // Convert AWT's 0-255 integer values to a floating-point basis for
         // colors (between 0.0 or 1.0).
         final float rgbRed = awtRed / 255f;
@@ -670,10 +1294,95 @@ public final class ColorUtilities {
      * @since 1.0
      */
     public static float[] rgbToHsb( final int awtRed, final int awtGreen, final int awtBlue ) {
-        final float[] hsbValues = Color.RGBtoHSB( awtRed, awtGreen, awtBlue, null );
+        final float[] hsbValues = new float[ ColorConstants.NUMBER_OF_HSB_COMPONENTS ];
+        rgbToHsb( awtRed, awtGreen, awtBlue, hsbValues, 0 );
+
         return hsbValues;
     }
 
+    /**
+     * Writes an HSB conversion of a packed ARGB color value into the supplied
+     * array, for hot loops that must not create garbage. Alpha is ignored.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @param hsbValues
+     *            The destination for the floating-point HSB values
+     * @param hsbOffset
+     *            The index of the first HSB value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToHsb( final int packedColor,
+                                 final float[] hsbValues,
+                                 final int hsbOffset ) {
+        rgbToHsb( getRed( packedColor ),
+                  getGreen( packedColor ),
+                  getBlue( packedColor ),
+                  hsbValues,
+                  hsbOffset );
+    }
+
+    /**
+     * Writes an HSB conversion of an RGB color value into the supplied array,
+     * for hot loops that must not create garbage.
+     * <p>
+     * This is the same algorithm that AWT uses, and thus the same as the
+     * original algorithm by A.R. Smith, but AWT can only write to the start of
+     * an array, whereas this method supports writing at any offset.
+     *
+     * @param awtRed
+     *            The Red component of the RGB color, from 0 to 255
+     * @param awtGreen
+     *            The Green component of the RGB color, from 0 to 255
+     * @param awtBlue
+     *            The Blue component of the RGB color, from 0 to 255
+     * @param hsbValues
+     *            The destination for the floating-point HSB values
+     * @param hsbOffset
+     *            The index of the first HSB value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToHsb( final int awtRed,
+                                 final int awtGreen,
+                                 final int awtBlue,
+                                 final float[] hsbValues,
+                                 final int hsbOffset ) {
+        final int maximumComponent = FastMath.max( FastMath.max( awtRed, awtGreen ), awtBlue );
+        final int minimumComponent = FastMath.min( FastMath.min( awtRed, awtGreen ), awtBlue );
+        final int componentRange = maximumComponent - minimumComponent;
+
+        final float hsbBrightness = maximumComponent / 255.0f;
+        final float hsbSaturation = ( maximumComponent != 0 )
+            ? componentRange / ( float ) maximumComponent
+            : 0f;
+
+        float hsbHue = 0f;
+        if ( hsbSaturation != 0f ) {
+            final float redChroma = ( maximumComponent - awtRed ) / ( float ) componentRange;
+            final float greenChroma = ( maximumComponent - awtGreen ) / ( float ) componentRange;
+            final float blueChroma = ( maximumComponent - awtBlue ) / ( float ) componentRange;
+            if ( awtRed == maximumComponent ) {
+                hsbHue = blueChroma - greenChroma;
+            }
+            else if ( awtGreen == maximumComponent ) {
+                hsbHue = ( 2.0f + redChroma ) - blueChroma;
+            }
+            else {
+                hsbHue = ( 4.0f + greenChroma ) - redChroma;
+            }
+            hsbHue = hsbHue / 6.0f;
+            if ( hsbHue < 0f ) {
+                hsbHue = hsbHue + 1.0f;
+            }
+        }
+
+        hsbValues[ hsbOffset + ColorConstants.HSB_HUE_INDEX ] = hsbHue;
+        hsbValues[ hsbOffset + ColorConstants.HSB_SATURATION_INDEX ] = hsbSaturation;
+        hsbValues[ hsbOffset + ColorConstants.HSB_BRIGHTNESS_INDEX ] = hsbBrightness;
+    }
+
     /**
      * Returns a CMYK conversion of an RGB color value.
      * <p>
@@ -720,18 +1429,60 @@ public final class ColorUtilities {
         // Grab the raw AWT color components for R, G, and B (ignore Alpha),
         // using AWT's built-in floating-point RGB color converter, which can
         // take advantage of a pre-cached internal conversion from integers.
-        final float[] rgb = color.getRGBColorComponents( null );
-        final float rgbRed = rgb[ ColorConstants.RGB_RED_INDEX ];
-        final float rgbGreen = rgb[ ColorConstants.RGB_GREEN_INDEX ];
-        final float rgbBlue = rgb[ ColorConstants.RGB_BLUE_INDEX ];
+        //
+        // The CMYK array is large enough to receive the RGB components first,
+        // which avoids allocating a second array just for the conversion.
+        final float[] cmykValues = new float[ ColorConstants.NUMBER_OF_CMYK_COMPONENTS ];
+        color.getRGBColorComponents( cmykValues );
+        final float rgbRed = cmykValues[ ColorConstants.RGB_RED_INDEX ];
+        final float rgbGreen = cmykValues[ ColorConstants.RGB_GREEN_INDEX ];
+        final float rgbBlue = cmykValues[ ColorConstants.RGB_BLUE_INDEX ];
 
         // Convert the floating-point based RGB values to a floating-point CMYK
         // basis from 0.0 to 1.0, which also matches PostScript.
-        final float[] cmykValues = rgbToCmyk( rgbRed, rgbGreen, rgbBlue );
+        rgbToCmyk( rgbRed, rgbGreen, rgbBlue, cmykValues, 0 );
 
         return cmykValues;
     }
 
+    /**
+     * Writes a CMYK conversion of a packed ARGB color value into the supplied
+     * array, for hot loops that must not create garbage. Alpha is ignored.
+     * <p>
+     * Absolute Black and Absolute White are special-cased the same way as
+     * {@link #rgbToCmyk(Color)}, which this matches bit-for-bit for opaque
+     * colors.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @param cmykValues
+     *            The destination for the floating-point CMYK values
+     * @param cmykOffset
+     *            The index of the first CMYK value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToCmyk( final int packedColor,
+                                  final float[] cmykValues,
+                                  final int cmykOffset ) {
+        final int rgb = packedColor & 0xffffff;
+
+        // Guarantee Absolute Black and Absolute White in CMYK space.
+        if ( ( rgb == 0x000000 ) || ( rgb == 0xffffff ) ) {
+            cmykValues[ cmykOffset + ColorConstants.CMYK_CYAN_INDEX ] = 0f;
+            cmykValues[ cmykOffset + ColorConstants.CMYK_MAGENTA_INDEX ] = 0f;
+            cmykValues[ cmykOffset + ColorConstants.CMYK_YELLOW_INDEX ] = 0f;
+            cmykValues[ cmykOffset + ColorConstants.CMYK_BLACK_INDEX ] = ( rgb == 0 ) ? 1f : 0f;
+            return;
+        }
+
+        rgbToCmyk( ColorLookupTables.NORMALIZED_COMPONENTS[ getRed( packedColor ) ],
+                   ColorLookupTables.NORMALIZED_COMPONENTS[ getGreen( packedColor ) ],
+                   ColorLookupTables.NORMALIZED_COMPONENTS[ getBlue( packedColor ) ],
+                   cmykValues,
+                   cmykOffset );
+    }
+
     /**
      * Returns a CMYK conversion of an RGB color value.
      * <p>
@@ -755,15 +1506,46 @@ public final class ColorUtilities {
     public static float[] rgbToCmyk( final int awtRed, final int awtGreen, final int awtBlue ) {
         // Convert AWT's 0-255 integer based values to a floating-point basis
         // for colors (between 0.0 or 1.0).
-        final float rgbRed = awtRed / 255f;
-        final float rgbGreen = awtGreen / 255f;
-        final float rgbBlue = awtBlue / 255f;
+        final float[] cmykValues = new float[ ColorConstants.NUMBER_OF_CMYK_COMPONENTS ];
+        rgbToCmyk( awtRed, awtGreen, awtBlue, cmykValues, 0 );
+
+        return cmykValues;
+    }
+
+    /**
+     * Writes a CMYK conversion of an RGB color value into the supplied array,
+     * for hot loops that must not create garbage.
+     * <p>
+     * This method converts the supplied 0-255 integer based RGB values to a
+     * floating-point CMYK basis from 0.0 to 1.0, which also matches PostScript.
+     *
+     * @param awtRed
+     *            The Red component of the RGB color, from 0 to 255
+     * @param awtGreen
+     *            The Green component of the RGB color, from 0 to 255
+     * @param awtBlue
+     *            The Blue component of the RGB color, from 0 to 255
+     * @param cmykValues
+     *            The destination for the floating-point CMYK values
+     * @param cmykOffset
+     *            The index of the first CMYK value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToCmyk( final int awtRed,
+                                  final int awtGreen,
+                                  final int awtBlue,
+                                  final float[] cmykValues,
+                                  final int cmykOffset ) {
+        // Convert AWT's 0-255 integer based values to a floating-point basis
+        // for colors (between 0.0 or 1.0).
+        final float rgbRed = normalizeColorComponent( awtRed );
+        final float rgbGreen = normalizeColorComponent( awtGreen );
+        final float rgbBlue = normalizeColorComponent( awtBlue );
 
         // Convert the floating-point based RGB values to a floating-point CMYK
         // basis from 0.0 to 1.0.
-        final float[] cmykValues = rgbToCmyk( rgbRed, rgbGreen, rgbBlue );
-
-        return cmykValues;
+        rgbToCmyk( rgbRed, rgbGreen, rgbBlue, cmykValues, cmykOffset );
     }
 
     /**
@@ -789,6 +1571,37 @@ public final class ColorUtilities {
     public static float[] rgbToCmyk( final float rgbRed,
                                      final float rgbGreen,
                                      final float rgbBlue ) {
+        final float[] cmykValues = new float[ ColorConstants.NUMBER_OF_CMYK_COMPONENTS ];
+        rgbToCmyk( rgbRed, rgbGreen, rgbBlue, cmykValues, 0 );
+
+        return cmykValues;
+    }
+
+    /**
+     * Writes a CMYK conversion of an RGB color value into the supplied array,
+     * for hot loops that must not create garbage.
+     * <p>
+     * This is the non-allocating core of the floating-point CMYK conversion,
+     * shared by the single color and bulk pixel buffer converters.
+     *
+     * @param rgbRed
+     *            The Red component of the RGB color, from 0.0 to 1.0
+     * @param rgbGreen
+     *            The Green component of the RGB color, from 0.0 to 1.0
+     * @param rgbBlue
+     *            The Blue component of the RGB color, from 0.0 to 1.0
+     * @param cmykValues
+     *            The destination for the floating-point CMYK values
+     * @param cmykOffset
+     *            The index of the first CMYK value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToCmyk( final float rgbRed,
+                                  final float rgbGreen,
+                                  final float rgbBlue,
+                                  final float[] cmykValues,
+                                  final int cmykOffset ) {
         // This is the standard formula for computing the CMYK Black component
         // from the maximum value of the RGB color's individual color channels.
         final float cmykBlack = 1f - FastMath.max( FastMath.max( rgbRed, rgbGreen ), rgbBlue );
@@ -800,13 +1613,167 @@ public final class ColorUtilities {
         final float cmykMagenta = 1f - ( rgbGreen / denominator );
         final float cmykYellow = 1f - ( rgbBlue / denominator );
 
-        final float[] cmykValues = new float[ ColorConstants.NUMBER_OF_CMYK_COMPONENTS ];
-        cmykValues[ ColorConstants.CMYK_CYAN_INDEX ] = cmykCyan;
-        cmykValues[ ColorConstants.CMYK_MAGENTA_INDEX ] = cmykMagenta;
-        cmykValues[ ColorConstants.CMYK_YELLOW_INDEX ] = cmykYellow;
-        cmykValues[ ColorConstants.CMYK_BLACK_INDEX ] = cmykBlack;
+        cmykValues[ cmykOffset + ColorConstants.CMYK_CYAN_INDEX ] = cmykCyan;
+        cmykValues[ cmykOffset + ColorConstants.CMYK_MAGENTA_INDEX ] = cmykMagenta;
+        cmykValues[ cmykOffset + ColorConstants.CMYK_YELLOW_INDEX ] = cmykYellow;
+        cmykValues[ cmykOffset + ColorConstants.CMYK_BLACK_INDEX ] = cmykBlack;
+    }
 
-        return cmykValues;
+    /////////// Color converters for integer-only code value output //////////
+
+    /**
+     * Returns an 8-bit grayscale code value for an RGB color value.
+     * <p>
+     * This is the integer-only equivalent of
+     * {@link #rgbToGray(int, int, int)}, for print pipelines that need the
+     * 0-255 code value rather than the floating-point gray value. It uses
+     * per-channel fixed-point tables for the same NTSC weighting, and is
+     * guaranteed to be within one code value of the floating-point result
+     * after rounding.
+     *
+     * @param awtRed
+     *            The Red component of the RGB color, from 0 to 255
+     * @param awtGreen
+     *            The Green component of the RGB color, from 0 to 255
+     * @param awtBlue
+     *            The Blue component of the RGB color, from 0 to 255
+     * @return The 8-bit gray code value, from 0 to 255
+     *
+     * @since 1.0
+     */
+    public static int rgbToGrayValue( final int awtRed, final int awtGreen, final int awtBlue ) {
+        // Out-of-range components can't be looked up, so defer to the
+        // floating-point math, which clips them.
+        if ( !isComponentRange( awtRed, awtGreen, awtBlue ) ) {
+            return colorComponentToValue( rgbToGray( awtRed, awtGreen, awtBlue ) );
+        }
+
+        final int grayValueFixed = ColorLookupTables.GRAY_RED_FIXED[ awtRed ]
+                + ColorLookupTables.GRAY_GREEN_FIXED[ awtGreen ]
+                + ColorLookupTables.GRAY_BLUE_FIXED[ awtBlue ];
+        final int grayValue = ( grayValueFixed + ColorLookupTables.FIXED_POINT_HALF )
+                >> ColorLookupTables.FIXED_POINT_SHIFT;
+
+        // Avoid overflow beyond the allowed integer range.
+        return FastMath.min( grayValue, 255 );
+    }
+
+    /**
+     * Returns an 8-bit bitmap code value for an RGB color value; either 0
+     * (Black) or 255 (White).
+     * <p>
+     * This is the integer-only equivalent of
+     * {@link #rgbToBitmap(int, int, int)}, and is exact, as comparing the sum
+     * of the components against a threshold is the same test as comparing
+     * their normalized average against 0.5.
+     *
+     * @param awtRed
+     *            The Red component of the RGB color, from 0 to 255
+     * @param awtGreen
+     *            The Green component of the RGB color, from 0 to 255
+     * @param awtBlue
+     *            The Blue component of the RGB color, from 0 to 255
+     * @return The 8-bit bitmap code value; either 0 or 255
+     *
+     * @since 1.0
+     */
+    public static int rgbToBitmapValue( final int awtRed, final int awtGreen, final int awtBlue ) {
+        final float bitmapValue = rgbToBitmap( awtRed, awtGreen, awtBlue );
+        return ( bitmapValue == 0f ) ? 0 : 255;
+    }
+
+    /**
+     * Returns 8-bit CMYK code values for an RGB color value, packed into a
+     * single integer with Cyan in the highest byte and Black in the lowest.
+     * <p>
+     * This is the integer-only equivalent of {@link #rgbToCmyk(Color)}, for
+     * print pipelines that need 0-255 code values rather than floating-point
+     * values. It uses a fixed-point reciprocal table in place of the division
+     * by the maximum RGB component, and is guaranteed to be within one code
+     * value of the floating-point result after rounding.
+     * <p>
+     * Absolute Black and Absolute White are special-cased the same way as
+     * {@link #rgbToCmyk(Color)}, to avoid masking with almost-black and
+     * almost-white.
+     *
+     * @param awtRed
+     *            The Red component of the RGB color, from 0 to 255
+     * @param awtGreen
+     *            The Green component of the RGB color, from 0 to 255
+     * @param awtBlue
+     *            The Blue component of the RGB color, from 0 to 255
+     * @return The 8-bit CMYK code values, packed as CMYK from high to low byte
+     *
+     * @since 1.0
+     */
+    public static int rgbToPackedCmyk( final int awtRed, final int awtGreen, final int awtBlue ) {
+        // Out-of-range components can't be looked up, so defer to the
+        // floating-point math.
+        if ( !isComponentRange( awtRed, awtGreen, awtBlue ) ) {
+            final float[] cmykValues = rgbToCmyk( awtRed, awtGreen, awtBlue );
+            return ( colorComponentToValue( cmykValues[ ColorConstants.CMYK_CYAN_INDEX ] ) << 24 )
+                    | ( colorComponentToValue( cmykValues[ ColorConstants.CMYK_MAGENTA_INDEX ] ) << 16 )
+                    | ( colorComponentToValue( cmykValues[ ColorConstants.CMYK_YELLOW_INDEX ] ) << 8 )
+                    | colorComponentToValue( cmykValues[ ColorConstants.CMYK_BLACK_INDEX ] );
+        }
+
+        final int maximumComponent = FastMath.max( FastMath.max( awtRed, awtGreen ), awtBlue );
+
+        // Guarantee Absolute Black in CMYK space. Absolute White falls out of
+        // the formula exactly, as all three ratios are then unity.
+        if ( maximumComponent == 0 ) {
+            return 255;
+        }
+
+        final int reciprocal = ColorLookupTables.CMYK_RECIPROCALS_FIXED[ maximumComponent ];
+        final int cmykCyan = 255 - ( ( ( awtRed * reciprocal ) + ColorLookupTables.FIXED_POINT_HALF )
+                >> ColorLookupTables.FIXED_POINT_SHIFT );
+        final int cmykMagenta = 255
+                - ( ( ( awtGreen * reciprocal ) + ColorLookupTables.FIXED_POINT_HALF )
+                        >> ColorLookupTables.FIXED_POINT_SHIFT );
+        final int cmykYellow = 255
+                - ( ( ( awtBlue * reciprocal ) + ColorLookupTables.FIXED_POINT_HALF )
+                        >> ColorLookupTables.FIXED_POINT_SHIFT );
+        final int cmykBlack = 255 - maximumComponent;
+
+        return ( cmykCyan << 24 ) | ( cmykMagenta << 16 ) | ( cmykYellow << 8 ) | cmykBlack;
+    }
+
+    /**
+     * Returns a flag for whether all three supplied components are in the
+     * 0-255 range covered by the lookup tables.
+     *
+     * @param awtRed
+     *            The Red component of the RGB color
+     * @param awtGreen
+     *            The Green component of the RGB color
+     * @param awtBlue
+     *            The Blue component of the RGB color
+     * @return {@code true} if all components are from 0 to 255
+     *
+     * @since 1.0
+     */
+    private static boolean isComponentRange( final int awtRed,
+                                             final int awtGreen,
+                                             final int awtBlue ) {
+        return ( ( awtRed | awtGreen | awtBlue ) & ~0xff ) == 0;
+    }
+
+    /**
+     * Returns a 0-255 integer based color component converted to a
+     * floating-point basis (between 0.0 and 1.0), via the lookup table when
+     * the component is in range.
+     *
+     * @param awtComponent
+     *            The color component to convert
+     * @return The floating-point color component
+     *
+     * @since 1.0
+     */
+    private static float normalizeColorComponent( final int awtComponent ) {
+        return ( ( awtComponent & ~0xff ) == 0 )
+            ? ColorLookupTables.NORMALIZED_COMPONENTS[ awtComponent ]
+            : awtComponent / 255f;
     }
 
     ///////////// Utility methods for context-based color contrast ///////////
@@ -862,10 +1829,12 @@ public final class ColorUtilities {
      * @since 1.0
      */
     public static boolean isColorDark( final Color color, final float brightnessCutoffPercent ) {
-        // Grab the raw AWT color components for R, G, and B (ignore Alpha).
-        final int awtRed = color.getRed();
-        final int awtGreen = color.getGreen();
-        final int awtBlue = color.getBlue();
+        // Grab the raw AWT color components for R, G, and B (ignore Alpha),
+        // from a single packed value rather than via three separate getters.
+        final int packedColor = color.getRGB();
+        final int awtRed = getRed( packedColor );
+        final int awtGreen = getGreen( packedColor );
+        final int awtBlue = getBlue( packedColor );
 
         // Analyze the RGB color for dark vs. light criteria.
         final boolean colorDark = isColorDark( awtRed, awtGreen, awtBlue, brightnessCutoffPercent );
@@ -904,18 +1873,50 @@ public final class ColorUtilities {
                                        final int awtGreen,
                                        final int awtBlue,
                                        final float brightnessCutoffPercent ) {
-        // Convert from RGB to HSB and use the brightness component as a
-        // trivial 51% threshold test for dark vs. light colors. It has been
-        // proven that we perceive darkness based on HSB bright rather than
-        // equal weightings of R, G, and B values, or applying complex unequal
-        // weightings to those values (something we can't do intuitively).
-        final float[] hsbValues = rgbToHsb( awtRed, awtGreen, awtBlue );
-        final float hsbBrightness = hsbValues[ ColorConstants.HSB_BRIGHTNESS_INDEX ];
+        // Use the HSB brightness component as a trivial 51% threshold test for
+        // dark vs. light colors. It has been proven that we perceive darkness
+        // based on HSB bright rather than equal weightings of R, G, and B
+        // values, or applying complex unequal weightings to those values
+        // (something we can't do intuitively).
+        //
+        // HSB brightness is simply the maximum RGB component divided by 255,
+        // so we compute it directly (exactly as AWT does) rather than doing
+        // the full HSB conversion, which allocates an array on every call.
+        final int maximumComponent = FastMath.max( FastMath.max( awtRed, awtGreen ), awtBlue );
+        final float hsbBrightness = normalizeColorComponent( maximumComponent );
         final boolean colorDark = hsbBrightness <= brightnessCutoffPercent;
 
         return colorDark;
     }
 
+    /**
+     * Returns a flag for whether the supplied packed ARGB color should be
+     * considered dark (if {@code true}) or light (if {@code false}), based on a
+     * cutoff percent.
+     * <p>
+     * This is the equivalent of {@link #isColorDark(Color, float)} for callers
+     * such as table cell renderers that already hold packed colors, and avoids
+     * creating a {@link Color} just for the analysis. Alpha is ignored.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @param brightnessCutoffPercent
+     *            The percentile for the Brightness level of the Hue Analysis,
+     *            to use as the dark vs. light cutoff criterion
+     * @return {@code true} if the supplied color should be considered dark;
+     *         {@code false} if it should be considered light
+     *
+     * @since 1.0
+     */
+    public static boolean isColorDark( final int packedColor, final float brightnessCutoffPercent ) {
+        final boolean colorDark = isColorDark( getRed( packedColor ),
+                                               getGreen( packedColor ),
+                                               getBlue( packedColor ),
+                                               brightnessCutoffPercent );
+
+        return colorDark;
+    }
+
     /**
      * Returns a {@link Color} intended to be used as a non-masking foreground
      * color against the supplied background color, based on brightness
@@ -0,0 +1,200 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.color;
+
+import java.awt.Color;
+
+/**
+ * {@code InternedColor} is the entry for one distinct packed ARGB value in a
+ * {@link ColorPool}. It holds the canonical shared {@link Color} instance for
+ * that value, along with the derived data that export and rendering code asks
+ * for repeatedly, all computed once when the color is first interned.
+ * <p>
+ * All fields are final, so instances are immutable and may be shared between
+ * threads without synchronization.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class InternedColor {
+
+    /**
+     * The canonical shared {@link Color} instance.
+     */
+    private final Color   color;
+
+    /**
+     * The packed ARGB value of the color, which is the key in the pool.
+     */
+    private final int     packedColor;
+
+    /**
+     * The NTSC-weighted gray value of the color, from 0.0 to 1.0.
+     */
+    private final float   gray;
+
+    /**
+     * The CMYK components of the color, from 0.0 to 1.0.
+     */
+    private final float[] cmyk;
+
+    /**
+     * The flag for whether the color is considered dark, per the default
+     * cutoff of {@link ColorUtilities#isColorDark(Color)}.
+     */
+    private final boolean colorDark;
+
+    /**
+     * The six-character lower-case hexadecimal RGB representation.
+     */
+    private final String  rgbHex;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor, which computes all of the
+     * derived data from the supplied color.
+     *
+     * @param pColor
+     *            The canonical shared {@link Color} instance
+     *
+     * @since 1.0
+     */
+    InternedColor( final Color pColor ) {
+        color = pColor;
+        packedColor = pColor.getRGB();
+
+        final int awtRed = ColorUtilities.getRed( packedColor );
+        final int awtGreen = ColorUtilities.getGreen( packedColor );
+        final int awtBlue = ColorUtilities.getBlue( packedColor );
+
+        gray = ColorUtilities.rgbToGray( awtRed, awtGreen, awtBlue );
+        cmyk = new float[ ColorConstants.NUMBER_OF_CMYK_COMPONENTS ];
+        ColorUtilities.rgbToCmyk( packedColor, cmyk, 0 );
+        colorDark = ColorUtilities.isColorDark( pColor );
+        rgbHex = ColorLookupTables.HEX_STRINGS[ awtRed ] + ColorLookupTables.HEX_STRINGS[ awtGreen ]
+                + ColorLookupTables.HEX_STRINGS[ awtBlue ];
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the canonical shared {@link Color} instance.
+     *
+     * @return The canonical shared {@link Color} instance
+     *
+     * @since 1.0
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Returns the packed ARGB value of the color.
+     *
+     * @return An integer representing the packed ARGB color
+     *
+     * @since 1.0
+     */
+    public int getPackedColor() {
+        return packedColor;
+    }
+
+    /**
+     * Returns the NTSC-weighted gray value of the color, as computed by
+     * {@link ColorUtilities#rgbToGray(Color)}.
+     *
+     * @return The gray value, from 0.0 to 1.0
+     *
+     * @since 1.0
+     */
+    public float getGray() {
+        return gray;
+    }
+
+    /**
+     * Writes the CMYK components of the color, as computed by
+     * {@link ColorUtilities#rgbToCmyk(Color)}, into the supplied array.
+     *
+     * @param cmykValues
+     *            The destination for the CMYK components
+     * @param cmykOffset
+     *            The index of the first CMYK component to write
+     *
+     * @since 1.0
+     */
+    public void getCmyk( final float[] cmykValues, final int cmykOffset ) {
+        System.arraycopy( cmyk,
+                          0,
+                          cmykValues,
+                          cmykOffset,
+                          ColorConstants.NUMBER_OF_CMYK_COMPONENTS );
+    }
+
+    /**
+     * Returns the flag for whether the color is considered dark, as computed
+     * by {@link ColorUtilities#isColorDark(Color)}.
+     *
+     * @return {@code true} if the color should be considered dark;
+     *         {@code false} if it should be considered light
+     *
+     * @since 1.0
+     */
+    public boolean isColorDark() {
+        return colorDark;
+    }
+
+    /**
+     * Returns the non-masking foreground color to use against this color, as
+     * computed by {@link ColorUtilities#getForegroundFromBackground(Color)}.
+     *
+     * @return White if this color is dark, and Black otherwise
+     *
+     * @since 1.0
+     */
+    public Color getForegroundColor() {
+        return colorDark ? Color.WHITE : Color.BLACK;
+    }
+
+    /**
+     * Returns the six-character lower-case hexadecimal RGB representation of
+     * the color, such as "ff8000" for orange.
+     *
+     * @return The hexadecimal RGB representation of the color
+     *
+     * @since 1.0
+     */
+    public String getRgbHex() {
+        return rgbHex;
+    }
+
+}
@@ -0,0 +1,446 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.color;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@code ParallelColorConverter} is a utility class for converting an entire
+ * {@link BufferedImage} to the 8-bit samples of a {@link ColorMode}, such as
+ * for print previews of large charts and spectrograms.
+ * <p>
+ * Images are split into bands of rows that are converted concurrently on a
+ * {@link ForkJoinPool} by the bulk converters in {@link ColorUtilities}, so
+ * throughput scales with the number of cores. Images below a size threshold
+ * are converted on the calling thread, as the cost of forking would dominate.
+ * <p>
+ * The samples are written in row-major order without padding: one byte per
+ * pixel for Bitmap (0 or 255) and Grayscale, three for RGB, and four for CMYK.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ParallelColorConverter {
+
+    /**
+     * The number of pixels below which an image is converted sequentially.
+     */
+    public static final int SEQUENTIAL_THRESHOLD_PIXELS = 1 << 18;
+
+    /**
+     * The minimum number of pixels in a band, to keep tasks coarse enough
+     * that forking overhead stays negligible.
+     */
+    private static final int MINIMUM_BAND_PIXELS        = 1 << 16;
+
+    /**
+     * The default constructor is disabled, as this is a static utilities class.
+     */
+    private ParallelColorConverter() {}
+
+    /**
+     * Converts a {@link BufferedImage} to the 8-bit samples of the supplied
+     * {@link ColorMode}, using the common {@link ForkJoinPool}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to convert
+     * @param colorMode
+     *            The {@link ColorMode} to convert to
+     * @return The converted samples, or {@code null} if the image is
+     *         {@code null}
+     *
+     * @since 1.0
+     */
+    public static byte[] convertImage( final BufferedImage bufferedImage,
+                                       final ColorMode colorMode ) {
+        return convertImage( bufferedImage, colorMode, ForkJoinPool.commonPool() );
+    }
+
+    /**
+     * Converts a {@link BufferedImage} to the 8-bit samples of the supplied
+     * {@link ColorMode}, using the supplied {@link ForkJoinPool}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to convert
+     * @param colorMode
+     *            The {@link ColorMode} to convert to
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the conversion on
+     * @return The converted samples, or {@code null} if the image is
+     *         {@code null}
+     * @throws IllegalArgumentException
+     *             If the image has too many samples to fit in one array
+     *
+     * @since 1.0
+     */
+    public static byte[] convertImage( final BufferedImage bufferedImage,
+                                       final ColorMode colorMode,
+                                       final ForkJoinPool forkJoinPool ) {
+        if ( bufferedImage == null ) {
+            return null;
+        }
+
+        final byte[] samples = new byte[ getNumberOfSamples( bufferedImage, colorMode ) ];
+        convertImage( bufferedImage, colorMode, samples, 0, forkJoinPool );
+
+        return samples;
+    }
+
+    /**
+     * Converts a {@link BufferedImage} to the 8-bit samples of the supplied
+     * {@link ColorMode}, writing them into a caller-supplied array, using the
+     * supplied {@link ForkJoinPool}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to convert
+     * @param colorMode
+     *            The {@link ColorMode} to convert to
+     * @param samples
+     *            The destination for the converted samples, which must have
+     *            room for {@link ColorUtilities#getComponentsPerPixel} bytes
+     *            per pixel
+     * @param samplesOffset
+     *            The index of the first sample to write
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the conversion on
+     * @throws IllegalArgumentException
+     *             If the image has too many samples to fit in one array, or
+     *             the destination does not have room for them
+     *
+     * @since 1.0
+     */
+    public static void convertImage( final BufferedImage bufferedImage,
+                                     final ColorMode colorMode,
+                                     final byte[] samples,
+                                     final int samplesOffset,
+                                     final ForkJoinPool forkJoinPool ) {
+        // Check the bounds up front, so that the band offsets cannot overflow.
+        final int numberOfSamples = getNumberOfSamples( bufferedImage, colorMode );
+        if ( ( samplesOffset < 0 ) || ( samplesOffset > ( samples.length - numberOfSamples ) ) ) {
+            throw new IllegalArgumentException( "No room for " + numberOfSamples //$NON-NLS-1$
+                    + " samples at offset " + samplesOffset //$NON-NLS-1$
+                    + " of an array of length " + samples.length ); //$NON-NLS-1$
+        }
+
+        final ConversionTask conversionTask = new ConversionTask( bufferedImage,
+                                                                  colorMode,
+                                                                  samples,
+                                                                  samplesOffset,
+                                                                  0,
+                                                                  bufferedImage.getHeight() );
+
+        // Avoid the overhead of the pool altogether for small images.
+        final long numberOfPixels = ( long ) bufferedImage.getWidth() * bufferedImage.getHeight();
+        if ( numberOfPixels < SEQUENTIAL_THRESHOLD_PIXELS ) {
+            conversionTask.convertBand();
+        }
+        else {
+            forkJoinPool.invoke( conversionTask );
+        }
+    }
+
+    /**
+     * Returns the number of 8-bit samples that a {@link BufferedImage}
+     * converts to in the supplied {@link ColorMode}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to convert
+     * @param colorMode
+     *            The {@link ColorMode} to convert to
+     * @return The number of samples in the converted image
+     * @throws IllegalArgumentException
+     *             If the image has too many samples to fit in one array
+     *
+     * @since 1.0
+     */
+    private static int getNumberOfSamples( final BufferedImage bufferedImage,
+                                           final ColorMode colorMode ) {
+        final int width = bufferedImage.getWidth();
+        final int height = bufferedImage.getHeight();
+        final long numberOfSamples = ( long ) width * height
+                * ColorUtilities.getComponentsPerPixel( colorMode );
+        if ( numberOfSamples > Integer.MAX_VALUE ) {
+            throw new IllegalArgumentException( "A " + width + "x" + height //$NON-NLS-1$ //$NON-NLS-2$
+                    + " image has too many samples for one array in " + colorMode ); //$NON-NLS-1$
+        }
+
+        return ( int ) numberOfSamples;
+    }
+
+    /**
+     * Returns the packed ARGB pixel array that directly backs the supplied
+     * {@link BufferedImage}, when it is a non-premultiplied integer RGB or
+     * ARGB image, so that it can be read without copying.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to query
+     * @return The backing pixel array, or {@code null} if the image layout
+     *         does not permit direct access
+     *
+     * @since 1.0
+     */
+    private static int[] getPackedPixels( final BufferedImage bufferedImage ) {
+        switch ( bufferedImage.getType() ) {
+        case BufferedImage.TYPE_INT_RGB:
+        case BufferedImage.TYPE_INT_ARGB:
+            break;
+        default:
+            return null;
+        }
+
+        final WritableRaster raster = bufferedImage.getRaster();
+        final DataBuffer dataBuffer = raster.getDataBuffer();
+        if ( !( dataBuffer instanceof DataBufferInt ) || ( dataBuffer.getNumBanks() != 1 )
+                || !( raster.getSampleModel() instanceof SinglePixelPackedSampleModel )
+                || ( raster.getParent() != null ) ) {
+            return null;
+        }
+
+        return ( ( DataBufferInt ) dataBuffer ).getData();
+    }
+
+    /**
+     * {@code ConversionTask} converts a band of rows, splitting itself in half
+     * until the bands are small enough to convert directly.
+     */
+    private static final class ConversionTask extends RecursiveAction {
+
+        /**
+         * The serialization version, as fork-join tasks are serializable.
+         */
+        private static final long             serialVersionUID = 1L;
+
+        /**
+         * The {@link BufferedImage} to convert.
+         */
+        private final transient BufferedImage bufferedImage;
+
+        /**
+         * The {@link ColorMode} to convert to.
+         */
+        private final ColorMode                colorMode;
+
+        /**
+         * The destination for the converted samples of the whole image.
+         */
+        private final byte[]                   samples;
+
+        /**
+         * The index of the first sample of the whole image.
+         */
+        private final int                      samplesOffset;
+
+        /**
+         * The first row of the band.
+         */
+        private final int                      firstRow;
+
+        /**
+         * The row after the last row of the band.
+         */
+        private final int                      endRow;
+
+        /**
+         * This is the fully specified constructor for a band conversion task.
+         *
+         * @param pBufferedImage
+         *            The {@link BufferedImage} to convert
+         * @param pColorMode
+         *            The {@link ColorMode} to convert to
+         * @param pSamples
+         *            The destination for the converted samples
+         * @param pSamplesOffset
+         *            The index of the first sample of the whole image
+         * @param pFirstRow
+         *            The first row of the band
+         * @param pEndRow
+         *            The row after the last row of the band
+         */
+        ConversionTask( final BufferedImage pBufferedImage,
+                        final ColorMode pColorMode,
+                        final byte[] pSamples,
+                        final int pSamplesOffset,
+                        final int pFirstRow,
+                        final int pEndRow ) {
+            bufferedImage = pBufferedImage;
+            colorMode = pColorMode;
+            samples = pSamples;
+            samplesOffset = pSamplesOffset;
+            firstRow = pFirstRow;
+            endRow = pEndRow;
+        }
+
+        @Override
+        protected void compute() {
+            final int numberOfRows = endRow - firstRow;
+            final long numberOfPixels = ( long ) numberOfRows * bufferedImage.getWidth();
+            if ( ( numberOfRows < 2 ) || ( numberOfPixels < ( 2L * MINIMUM_BAND_PIXELS ) ) ) {
+                convertBand();
+                return;
+            }
+
+            final int middleRow = firstRow + ( numberOfRows / 2 );
+            invokeAll( new ConversionTask( bufferedImage,
+                                           colorMode,
+                                           samples,
+                                           samplesOffset,
+                                           firstRow,
+                                           middleRow ),
+                       new ConversionTask( bufferedImage,
+                                           colorMode,
+                                           samples,
+                                           samplesOffset,
+                                           middleRow,
+                                           endRow ) );
+        }
+
+        /**
+         * Converts every row of the band on the current thread, reading the
+         * pixels in place when the image layout permits, or one row at a time
+         * otherwise.
+         */
+        void convertBand() {
+            final int width = bufferedImage.getWidth();
+            final int bytesPerPixel = ColorUtilities.getComponentsPerPixel( colorMode );
+            final int samplesScanlineStride = width * bytesPerPixel;
+
+            final int[] packedPixels = getPackedPixels( bufferedImage );
+            if ( packedPixels != null ) {
+                final SinglePixelPackedSampleModel sampleModel =
+                        ( SinglePixelPackedSampleModel ) bufferedImage.getSampleModel();
+                final int pixelScanlineStride = sampleModel.getScanlineStride();
+                final int pixelOffset = bufferedImage.getRaster().getDataBuffer().getOffset()
+                        + ( firstRow * pixelScanlineStride );
+                convertRows( packedPixels,
+                             pixelOffset,
+                             pixelScanlineStride,
+                             samplesOffset + ( firstRow * samplesScanlineStride ),
+                             samplesScanlineStride,
+                             width,
+                             endRow - firstRow );
+                return;
+            }
+
+            final int[] rowPixels = new int[ width ];
+            for ( int row = firstRow; row < endRow; row++ ) {
+                bufferedImage.getRGB( 0, row, width, 1, rowPixels, 0, width );
+                convertRows( rowPixels,
+                             0,
+                             width,
+                             samplesOffset + ( row * samplesScanlineStride ),
+                             samplesScanlineStride,
+                             width,
+                             1 );
+            }
+        }
+
+        /**
+         * Converts a rectangular region of packed ARGB pixels to samples.
+         *
+         * @param pixels
+         *            The packed ARGB pixels to convert
+         * @param pixelOffset
+         *            The index of the first pixel to convert
+         * @param pixelScanlineStride
+         *            The distance between the start of consecutive pixel rows
+         * @param sampleOffset
+         *            The index of the first sample to write
+         * @param sampleScanlineStride
+         *            The distance between the start of consecutive sample rows
+         * @param width
+         *            The number of pixels per row to convert
+         * @param height
+         *            The number of rows to convert
+         */
+        private void convertRows( final int[] pixels,
+                                  final int pixelOffset,
+                                  final int pixelScanlineStride,
+                                  final int sampleOffset,
+                                  final int sampleScanlineStride,
+                                  final int width,
+                                  final int height ) {
+            switch ( colorMode ) {
+            case BITMAP:
+                ColorUtilities.rgbToBitmap( pixels,
+                                            pixelOffset,
+                                            pixelScanlineStride,
+                                            samples,
+                                            sampleOffset,
+                                            sampleScanlineStride,
+                                            width,
+                                            height );
+                break;
+            case GRAYSCALE:
+                ColorUtilities.rgbToGray( pixels,
+                                          pixelOffset,
+                                          pixelScanlineStride,
+                                          samples,
+                                          sampleOffset,
+                                          sampleScanlineStride,
+                                          width,
+                                          height );
+                break;
+            case CMYK:
+                ColorUtilities.rgbToCmyk( pixels,
+                                          pixelOffset,
+                                          pixelScanlineStride,
+                                          samples,
+                                          sampleOffset,
+                                          sampleScanlineStride,
+                                          width,
+                                          height );
+                break;
+            case RGB:
+            default:
+                for ( int row = 0; row < height; row++ ) {
+                    int pixelIndex = pixelOffset + ( row * pixelScanlineStride );
+                    int sampleIndex = sampleOffset + ( row * sampleScanlineStride );
+                    for ( int column = 0; column < width; column++ ) {
+                        final int packedColor = pixels[ pixelIndex++ ];
+                        samples[ sampleIndex++ ] = ( byte ) ColorUtilities.getRed( packedColor );
+                        samples[ sampleIndex++ ] = ( byte ) ColorUtilities.getGreen( packedColor );
+                        samples[ sampleIndex++ ] = ( byte ) ColorUtilities.getBlue( packedColor );
+                    }
+                }
+                break;
+            }
+        }
+
+    }
+
+}
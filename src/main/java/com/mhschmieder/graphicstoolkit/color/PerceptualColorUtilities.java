@@ -0,0 +1,731 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.color;
+
+import java.awt.Color;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * {@code PerceptualColorUtilities} is a utility class for methods related to
+ * perceptually uniform color spaces, such as CIE L*a*b* and OKLab, and to the
+ * gamma-correct linearization of sRGB that they depend upon.
+ * <p>
+ * These color spaces are not supported as Color Modes for export (see
+ * {@link ColorMode}), but are useful on-screen for accurate gradient
+ * interpolation and for light vs. dark detection. Each conversion is offered
+ * for single colors and for batches of packed ARGB pixels; the batch methods
+ * allocate nothing and decode sRGB through a precomputed 256-entry table
+ * rather than calling {@code pow} per pixel, so they are fast enough to run
+ * on every frame.
+ * <p>
+ * CIE L*a*b* is computed relative to the D65 reference white of sRGB, with
+ * lightness from 0 to 100. OKLab is computed per Bjorn Ottosson's reference
+ * implementation, with lightness from 0.0 to 1.0.
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/CIELAB_color_space">https://en.wikipedia.org/wiki/CIELAB_color_space</a>
+ * @see <a href=
+ *      "https://bottosson.github.io/posts/oklab/">https://bottosson.github.io/posts/oklab/</a>
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class PerceptualColorUtilities {
+
+    /**
+     * The X tristimulus value of the D65 reference white, normalized to Y.
+     */
+    private static final float D65_WHITE_X = 0.95047f;
+
+    /**
+     * The Z tristimulus value of the D65 reference white, normalized to Y.
+     */
+    private static final float D65_WHITE_Z = 1.08883f;
+
+    /**
+     * The CIE L*a*b* threshold between the cube root and the linear segment
+     * of the companding function, which is (6/29)^3.
+     */
+    private static final float LAB_EPSILON = 216f / 24389f;
+
+    /**
+     * The slope of the linear segment of the CIE L*a*b* companding function,
+     * which is 1 / (3 * (6/29)^2); not to be confused with the CIE kappa of
+     * 24389/27, which scales the same segment to L* directly.
+     */
+    private static final float LAB_SLOPE   = 841f / 108f;
+
+    /**
+     * The threshold of the inverse CIE L*a*b* companding function, which is
+     * 6/29.
+     */
+    private static final float LAB_DELTA   = 6f / 29f;
+
+    /**
+     * The default constructor is disabled, as this is a static utilities class.
+     */
+    private PerceptualColorUtilities() {}
+
+    ////////////////////// sRGB gamma linearization methods //////////////////
+
+    /**
+     * Returns the linear light value of a gamma-encoded sRGB color component.
+     * <p>
+     * In-range components are decoded via a precomputed table.
+     *
+     * @param awtComponent
+     *            The gamma-encoded color component, from 0 to 255
+     * @return The linear light value, from 0.0 to 1.0
+     *
+     * @since 1.0
+     */
+    public static float srgbToLinear( final int awtComponent ) {
+        if ( ( awtComponent & ~0xff ) == 0 ) {
+            return ColorLookupTables.SRGB_TO_LINEAR[ awtComponent ];
+        }
+
+        return srgbToLinear( awtComponent / 255f );
+    }
+
+    /**
+     * Returns the linear light value of a gamma-encoded sRGB color component,
+     * per the IEC 61966-2-1 transfer function.
+     *
+     * @param rgbComponent
+     *            The gamma-encoded color component, from 0.0 to 1.0
+     * @return The linear light value, from 0.0 to 1.0
+     *
+     * @since 1.0
+     */
+    public static float srgbToLinear( final float rgbComponent ) {
+        return ( rgbComponent <= 0.04045f )
+            ? rgbComponent / 12.92f
+            : ( float ) FastMath.pow( ( rgbComponent + 0.055f ) / 1.055f, 2.4d );
+    }
+
+    /**
+     * Returns the gamma-encoded sRGB color component for a linear light value,
+     * per the IEC 61966-2-1 transfer function. Out-of-gamut values are clipped.
+     *
+     * @param linearComponent
+     *            The linear light value, from 0.0 to 1.0
+     * @return The gamma-encoded color component, from 0.0 to 1.0
+     *
+     * @since 1.0
+     */
+    public static float linearToSrgb( final float linearComponent ) {
+        final float linearComponentAdjusted = FastMath.max( 0f, FastMath.min( linearComponent, 1f ) );
+        return ( linearComponentAdjusted <= 0.0031308f )
+            ? 12.92f * linearComponentAdjusted
+            : ( 1.055f * ( float ) FastMath.pow( linearComponentAdjusted, 1d / 2.4d ) ) - 0.055f;
+    }
+
+    /**
+     * Returns the 0-255 based gamma-encoded sRGB color component for a linear
+     * light value. Out-of-gamut values are clipped.
+     * <p>
+     * The code value is found by a binary search of the precomputed linear
+     * light values at which each code value starts, rather than by raising
+     * the value to a fractional power.
+     *
+     * @param linearComponent
+     *            The linear light value, from 0.0 to 1.0
+     * @return The gamma-encoded color component, from 0 to 255
+     *
+     * @since 1.0
+     */
+    public static int linearToSrgbComponent( final float linearComponent ) {
+        // Each step halves the range of candidate code values; values below
+        // the first threshold, including NaN, stay at zero.
+        int awtComponent = 0;
+        for ( int step = ColorLookupTables.NUMBER_OF_ENTRIES >> 1; step > 0; step >>= 1 ) {
+            if ( linearComponent >= ColorLookupTables.LINEAR_TO_SRGB[ ( awtComponent + step ) - 1 ] ) {
+                awtComponent += step;
+            }
+        }
+
+        return awtComponent;
+    }
+
+    /**
+     * Converts a batch of packed ARGB pixels to linear light RGB values, three
+     * per pixel in the invariant RGB component order. Alpha is ignored.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param linearValues
+     *            The destination for the linear light RGB values
+     * @param linearOffset
+     *            The index of the first linear light value to write
+     * @param numberOfPixels
+     *            The number of pixels to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToLinearRgb( final int[] pixels,
+                                       final int pixelOffset,
+                                       final float[] linearValues,
+                                       final int linearOffset,
+                                       final int numberOfPixels ) {
+        int linearIndex = linearOffset;
+        final int pixelEnd = pixelOffset + numberOfPixels;
+        for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+            final int packedColor = pixels[ pixelIndex ];
+            linearValues[ linearIndex++ ] = srgbToLinear( ColorUtilities.getRed( packedColor ) );
+            linearValues[ linearIndex++ ] = srgbToLinear( ColorUtilities.getGreen( packedColor ) );
+            linearValues[ linearIndex++ ] = srgbToLinear( ColorUtilities.getBlue( packedColor ) );
+        }
+    }
+
+    /**
+     * Returns the relative luminance of a packed ARGB color, as defined by
+     * WCAG and equal to the Y tristimulus value of linear sRGB. Alpha is
+     * ignored.
+     * <p>
+     * Unlike HSB brightness, this accounts for the eye's far greater
+     * sensitivity to green than to blue, so is the better basis for contrast
+     * decisions between perceptually similar colors.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @return The relative luminance, from 0.0 to 1.0
+     *
+     * @since 1.0
+     */
+    public static float getRelativeLuminance( final int packedColor ) {
+        final float linearRed = srgbToLinear( ColorUtilities.getRed( packedColor ) );
+        final float linearGreen = srgbToLinear( ColorUtilities.getGreen( packedColor ) );
+        final float linearBlue = srgbToLinear( ColorUtilities.getBlue( packedColor ) );
+
+        return ( 0.2126729f * linearRed ) + ( 0.7151522f * linearGreen )
+                + ( 0.0721750f * linearBlue );
+    }
+
+    ///////////////////////// CIE L*a*b* conversion methods //////////////////
+
+    /**
+     * Returns a CIE L*a*b* conversion of an RGB color value.
+     *
+     * @param color
+     *            The color to convert from RGB to CIE L*a*b*
+     * @return The array of L*a*b* values, with lightness from 0 to 100
+     *
+     * @since 1.0
+     */
+    public static float[] rgbToLab( final Color color ) {
+        final float[] labValues = new float[ ColorConstants.NUMBER_OF_LAB_COMPONENTS ];
+        rgbToLab( color.getRGB(), labValues, 0 );
+
+        return labValues;
+    }
+
+    /**
+     * Writes a CIE L*a*b* conversion of a packed ARGB color value into the
+     * supplied array. Alpha is ignored.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @param labValues
+     *            The destination for the L*a*b* values
+     * @param labOffset
+     *            The index of the first L*a*b* value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToLab( final int packedColor,
+                                 final float[] labValues,
+                                 final int labOffset ) {
+        final float linearRed = srgbToLinear( ColorUtilities.getRed( packedColor ) );
+        final float linearGreen = srgbToLinear( ColorUtilities.getGreen( packedColor ) );
+        final float linearBlue = srgbToLinear( ColorUtilities.getBlue( packedColor ) );
+
+        // Convert linear sRGB to CIE XYZ, normalized to the D65 white point.
+        final float x = ( ( 0.4124564f * linearRed ) + ( 0.3575761f * linearGreen )
+                + ( 0.1804375f * linearBlue ) ) / D65_WHITE_X;
+        final float y = ( 0.2126729f * linearRed ) + ( 0.7151522f * linearGreen )
+                + ( 0.0721750f * linearBlue );
+        final float z = ( ( 0.0193339f * linearRed ) + ( 0.1191920f * linearGreen )
+                + ( 0.9503041f * linearBlue ) ) / D65_WHITE_Z;
+
+        final float fx = labCompand( x );
+        final float fy = labCompand( y );
+        final float fz = labCompand( z );
+
+        labValues[ labOffset + ColorConstants.LAB_LIGHTNESS_INDEX ] = ( 116f * fy ) - 16f;
+        labValues[ labOffset + ColorConstants.LAB_A_INDEX ] = 500f * ( fx - fy );
+        labValues[ labOffset + ColorConstants.LAB_B_INDEX ] = 200f * ( fy - fz );
+    }
+
+    /**
+     * Converts a batch of packed ARGB pixels to CIE L*a*b* values, three per
+     * pixel in the invariant L*a*b* component order. Alpha is ignored.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param labValues
+     *            The destination for the L*a*b* values
+     * @param labOffset
+     *            The index of the first L*a*b* value to write
+     * @param numberOfPixels
+     *            The number of pixels to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToLab( final int[] pixels,
+                                 final int pixelOffset,
+                                 final float[] labValues,
+                                 final int labOffset,
+                                 final int numberOfPixels ) {
+        for ( int pixel = 0; pixel < numberOfPixels; pixel++ ) {
+            rgbToLab( pixels[ pixelOffset + pixel ],
+                      labValues,
+                      labOffset + ( pixel * ColorConstants.NUMBER_OF_LAB_COMPONENTS ) );
+        }
+    }
+
+    /**
+     * Returns the opaque packed ARGB color for a CIE L*a*b* color value.
+     * Out-of-gamut colors are clipped to the sRGB gamut.
+     *
+     * @param lightness
+     *            The L* component, from 0 to 100
+     * @param a
+     *            The a* component
+     * @param b
+     *            The b* component
+     * @return An integer representing an opaque packed ARGB color
+     *
+     * @since 1.0
+     */
+    public static int labToRgb( final float lightness, final float a, final float b ) {
+        final float fy = ( lightness + 16f ) / 116f;
+        final float fx = fy + ( a / 500f );
+        final float fz = fy - ( b / 200f );
+
+        final float x = D65_WHITE_X * labDecompand( fx );
+        final float y = labDecompand( fy );
+        final float z = D65_WHITE_Z * labDecompand( fz );
+
+        // Convert CIE XYZ back to linear sRGB.
+        final float linearRed = ( 3.2404542f * x ) - ( 1.5371385f * y ) - ( 0.4985314f * z );
+        final float linearGreen = ( -0.9692660f * x ) + ( 1.8760108f * y ) + ( 0.0415560f * z );
+        final float linearBlue = ( 0.0556434f * x ) - ( 0.2040259f * y ) + ( 1.0572252f * z );
+
+        return linearRgbToPackedColor( linearRed, linearGreen, linearBlue );
+    }
+
+    /**
+     * Converts a batch of CIE L*a*b* values, three per pixel in the invariant
+     * L*a*b* component order, to opaque packed ARGB pixels.
+     *
+     * @param labValues
+     *            The L*a*b* values to convert
+     * @param labOffset
+     *            The index of the first L*a*b* value to convert
+     * @param pixels
+     *            The destination for the packed ARGB pixels
+     * @param pixelOffset
+     *            The index of the first pixel to write
+     * @param numberOfPixels
+     *            The number of pixels to convert
+     *
+     * @since 1.0
+     */
+    public static void labToRgb( final float[] labValues,
+                                 final int labOffset,
+                                 final int[] pixels,
+                                 final int pixelOffset,
+                                 final int numberOfPixels ) {
+        int labIndex = labOffset;
+        for ( int pixel = 0; pixel < numberOfPixels; pixel++ ) {
+            pixels[ pixelOffset + pixel ] = labToRgb( labValues[ labIndex ],
+                                                      labValues[ labIndex + 1 ],
+                                                      labValues[ labIndex + 2 ] );
+            labIndex += ColorConstants.NUMBER_OF_LAB_COMPONENTS;
+        }
+    }
+
+    //////////////////////////// OKLab conversion methods ////////////////////
+
+    /**
+     * Returns an OKLab conversion of an RGB color value.
+     *
+     * @param color
+     *            The color to convert from RGB to OKLab
+     * @return The array of OKLab values, with lightness from 0.0 to 1.0
+     *
+     * @since 1.0
+     */
+    public static float[] rgbToOklab( final Color color ) {
+        final float[] labValues = new float[ ColorConstants.NUMBER_OF_LAB_COMPONENTS ];
+        rgbToOklab( color.getRGB(), labValues, 0 );
+
+        return labValues;
+    }
+
+    /**
+     * Writes an OKLab conversion of a packed ARGB color value into the
+     * supplied array. Alpha is ignored.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @param labValues
+     *            The destination for the OKLab values
+     * @param labOffset
+     *            The index of the first OKLab value to write
+     *
+     * @since 1.0
+     */
+    public static void rgbToOklab( final int packedColor,
+                                   final float[] labValues,
+                                   final int labOffset ) {
+        final float linearRed = srgbToLinear( ColorUtilities.getRed( packedColor ) );
+        final float linearGreen = srgbToLinear( ColorUtilities.getGreen( packedColor ) );
+        final float linearBlue = srgbToLinear( ColorUtilities.getBlue( packedColor ) );
+
+        // Convert linear sRGB to the approximate cone responses, and then
+        // compress them non-linearly.
+        final float l = compressedLongCone( linearRed, linearGreen, linearBlue );
+        final float m = compressedMediumCone( linearRed, linearGreen, linearBlue );
+        final float s = compressedShortCone( linearRed, linearGreen, linearBlue );
+
+        labValues[ labOffset + ColorConstants.LAB_LIGHTNESS_INDEX ] = ( 0.2104542553f * l )
+                + ( 0.7936177850f * m ) - ( 0.0040720468f * s );
+        labValues[ labOffset + ColorConstants.LAB_A_INDEX ] = ( 1.9779984951f * l )
+                - ( 2.4285922050f * m ) + ( 0.4505937099f * s );
+        labValues[ labOffset + ColorConstants.LAB_B_INDEX ] = ( 0.0259040371f * l )
+                + ( 0.7827717662f * m ) - ( 0.8086757660f * s );
+    }
+
+    /**
+     * Converts a batch of packed ARGB pixels to OKLab values, three per pixel
+     * in the invariant L*a*b* component order. Alpha is ignored.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to convert
+     * @param pixelOffset
+     *            The index of the first pixel to convert
+     * @param labValues
+     *            The destination for the OKLab values
+     * @param labOffset
+     *            The index of the first OKLab value to write
+     * @param numberOfPixels
+     *            The number of pixels to convert
+     *
+     * @since 1.0
+     */
+    public static void rgbToOklab( final int[] pixels,
+                                   final int pixelOffset,
+                                   final float[] labValues,
+                                   final int labOffset,
+                                   final int numberOfPixels ) {
+        for ( int pixel = 0; pixel < numberOfPixels; pixel++ ) {
+            rgbToOklab( pixels[ pixelOffset + pixel ],
+                        labValues,
+                        labOffset + ( pixel * ColorConstants.NUMBER_OF_LAB_COMPONENTS ) );
+        }
+    }
+
+    /**
+     * Returns the opaque packed ARGB color for an OKLab color value.
+     * Out-of-gamut colors are clipped to the sRGB gamut.
+     *
+     * @param lightness
+     *            The L component, from 0.0 to 1.0
+     * @param a
+     *            The a component
+     * @param b
+     *            The b component
+     * @return An integer representing an opaque packed ARGB color
+     *
+     * @since 1.0
+     */
+    public static int oklabToRgb( final float lightness, final float a, final float b ) {
+        final float lCompressed = lightness + ( 0.3963377774f * a ) + ( 0.2158037573f * b );
+        final float mCompressed = lightness - ( 0.1055613458f * a ) - ( 0.0638541728f * b );
+        final float sCompressed = lightness - ( 0.0894841775f * a ) - ( 1.2914855480f * b );
+
+        return compressedConesToPackedColor( lCompressed, mCompressed, sCompressed );
+    }
+
+    /**
+     * Returns the opaque packed ARGB color for the non-linearly compressed
+     * cone responses that OKLab is a linear transform of.
+     *
+     * @param lCompressed
+     *            The compressed long wavelength cone response
+     * @param mCompressed
+     *            The compressed medium wavelength cone response
+     * @param sCompressed
+     *            The compressed short wavelength cone response
+     * @return An integer representing an opaque packed ARGB color
+     *
+     * @since 1.0
+     */
+    private static int compressedConesToPackedColor( final float lCompressed,
+                                                     final float mCompressed,
+                                                     final float sCompressed ) {
+        final float l = lCompressed * lCompressed * lCompressed;
+        final float m = mCompressed * mCompressed * mCompressed;
+        final float s = sCompressed * sCompressed * sCompressed;
+
+        final float linearRed = ( 4.0767416621f * l ) - ( 3.3077115913f * m )
+                + ( 0.2309699292f * s );
+        final float linearGreen = ( -1.2684380046f * l ) + ( 2.6097574011f * m )
+                - ( 0.3413193965f * s );
+        final float linearBlue = ( -0.0041960863f * l ) - ( 0.7034186147f * m )
+                + ( 1.7076147010f * s );
+
+        return linearRgbToPackedColor( linearRed, linearGreen, linearBlue );
+    }
+
+    /**
+     * Converts a batch of OKLab values, three per pixel in the invariant
+     * L*a*b* component order, to opaque packed ARGB pixels.
+     *
+     * @param labValues
+     *            The OKLab values to convert
+     * @param labOffset
+     *            The index of the first OKLab value to convert
+     * @param pixels
+     *            The destination for the packed ARGB pixels
+     * @param pixelOffset
+     *            The index of the first pixel to write
+     * @param numberOfPixels
+     *            The number of pixels to convert
+     *
+     * @since 1.0
+     */
+    public static void oklabToRgb( final float[] labValues,
+                                   final int labOffset,
+                                   final int[] pixels,
+                                   final int pixelOffset,
+                                   final int numberOfPixels ) {
+        int labIndex = labOffset;
+        for ( int pixel = 0; pixel < numberOfPixels; pixel++ ) {
+            pixels[ pixelOffset + pixel ] = oklabToRgb( labValues[ labIndex ],
+                                                        labValues[ labIndex + 1 ],
+                                                        labValues[ labIndex + 2 ] );
+            labIndex += ColorConstants.NUMBER_OF_LAB_COMPONENTS;
+        }
+    }
+
+    /**
+     * Returns the color at a fractional position between two packed ARGB
+     * colors, interpolated in OKLab so that the gradient is perceptually even
+     * and does not pass through the muddy mid-tones of sRGB interpolation.
+     * Alpha is interpolated linearly. Fractions outside 0.0 to 1.0
+     * extrapolate, with every component clamped to its valid range.
+     *
+     * @param startColor
+     *            The packed ARGB color at the start of the gradient
+     * @param endColor
+     *            The packed ARGB color at the end of the gradient
+     * @param fraction
+     *            The position along the gradient, from 0.0 to 1.0
+     * @return An integer representing the interpolated packed ARGB color
+     *
+     * @since 1.0
+     */
+    public static int interpolateOklab( final int startColor,
+                                        final int endColor,
+                                        final float fraction ) {
+        final float startRed = srgbToLinear( ColorUtilities.getRed( startColor ) );
+        final float startGreen = srgbToLinear( ColorUtilities.getGreen( startColor ) );
+        final float startBlue = srgbToLinear( ColorUtilities.getBlue( startColor ) );
+        final float endRed = srgbToLinear( ColorUtilities.getRed( endColor ) );
+        final float endGreen = srgbToLinear( ColorUtilities.getGreen( endColor ) );
+        final float endBlue = srgbToLinear( ColorUtilities.getBlue( endColor ) );
+
+        // OKLab is a linear transform of the compressed cone responses, so
+        // interpolating those is the same as interpolating the OKLab values,
+        // and saves transforming to OKLab and back again.
+        final float l = interpolate( compressedLongCone( startRed, startGreen, startBlue ),
+                                     compressedLongCone( endRed, endGreen, endBlue ),
+                                     fraction );
+        final float m = interpolate( compressedMediumCone( startRed, startGreen, startBlue ),
+                                     compressedMediumCone( endRed, endGreen, endBlue ),
+                                     fraction );
+        final float s = interpolate( compressedShortCone( startRed, startGreen, startBlue ),
+                                     compressedShortCone( endRed, endGreen, endBlue ),
+                                     fraction );
+        final int alpha = FastMath.round( interpolate( ColorUtilities.getAlpha( startColor ),
+                                                       ColorUtilities.getAlpha( endColor ),
+                                                       fraction ) );
+        final int alphaAdjusted = FastMath.max( 0, FastMath.min( alpha, 255 ) );
+
+        final int packedColor = compressedConesToPackedColor( l, m, s );
+        return ( packedColor & 0xffffff ) | ( alphaAdjusted << 24 );
+    }
+
+    /**
+     * Returns the non-linearly compressed long wavelength cone response for
+     * linear light RGB values, as used by OKLab.
+     *
+     * @param linearRed
+     *            The linear light Red component
+     * @param linearGreen
+     *            The linear light Green component
+     * @param linearBlue
+     *            The linear light Blue component
+     * @return The compressed long wavelength cone response
+     *
+     * @since 1.0
+     */
+    private static float compressedLongCone( final float linearRed,
+                                             final float linearGreen,
+                                             final float linearBlue ) {
+        return ( float ) FastMath.cbrt( ( 0.4122214708f * linearRed )
+                + ( 0.5363325363f * linearGreen ) + ( 0.0514459929f * linearBlue ) );
+    }
+
+    /**
+     * Returns the non-linearly compressed medium wavelength cone response for
+     * linear light RGB values, as used by OKLab.
+     *
+     * @param linearRed
+     *            The linear light Red component
+     * @param linearGreen
+     *            The linear light Green component
+     * @param linearBlue
+     *            The linear light Blue component
+     * @return The compressed medium wavelength cone response
+     *
+     * @since 1.0
+     */
+    private static float compressedMediumCone( final float linearRed,
+                                               final float linearGreen,
+                                               final float linearBlue ) {
+        return ( float ) FastMath.cbrt( ( 0.2119034982f * linearRed )
+                + ( 0.6806995451f * linearGreen ) + ( 0.1073969566f * linearBlue ) );
+    }
+
+    /**
+     * Returns the non-linearly compressed short wavelength cone response for
+     * linear light RGB values, as used by OKLab.
+     *
+     * @param linearRed
+     *            The linear light Red component
+     * @param linearGreen
+     *            The linear light Green component
+     * @param linearBlue
+     *            The linear light Blue component
+     * @return The compressed short wavelength cone response
+     *
+     * @since 1.0
+     */
+    private static float compressedShortCone( final float linearRed,
+                                              final float linearGreen,
+                                              final float linearBlue ) {
+        return ( float ) FastMath.cbrt( ( 0.0883024619f * linearRed )
+                + ( 0.2817188376f * linearGreen ) + ( 0.6299787005f * linearBlue ) );
+    }
+
+    /**
+     * Returns the linear interpolation between two values.
+     *
+     * @param startValue
+     *            The value at a fraction of 0.0
+     * @param endValue
+     *            The value at a fraction of 1.0
+     * @param fraction
+     *            The fraction between the two values
+     * @return The interpolated value
+     *
+     * @since 1.0
+     */
+    private static float interpolate( final float startValue,
+                                      final float endValue,
+                                      final float fraction ) {
+        return startValue + ( fraction * ( endValue - startValue ) );
+    }
+
+    /**
+     * Applies the forward CIE L*a*b* companding function to a normalized
+     * tristimulus value.
+     *
+     * @param t
+     *            The tristimulus value, normalized to the reference white
+     * @return The companded value
+     *
+     * @since 1.0
+     */
+    private static float labCompand( final float t ) {
+        return ( t > LAB_EPSILON )
+            ? ( float ) FastMath.cbrt( t )
+            : ( LAB_SLOPE * t ) + ( 4f / 29f );
+    }
+
+    /**
+     * Applies the inverse CIE L*a*b* companding function.
+     *
+     * @param t
+     *            The companded value
+     * @return The tristimulus value, normalized to the reference white
+     *
+     * @since 1.0
+     */
+    private static float labDecompand( final float t ) {
+        return ( t > LAB_DELTA )
+            ? t * t * t
+            : ( 3f * LAB_DELTA * LAB_DELTA ) * ( t - ( 4f / 29f ) );
+    }
+
+    /**
+     * Returns the opaque packed ARGB color for linear light RGB values,
+     * clipped to the sRGB gamut.
+     *
+     * @param linearRed
+     *            The linear light Red component
+     * @param linearGreen
+     *            The linear light Green component
+     * @param linearBlue
+     *            The linear light Blue component
+     * @return An integer representing an opaque packed ARGB color
+     *
+     * @since 1.0
+     */
+    private static int linearRgbToPackedColor( final float linearRed,
+                                               final float linearGreen,
+                                               final float linearBlue ) {
+        return ColorUtilities.makePackedColor( linearToSrgbComponent( linearRed ),
+                                               linearToSrgbComponent( linearGreen ),
+                                               linearToSrgbComponent( linearBlue ),
+                                               255 );
+    }
+
+}
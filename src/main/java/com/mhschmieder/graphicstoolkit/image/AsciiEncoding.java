@@ -0,0 +1,97 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code AsciiEncoding} is an enumeration of the ASCII encodings that can be
+ * applied to binary image data, so that it can be embedded in 7-bit clean
+ * documents such as PostScript and EPS, or in PDF content streams. Each one
+ * corresponds to a standard decode filter of both PostScript and PDF.
+ * <p>
+ * ASCII85 expands the data by only 25%, vs. 100% for ASCIIHex, so it should
+ * be preferred whenever the downstream consumer is known to support it, which
+ * is the case for PostScript Level 2 and higher and for all versions of PDF.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public enum AsciiEncoding {
+    /**
+     * No ASCII encoding; the binary image data is written as-is.
+     */
+    NONE,
+    /**
+     * ASCIIHex encoding writes two hexadecimal characters per byte.
+     */
+    ASCII_HEX,
+    /**
+     * ASCII85 encoding writes five characters per four bytes.
+     */
+    ASCII_85;
+
+    /**
+     * Returns the default ASCII Encoding, for safe initialization and for
+     * clients that have no way of dealing with alternate encodings. ASCIIHex
+     * is chosen as it is supported by every level of PostScript.
+     *
+     * @return The most widely supported ASCII Encoding, which is ASCIIHex
+     *
+     * @since 1.0
+     */
+    public static AsciiEncoding defaultValue() {
+        return ASCII_HEX;
+    }
+
+    /**
+     * Returns the name of the PostScript and PDF filter that decodes data
+     * written with this ASCII Encoding, for writing into the image operator's
+     * data source or the stream's filter entry.
+     *
+     * @return The decode filter name without the leading slash, or
+     *         {@code null} if there is no ASCII Encoding
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    public final String getDecodeFilterName() {
+        switch ( this ) {
+        case ASCII_HEX:
+            return "ASCIIHexDecode";
+        case ASCII_85:
+            return "ASCII85Decode";
+        case NONE:
+        default:
+            return null;
+        }
+    }
+
+}
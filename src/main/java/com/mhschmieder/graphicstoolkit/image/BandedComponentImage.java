@@ -0,0 +1,363 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * {@code BandedComponentImage} is a {@link RenderedImage} view of a
+ * {@link Component} scaled to a given pixel size, whose tiles are full-width
+ * horizontal bands that are only painted when they are asked for.
+ * <p>
+ * Image Writers that pull their source a few rows at a time, such as those
+ * for PNG and TIFF, can therefore encode images far larger than the heap, as
+ * only the most recently used bands are kept. Each band is painted into a
+ * translated and clipped Graphics Context, so that Swing components skip the
+ * parts of their hierarchy that fall outside of it.
+ * <p>
+ * Writers that ask for the whole image at once, such as the JPEG writer,
+ * still work, but then the whole image is materialized as usual.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+final class BandedComponentImage implements RenderedImage {
+
+    /**
+     * The maximum number of painted bands that are kept for reuse, which
+     * covers requests for regions that straddle two bands.
+     */
+    private static final int                 MAXIMUM_CACHED_BANDS = 2;
+
+    /**
+     * The {@link Component} to paint.
+     */
+    private final Component                  component;
+
+    /**
+     * The width of the image, in pixels.
+     */
+    private final int                        width;
+
+    /**
+     * The height of the image, in pixels.
+     */
+    private final int                        height;
+
+    /**
+     * The height of each band, in pixels.
+     */
+    private final int                        bandHeight;
+
+    /**
+     * The predefined Image Type that the bands are painted into.
+     */
+    private final int                        imageType;
+
+    /**
+     * The {@link ColorModel} of the image.
+     */
+    private final ColorModel                 colorModel;
+
+    /**
+     * The {@link SampleModel} of a single band.
+     */
+    private final SampleModel                sampleModel;
+
+    /**
+     * The most recently painted bands, keyed by band index, in least recently
+     * used order.
+     */
+    private final Map< Integer, Raster >     paintedBands;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pComponent
+     *            The {@link Component} to paint
+     * @param pWidth
+     *            The width of the image, in pixels
+     * @param pHeight
+     *            The height of the image, in pixels
+     * @param pBandHeight
+     *            The height of each band, in pixels
+     * @param pImageType
+     *            The predefined Image Type to paint the bands into, such as
+     *            {@link BufferedImage#TYPE_INT_RGB}
+     *
+     * @since 1.0
+     */
+    BandedComponentImage( final Component pComponent,
+                          final int pWidth,
+                          final int pHeight,
+                          final int pBandHeight,
+                          final int pImageType ) {
+        component = pComponent;
+        width = pWidth;
+        height = pHeight;
+        bandHeight = Math.max( 1, Math.min( pBandHeight, pHeight ) );
+        imageType = pImageType;
+
+        // Derive the models from a minimal image of the same type, so that
+        // they match what the bands are painted into.
+        final BufferedImage prototypeImage = new BufferedImage( 1, 1, imageType );
+        colorModel = prototypeImage.getColorModel();
+        sampleModel = prototypeImage.getSampleModel().createCompatibleSampleModel( width,
+                                                                                   bandHeight );
+
+        paintedBands = new LinkedHashMap< Integer, Raster >( 4, 0.75f, true ) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< Integer, Raster > eldest ) {
+                return size() > MAXIMUM_CACHED_BANDS;
+            }
+        };
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the height of each band.
+     *
+     * @return The height of each band, in pixels
+     *
+     * @since 1.0
+     */
+    public int getBandHeight() {
+        return bandHeight;
+    }
+
+    ///////////////////// RenderedImage method overrides /////////////////////
+
+    @Override
+    public Vector< RenderedImage > getSources() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty( final String name ) {
+        return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return colorModel;
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        return sampleModel;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinY() {
+        return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return ( ( height + bandHeight ) - 1 ) / bandHeight;
+    }
+
+    @Override
+    public int getMinTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+        return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+        return width;
+    }
+
+    @Override
+    public int getTileHeight() {
+        return bandHeight;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return 0;
+    }
+
+    @Override
+    public synchronized Raster getTile( final int tileX, final int tileY ) {
+        if ( ( tileX != 0 ) || ( tileY < 0 ) || ( tileY >= getNumYTiles() ) ) {
+            throw new ArrayIndexOutOfBoundsException( "Tile index out of range" ); //$NON-NLS-1$
+        }
+
+        Raster band = paintedBands.get( tileY );
+        if ( band == null ) {
+            band = paintBand( tileY );
+            paintedBands.put( tileY, band );
+        }
+
+        return band;
+    }
+
+    @Override
+    public Raster getData() {
+        return getData( new Rectangle( 0, 0, width, height ) );
+    }
+
+    @Override
+    public Raster getData( final Rectangle rect ) {
+        final WritableRaster raster = Raster
+                .createWritableRaster( sampleModel.createCompatibleSampleModel( rect.width,
+                                                                                rect.height ),
+                                       new Point( rect.x, rect.y ) );
+        return copyData( raster );
+    }
+
+    @Override
+    public WritableRaster copyData( final WritableRaster raster ) {
+        final WritableRaster destination = ( raster != null )
+            ? raster
+            : Raster.createWritableRaster( sampleModel.createCompatibleSampleModel( width,
+                                                                                    height ),
+                                           null );
+
+        final Rectangle bounds = destination.getBounds()
+                .intersection( new Rectangle( 0, 0, width, height ) );
+        if ( bounds.isEmpty() ) {
+            return destination;
+        }
+
+        // Copy from each band that overlaps the requested region in turn, so
+        // that only those bands are painted.
+        final int firstBand = bounds.y / bandHeight;
+        final int lastBand = ( ( bounds.y + bounds.height ) - 1 ) / bandHeight;
+        for ( int bandIndex = firstBand; bandIndex <= lastBand; bandIndex++ ) {
+            final Raster band = getTile( 0, bandIndex );
+            final Rectangle overlap = band.getBounds().intersection( bounds );
+            final Raster source = band.createChild( overlap.x,
+                                                    overlap.y,
+                                                    overlap.width,
+                                                    overlap.height,
+                                                    overlap.x,
+                                                    overlap.y,
+                                                    null );
+            destination.setDataElements( 0, 0, source );
+        }
+
+        return destination;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Paints one band of the component into a new band-sized image, with the
+     * Graphics Context translated and clipped so that only the part of the
+     * component that falls within the band is drawn.
+     *
+     * @param bandIndex
+     *            The index of the band to paint
+     * @return The painted band, positioned at its location within the image
+     *
+     * @since 1.0
+     */
+    private Raster paintBand( final int bandIndex ) {
+        final int bandY = bandIndex * bandHeight;
+
+        // A new image is used for each band rather than a pooled one, as an
+        // Image Writer may still hold on to the tile of a previous band.
+        final BufferedImage bandImage = new BufferedImage( width, bandHeight, imageType );
+        final Graphics2D g2 = bandImage.createGraphics();
+
+        // Scale exactly to the pixel dimensions, and ask for smooth scaling
+        // of any bitmaps that the Component draws.
+        g2.setRenderingHint( RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY );
+        g2.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                             RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+        g2.translate( 0, -bandY );
+        g2.clipRect( 0, bandY, width, bandHeight );
+        g2.scale( width / ( double ) component.getWidth(),
+                  height / ( double ) component.getHeight() );
+
+        component.paint( g2 );
+        g2.dispose();
+
+        return bandImage.getRaster().createTranslatedChild( 0, bandY );
+    }
+
+}
@@ -0,0 +1,370 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.util.Arrays;
+
+import com.mhschmieder.graphicstoolkit.color.ColorUtilities;
+
+/**
+ * {@code BitmapDitherer} reduces rows of packed ARGB pixels to the 1-bit
+ * samples of the Bitmap Color Mode, using a {@link DitherMode}. The samples
+ * are packed eight to a byte with the most significant bit first and 1 for
+ * White, which is the layout of both the PostScript and PDF image operators
+ * and of {@link java.awt.image.BufferedImage#TYPE_BYTE_BINARY} rasters.
+ * <p>
+ * Rows are processed one at a time, top to bottom, so images of any height
+ * can be streamed. The dithering methods use gray values with NTSC weighting,
+ * as that tracks perceived brightness better than an equal weighted average.
+ * Floyd-Steinberg error diffusion needs only two rows of error terms as its
+ * working memory, and ordered dithering needs none.
+ * <p>
+ * Instances carry the state of the image in progress, so are not thread-safe.
+ * Call {@link #reset} before reusing an instance for another image.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class BitmapDitherer {
+
+    /**
+     * The size of the Bayer threshold matrix, in each direction.
+     */
+    private static final int   BAYER_MATRIX_SIZE = 8;
+
+    /**
+     * The 8x8 Bayer index matrix, in row-major order; each entry is the
+     * order in which that position turns White as the gray level increases.
+     */
+    private static final int[] BAYER_INDICES     = {
+            0, 32, 8, 40, 2, 34, 10, 42,
+            48, 16, 56, 24, 50, 18, 58, 26,
+            12, 44, 4, 36, 14, 46, 6, 38,
+            60, 28, 52, 20, 62, 30, 54, 22,
+            3, 35, 11, 43, 1, 33, 9, 41,
+            51, 19, 59, 27, 49, 17, 57, 25,
+            15, 47, 7, 39, 13, 45, 5, 37,
+            63, 31, 55, 23, 61, 29, 53, 21 };
+
+    /**
+     * The 8-bit gray thresholds for each position of the Bayer matrix, at the
+     * centers of the 64 equal intervals of full scale, so that Black and
+     * White both stay solid.
+     */
+    private static final int[] BAYER_THRESHOLDS  = new int[ BAYER_INDICES.length ];
+
+    static {
+        for ( int i = 0; i < BAYER_INDICES.length; i++ ) {
+            BAYER_THRESHOLDS[ i ] = ( 4 * BAYER_INDICES[ i ] ) + 2;
+        }
+    }
+
+    /**
+     * The {@link DitherMode} to reduce the pixels with.
+     */
+    private final DitherMode   ditherMode;
+
+    /**
+     * The number of pixels per row.
+     */
+    private final int          width;
+
+    /**
+     * The accumulated error terms for the current row, scaled by 16 and
+     * padded by one entry at each end to absorb spill from the edge pixels.
+     */
+    private int[]              currentRowErrors;
+
+    /**
+     * The accumulated error terms for the next row, scaled by 16 and padded
+     * by one entry at each end to absorb spill from the edge pixels.
+     */
+    private int[]              nextRowErrors;
+
+    /**
+     * The index of the next row to be dithered.
+     */
+    private int                rowIndex;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pDitherMode
+     *            The {@link DitherMode} to reduce the pixels with
+     * @param pWidth
+     *            The number of pixels per row
+     *
+     * @since 1.0
+     */
+    public BitmapDitherer( final DitherMode pDitherMode, final int pWidth ) {
+        ditherMode = ( pDitherMode != null ) ? pDitherMode : DitherMode.defaultValue();
+        width = pWidth;
+
+        if ( DitherMode.FLOYD_STEINBERG.equals( ditherMode ) ) {
+            currentRowErrors = new int[ pWidth + 2 ];
+            nextRowErrors = new int[ pWidth + 2 ];
+        }
+
+        rowIndex = 0;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the {@link DitherMode} that the pixels are reduced with.
+     *
+     * @return The {@link DitherMode} that the pixels are reduced with
+     *
+     * @since 1.0
+     */
+    public DitherMode getDitherMode() {
+        return ditherMode;
+    }
+
+    /**
+     * Returns the number of pixels per row.
+     *
+     * @return The number of pixels per row
+     *
+     * @since 1.0
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the index of the next row to be dithered.
+     *
+     * @return The index of the next row to be dithered
+     *
+     * @since 1.0
+     */
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * Returns the number of bytes that one row of packed 1-bit samples
+     * occupies.
+     *
+     * @return The number of bytes per row of packed 1-bit samples
+     *
+     * @since 1.0
+     */
+    public int getBytesPerRow() {
+        return ( width + 7 ) / 8;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Discards all state from the image in progress, so that the next row to
+     * be dithered is treated as the first row of a new image.
+     *
+     * @since 1.0
+     */
+    public void reset() {
+        if ( currentRowErrors != null ) {
+            Arrays.fill( currentRowErrors, 0 );
+            Arrays.fill( nextRowErrors, 0 );
+        }
+
+        rowIndex = 0;
+    }
+
+    /**
+     * Reduces the next row of packed ARGB pixels to packed 1-bit samples,
+     * padding the last byte with zeroes. Alpha is ignored.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to reduce, which must hold
+     *            {@link #getWidth} pixels from the offset
+     * @param pixelOffset
+     *            The index of the first pixel to reduce
+     * @param bitmapBytes
+     *            The destination for the packed 1-bit samples, which must
+     *            have room for {@link #getBytesPerRow} bytes
+     * @param bitmapOffset
+     *            The index of the first byte to write
+     * @return The number of bytes written
+     *
+     * @since 1.0
+     */
+    public int ditherRow( final int[] pixels,
+                          final int pixelOffset,
+                          final byte[] bitmapBytes,
+                          final int bitmapOffset ) {
+        final int bytesPerRow = getBytesPerRow();
+        Arrays.fill( bitmapBytes, bitmapOffset, bitmapOffset + bytesPerRow, ( byte ) 0 );
+
+        switch ( ditherMode ) {
+        case BAYER:
+            ditherRowBayer( pixels, pixelOffset, bitmapBytes, bitmapOffset );
+            break;
+        case FLOYD_STEINBERG:
+            ditherRowFloydSteinberg( pixels, pixelOffset, bitmapBytes, bitmapOffset );
+            break;
+        case THRESHOLD:
+        default:
+            for ( int column = 0; column < width; column++ ) {
+                final int packedColor = pixels[ pixelOffset + column ];
+                final int bitmapValue = ColorUtilities
+                        .rgbToBitmapValue( ColorUtilities.getRed( packedColor ),
+                                           ColorUtilities.getGreen( packedColor ),
+                                           ColorUtilities.getBlue( packedColor ) );
+                if ( bitmapValue != 0 ) {
+                    setWhite( bitmapBytes, bitmapOffset, column );
+                }
+            }
+            break;
+        }
+
+        rowIndex++;
+
+        return bytesPerRow;
+    }
+
+    /**
+     * Reduces the next row of pixels by ordered dithering against the Bayer
+     * threshold matrix, which is tiled across the image.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to reduce
+     * @param pixelOffset
+     *            The index of the first pixel to reduce
+     * @param bitmapBytes
+     *            The zero-filled destination for the packed 1-bit samples
+     * @param bitmapOffset
+     *            The index of the first byte to write
+     *
+     * @since 1.0
+     */
+    private void ditherRowBayer( final int[] pixels,
+                                 final int pixelOffset,
+                                 final byte[] bitmapBytes,
+                                 final int bitmapOffset ) {
+        final int matrixRowOffset = ( rowIndex % BAYER_MATRIX_SIZE ) * BAYER_MATRIX_SIZE;
+        for ( int column = 0; column < width; column++ ) {
+            final int grayValue = getGrayValue( pixels[ pixelOffset + column ] );
+            final int threshold = BAYER_THRESHOLDS[ matrixRowOffset
+                    + ( column % BAYER_MATRIX_SIZE ) ];
+            if ( grayValue >= threshold ) {
+                setWhite( bitmapBytes, bitmapOffset, column );
+            }
+        }
+    }
+
+    /**
+     * Reduces the next row of pixels by Floyd-Steinberg error diffusion. Rows
+     * alternate direction, which avoids the diagonal "worm" artifacts that a
+     * fixed scan direction produces in flat areas.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to reduce
+     * @param pixelOffset
+     *            The index of the first pixel to reduce
+     * @param bitmapBytes
+     *            The zero-filled destination for the packed 1-bit samples
+     * @param bitmapOffset
+     *            The index of the first byte to write
+     *
+     * @since 1.0
+     */
+    private void ditherRowFloydSteinberg( final int[] pixels,
+                                          final int pixelOffset,
+                                          final byte[] bitmapBytes,
+                                          final int bitmapOffset ) {
+        final int[] rowErrors = currentRowErrors;
+        final int[] belowErrors = nextRowErrors;
+        Arrays.fill( belowErrors, 0 );
+
+        // The error arrays are padded by one, so the entry for a column is at
+        // the column index plus one, and its neighbors never go out of bounds.
+        final int direction = ( ( rowIndex & 1 ) == 0 ) ? 1 : -1;
+        int column = ( direction > 0 ) ? 0 : width - 1;
+        for ( int i = 0; i < width; i++, column += direction ) {
+            final int errorIndex = column + 1;
+            final int grayValue = getGrayValue( pixels[ pixelOffset + column ] );
+            final int value = grayValue + ( ( rowErrors[ errorIndex ] + 8 ) >> 4 );
+            final boolean white = value >= 128;
+            final int error = white ? value - 255 : value;
+
+            rowErrors[ errorIndex + direction ] += 7 * error;
+            belowErrors[ errorIndex - direction ] += 3 * error;
+            belowErrors[ errorIndex ] += 5 * error;
+            belowErrors[ errorIndex + direction ] += error;
+
+            if ( white ) {
+                setWhite( bitmapBytes, bitmapOffset, column );
+            }
+        }
+
+        currentRowErrors = belowErrors;
+        nextRowErrors = rowErrors;
+    }
+
+    /**
+     * Returns the 8-bit NTSC gray value of a packed ARGB color.
+     *
+     * @param packedColor
+     *            The integer representing a packed ARGB color
+     * @return The gray value, from 0 to 255
+     *
+     * @since 1.0
+     */
+    private static int getGrayValue( final int packedColor ) {
+        return ColorUtilities.rgbToGrayValue( ColorUtilities.getRed( packedColor ),
+                                              ColorUtilities.getGreen( packedColor ),
+                                              ColorUtilities.getBlue( packedColor ) );
+    }
+
+    /**
+     * Sets the bit for a column to White in a row of packed 1-bit samples.
+     *
+     * @param bitmapBytes
+     *            The packed 1-bit samples
+     * @param bitmapOffset
+     *            The index of the first byte of the row
+     * @param column
+     *            The column whose bit is to be set
+     *
+     * @since 1.0
+     */
+    private static void setWhite( final byte[] bitmapBytes,
+                                  final int bitmapOffset,
+                                  final int column ) {
+        bitmapBytes[ bitmapOffset + ( column >> 3 ) ] |= 0x80 >>> ( column & 7 );
+    }
+
+}
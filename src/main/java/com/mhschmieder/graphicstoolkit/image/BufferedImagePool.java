@@ -0,0 +1,493 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code BufferedImagePool} retains idle {@link BufferedImage} instances for
+ * reuse, keyed by width, height and Image Type, so that code which repeatedly
+ * renders images of the same size, such as a thumbnail service, does not
+ * allocate and garbage collect a new multi-megabyte raster for every image.
+ * <p>
+ * Images are taken from the pool via {@link #acquire} and given back via
+ * {@link #release} once they are no longer referenced. The pool only tracks
+ * idle images, so an acquired image that is never released is simply garbage
+ * collected as usual. The total size of the idle images is bounded, and the
+ * least recently used sizes are evicted first when the bound is exceeded.
+ * <p>
+ * Hit and miss counts and the number of bytes retained are kept so that the
+ * bound can be tuned for a given workload. All methods are thread-safe.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class BufferedImagePool {
+
+    /**
+     * The default bound on the total size of the idle images, in bytes.
+     */
+    public static final long                                   DEFAULT_MAXIMUM_RETAINED_BYTES =
+                                                                                              64L << 20;
+
+    /**
+     * The shared pool, for clients that have no need for a private pool.
+     */
+    private static final BufferedImagePool                     SHARED_POOL                    =
+            new BufferedImagePool( DEFAULT_MAXIMUM_RETAINED_BYTES );
+
+    /**
+     * The bound on the total size of the idle images, in bytes.
+     */
+    private final long                                         maximumRetainedBytes;
+
+    /**
+     * The idle images for each size, in least recently used order of size.
+     */
+    private final Map< ImageKey, ArrayDeque< BufferedImage > > idleImages;
+
+    /**
+     * The total size of the idle images, in bytes.
+     */
+    private long                                               retainedBytes;
+
+    /**
+     * The number of acquisitions that were satisfied by an idle image.
+     */
+    private long                                               hitCount;
+
+    /**
+     * The number of acquisitions that had to allocate a new image.
+     */
+    private long                                               missCount;
+
+    /**
+     * The number of idle images that were discarded to stay within bounds.
+     */
+    private long                                               evictionCount;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pMaximumRetainedBytes
+     *            The bound on the total size of the idle images, in bytes
+     *
+     * @since 1.0
+     */
+    public BufferedImagePool( final long pMaximumRetainedBytes ) {
+        maximumRetainedBytes = pMaximumRetainedBytes;
+        idleImages = new LinkedHashMap<>( 16, 0.75f, true );
+
+        retainedBytes = 0L;
+        hitCount = 0L;
+        missCount = 0L;
+        evictionCount = 0L;
+    }
+
+    /**
+     * Returns the shared pool, which is bounded by
+     * {@link #DEFAULT_MAXIMUM_RETAINED_BYTES}.
+     *
+     * @return The shared {@link BufferedImagePool}
+     *
+     * @since 1.0
+     */
+    public static BufferedImagePool getSharedPool() {
+        return SHARED_POOL;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the bound on the total size of the idle images.
+     *
+     * @return The bound on the total size of the idle images, in bytes
+     *
+     * @since 1.0
+     */
+    public long getMaximumRetainedBytes() {
+        return maximumRetainedBytes;
+    }
+
+    /**
+     * Returns the total size of the idle images.
+     *
+     * @return The total size of the idle images, in bytes
+     *
+     * @since 1.0
+     */
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Returns the number of acquisitions that were satisfied by an idle image.
+     *
+     * @return The number of pool hits
+     *
+     * @since 1.0
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of acquisitions that had to allocate a new image.
+     *
+     * @return The number of pool misses
+     *
+     * @since 1.0
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the fraction of acquisitions that were satisfied by an idle
+     * image.
+     *
+     * @return The hit rate, from 0.0 to 1.0, or 0.0 if nothing was acquired
+     *
+     * @since 1.0
+     */
+    public synchronized double getHitRate() {
+        final long acquisitionCount = hitCount + missCount;
+        return ( acquisitionCount > 0L ) ? hitCount / ( double ) acquisitionCount : 0d;
+    }
+
+    /**
+     * Returns the number of idle images that were discarded to stay within
+     * bounds.
+     *
+     * @return The number of evicted images
+     *
+     * @since 1.0
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Returns an image of the requested size and Image Type, reusing an idle
+     * one if possible. Reused images are cleared to all-zero samples, so the
+     * result is indistinguishable from a newly allocated image.
+     *
+     * @param width
+     *            The width of the image, in pixels
+     * @param height
+     *            The height of the image, in pixels
+     * @param imageType
+     *            The predefined Image Type of the image, such as
+     *            {@link BufferedImage#TYPE_INT_RGB}
+     * @return A blank {@link BufferedImage} of the requested size and type
+     *
+     * @since 1.0
+     */
+    public BufferedImage acquire( final int width, final int height, final int imageType ) {
+        BufferedImage bufferedImage = null;
+
+        synchronized ( this ) {
+            final ArrayDeque< BufferedImage > images = idleImages
+                    .get( new ImageKey( width, height, imageType ) );
+            if ( ( images != null ) && !images.isEmpty() ) {
+                bufferedImage = images.pop();
+                retainedBytes -= getImageBytes( bufferedImage );
+                hitCount++;
+            }
+            else {
+                missCount++;
+            }
+        }
+
+        // Clearing and allocating are done outside the lock, as they take time
+        // in proportion to the size of the image.
+        if ( bufferedImage == null ) {
+            return new BufferedImage( width, height, imageType );
+        }
+
+        clearImage( bufferedImage );
+
+        return bufferedImage;
+    }
+
+    /**
+     * Gives an image back to the pool for reuse, if it has a predefined Image
+     * Type, owns all of its pixel data and fits within the bound. The image
+     * must no longer be referenced by the caller, as it will be handed out
+     * again by a later acquisition.
+     * <p>
+     * Images that share their Data Buffer with a larger image, such as those
+     * returned by {@link BufferedImage#getSubimage}, are ignored, as clearing
+     * them on reuse would also erase the image that they are a view of.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to give back, which may be
+     *            {@code null}
+     *
+     * @since 1.0
+     */
+    public synchronized void release( final BufferedImage bufferedImage ) {
+        if ( ( bufferedImage == null )
+                || ( bufferedImage.getType() == BufferedImage.TYPE_CUSTOM )
+                || !isSoleOwner( bufferedImage ) ) {
+            return;
+        }
+
+        final long imageBytes = getImageBytes( bufferedImage );
+        if ( imageBytes > maximumRetainedBytes ) {
+            return;
+        }
+
+        final ImageKey imageKey = new ImageKey( bufferedImage.getWidth(),
+                                                bufferedImage.getHeight(),
+                                                bufferedImage.getType() );
+        ArrayDeque< BufferedImage > images = idleImages.get( imageKey );
+        if ( images == null ) {
+            images = new ArrayDeque<>( 2 );
+            idleImages.put( imageKey, images );
+        }
+
+        // Guard against the same image being released twice, which would
+        // otherwise hand it out to two callers at once.
+        for ( final BufferedImage idleImage : images ) {
+            if ( idleImage == bufferedImage ) {
+                return;
+            }
+        }
+
+        images.push( bufferedImage );
+        retainedBytes += imageBytes;
+
+        evictIdleImages();
+    }
+
+    /**
+     * Discards all idle images.
+     *
+     * @since 1.0
+     */
+    public synchronized void clear() {
+        idleImages.clear();
+        retainedBytes = 0L;
+    }
+
+    /**
+     * Discards idle images of the least recently used sizes until the total
+     * size of the idle images is within bounds.
+     *
+     * @since 1.0
+     */
+    private void evictIdleImages() {
+        final Iterator< ArrayDeque< BufferedImage > > iterator = idleImages.values().iterator();
+        while ( ( retainedBytes > maximumRetainedBytes ) && iterator.hasNext() ) {
+            final ArrayDeque< BufferedImage > images = iterator.next();
+            while ( ( retainedBytes > maximumRetainedBytes ) && !images.isEmpty() ) {
+                retainedBytes -= getImageBytes( images.removeLast() );
+                evictionCount++;
+            }
+            if ( images.isEmpty() ) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns whether an image owns all of the samples of its Data Buffer, as
+     * opposed to being a view of part of a larger buffer.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to check
+     * @return {@code true} if the Data Buffer holds exactly the samples of the
+     *         image, and nothing else
+     *
+     * @since 1.0
+     */
+    private static boolean isSoleOwner( final BufferedImage bufferedImage ) {
+        final WritableRaster raster = bufferedImage.getRaster();
+        if ( ( raster.getParent() != null ) || ( raster.getSampleModelTranslateX() != 0 )
+                || ( raster.getSampleModelTranslateY() != 0 ) ) {
+            return false;
+        }
+
+        final DataBuffer dataBuffer = raster.getDataBuffer();
+        if ( ( dataBuffer.getNumBanks() != 1 ) || ( dataBuffer.getOffset() != 0 ) ) {
+            return false;
+        }
+
+        // Every predefined Image Type packs its pixels with no padding other
+        // than the partial element at the end of each row of a 1, 2 or 4-bit
+        // image, so the buffer size is fully determined by the dimensions.
+        final long width = raster.getWidth();
+        final long height = raster.getHeight();
+        final SampleModel sampleModel = raster.getSampleModel();
+        final long expectedSize;
+        if ( sampleModel instanceof MultiPixelPackedSampleModel ) {
+            final MultiPixelPackedSampleModel packedModel =
+                    ( MultiPixelPackedSampleModel ) sampleModel;
+            if ( packedModel.getDataBitOffset() != 0 ) {
+                return false;
+            }
+            final long elementBits = DataBuffer.getDataTypeSize( dataBuffer.getDataType() );
+            final long rowElements = ( ( width * packedModel.getPixelBitStride() )
+                    + elementBits - 1L ) / elementBits;
+            expectedSize = rowElements * height;
+        }
+        else {
+            expectedSize = width * height * sampleModel.getNumDataElements();
+        }
+
+        return dataBuffer.getSize() == expectedSize;
+    }
+
+    /**
+     * Returns the number of bytes occupied by the pixel data of an image.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to measure
+     * @return The number of bytes occupied by the pixel data
+     *
+     * @since 1.0
+     */
+    private static long getImageBytes( final BufferedImage bufferedImage ) {
+        final DataBuffer dataBuffer = bufferedImage.getRaster().getDataBuffer();
+        final long elementBits = DataBuffer.getDataTypeSize( dataBuffer.getDataType() );
+        return ( ( long ) dataBuffer.getSize() * dataBuffer.getNumBanks() * elementBits ) / 8L;
+    }
+
+    /**
+     * Clears all of the samples of an image to zero, which is what a newly
+     * allocated image contains.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to clear
+     *
+     * @since 1.0
+     */
+    private static void clearImage( final BufferedImage bufferedImage ) {
+        final DataBuffer dataBuffer = bufferedImage.getRaster().getDataBuffer();
+        if ( dataBuffer instanceof DataBufferInt ) {
+            for ( int bank = 0; bank < dataBuffer.getNumBanks(); bank++ ) {
+                Arrays.fill( ( ( DataBufferInt ) dataBuffer ).getData( bank ), 0 );
+            }
+        }
+        else if ( dataBuffer instanceof DataBufferByte ) {
+            for ( int bank = 0; bank < dataBuffer.getNumBanks(); bank++ ) {
+                Arrays.fill( ( ( DataBufferByte ) dataBuffer ).getData( bank ), ( byte ) 0 );
+            }
+        }
+        else if ( dataBuffer instanceof DataBufferUShort ) {
+            for ( int bank = 0; bank < dataBuffer.getNumBanks(); bank++ ) {
+                Arrays.fill( ( ( DataBufferUShort ) dataBuffer ).getData( bank ), ( short ) 0 );
+            }
+        }
+        else {
+            final Graphics2D g2 = bufferedImage.createGraphics();
+            g2.setComposite( AlphaComposite.Clear );
+            g2.fillRect( 0, 0, bufferedImage.getWidth(), bufferedImage.getHeight() );
+            g2.dispose();
+        }
+    }
+
+    /**
+     * {@code ImageKey} identifies the interchangeable images in the pool.
+     */
+    private static final class ImageKey {
+
+        /**
+         * The width of the image, in pixels.
+         */
+        private final int width;
+
+        /**
+         * The height of the image, in pixels.
+         */
+        private final int height;
+
+        /**
+         * The predefined Image Type of the image.
+         */
+        private final int imageType;
+
+        /**
+         * This is the fully specified constructor.
+         *
+         * @param pWidth
+         *            The width of the image, in pixels
+         * @param pHeight
+         *            The height of the image, in pixels
+         * @param pImageType
+         *            The predefined Image Type of the image
+         */
+        ImageKey( final int pWidth, final int pHeight, final int pImageType ) {
+            width = pWidth;
+            height = pHeight;
+            imageType = pImageType;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !( other instanceof ImageKey ) ) {
+                return false;
+            }
+            final ImageKey otherKey = ( ImageKey ) other;
+            return ( width == otherKey.width ) && ( height == otherKey.height )
+                    && ( imageType == otherKey.imageType );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( ( ( 31 * width ) + height ) * 31 ) + imageType;
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code ComponentScaleMode} is an enumeration of the ways in which a
+ * {@link java.awt.Component} may be scaled when it is rendered to an image
+ * whose pixel dimensions differ from the component's own.
+ * <p>
+ * Resampling paints the component at its native size and then rescales the
+ * pixels, so the result looks exactly like the component does on screen, at
+ * the cost of a second full-size image and a blurrier result. Rendering at
+ * the target size instead scales the Graphics Context before painting, so
+ * that text and vector graphics are rasterized directly at the output
+ * resolution, which is faster, uses half the memory and is sharper at high
+ * DPI, but may shift the pixel alignment of hairlines and bitmap content.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public enum ComponentScaleMode {
+    /**
+     * The component is painted at its native size, and the resulting image is
+     * rescaled via bilinear interpolation.
+     */
+    RESAMPLE,
+    /**
+     * The component is painted into a scaled Graphics Context, directly at
+     * the target pixel dimensions.
+     */
+    RENDER_AT_TARGET_SIZE;
+
+    /**
+     * Returns the default Component Scale Mode, for safe initialization and
+     * for clients that have no way of dealing with alternate modes.
+     * Resampling is chosen as it gives the most faithful copy of what is on
+     * screen.
+     *
+     * @return The most faithful Component Scale Mode, which is Resample
+     *
+     * @since 1.0
+     */
+    public static ComponentScaleMode defaultValue() {
+        return RESAMPLE;
+    }
+
+}
@@ -0,0 +1,447 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * {@code ComponentSnapshotCache} keeps the last snapshot of a live AWT (or
+ * Swing) {@link Component}, such as a chart that is periodically exported, and
+ * brings it up to date by repainting only the regions that have changed since.
+ * <p>
+ * Clients report changes via {@link #addDirtyRegion(Rectangle)}, in the same
+ * component coordinates as {@link Component#repaint(int, int, int, int)}. Each
+ * dirty region is cleared and repainted under a clip that is rounded outwards
+ * to whole pixels of the snapshot, so the cost of an update is proportional
+ * to the changed area rather than to the size of the component. The whole
+ * component is repainted on the first update, after {@link #invalidate()},
+ * and whenever the component or the snapshot changes size.
+ * <p>
+ * Snapshots are always rendered at the target size, as described for
+ * {@link ComponentScaleMode#RENDER_AT_TARGET_SIZE}, so that dirty regions map
+ * directly onto the pixels of the snapshot. The snapshot image is taken from
+ * the shared {@link BufferedImagePool}, and given back by {@link #dispose()}.
+ * <p>
+ * All methods are synchronized, so dirty regions may be reported from any
+ * thread, but updates paint the component and should be made from the thread
+ * that is allowed to do so.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ComponentSnapshotCache {
+
+    /**
+     * The number of separate dirty regions above which they are coalesced
+     * into their bounding rectangle, as each region costs a separate paint.
+     */
+    public static final int         MAXIMUM_DIRTY_REGIONS = 16;
+
+    /**
+     * The {@link Component} to take snapshots of.
+     */
+    private final Component         component;
+
+    /**
+     * The preferred width in pixels for the snapshot.
+     */
+    private final double            pixelWidth;
+
+    /**
+     * The preferred height in pixels for the snapshot.
+     */
+    private final double            pixelHeight;
+
+    /**
+     * {@code true} if the snapshot should be auto-sized; {@code false} if the
+     * real Aspect Ratio of the component should be retained.
+     */
+    private final boolean           autoSizeImage;
+
+    /**
+     * The Image Format Name to write the snapshot as.
+     */
+    private final String            imageFormatName;
+
+    /**
+     * The Compression Quality to write the snapshot with; not relevant to all
+     * Image Formats.
+     */
+    private final float             compressionQuality;
+
+    /**
+     * The regions of the component that have changed since the last update,
+     * in component coordinates.
+     */
+    private final List< Rectangle > dirtyRegions;
+
+    /**
+     * The last snapshot of the component, or {@code null} if there is none.
+     */
+    private BufferedImage           snapshotImage;
+
+    /**
+     * The width of the component when the snapshot was last fully painted.
+     */
+    private int                     snapshotComponentWidth;
+
+    /**
+     * The height of the component when the snapshot was last fully painted.
+     */
+    private int                     snapshotComponentHeight;
+
+    /**
+     * The number of updates that repainted the whole component.
+     */
+    private long                    fullRenderCount;
+
+    /**
+     * The number of updates that repainted only dirty regions.
+     */
+    private long                    partialRenderCount;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor for a snapshot cache.
+     *
+     * @param pComponent
+     *            The {@link Component} to take snapshots of
+     * @param pPixelWidth
+     *            The preferred width in pixels for the snapshot
+     * @param pPixelHeight
+     *            The preferred height in pixels for the snapshot
+     * @param pAutoSizeImage
+     *            {@code true} if the snapshot should be auto-sized;
+     *            {@code false} if the real Aspect Ratio should be retained
+     * @param pImageFormatName
+     *            The Image Format Name to write the snapshot as
+     * @param pCompressionQuality
+     *            The Compression Quality to write the snapshot with; not
+     *            relevant to all Image Formats
+     *
+     * @since 1.0
+     */
+    public ComponentSnapshotCache( final Component pComponent,
+                                   final double pPixelWidth,
+                                   final double pPixelHeight,
+                                   final boolean pAutoSizeImage,
+                                   final String pImageFormatName,
+                                   final float pCompressionQuality ) {
+        component = pComponent;
+        pixelWidth = pPixelWidth;
+        pixelHeight = pPixelHeight;
+        autoSizeImage = pAutoSizeImage;
+        imageFormatName = pImageFormatName;
+        compressionQuality = pCompressionQuality;
+
+        dirtyRegions = new ArrayList<>( MAXIMUM_DIRTY_REGIONS );
+        snapshotImage = null;
+        snapshotComponentWidth = 0;
+        snapshotComponentHeight = 0;
+        fullRenderCount = 0L;
+        partialRenderCount = 0L;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the {@link Component} that this cache takes snapshots of.
+     *
+     * @return The {@link Component} that this cache takes snapshots of
+     *
+     * @since 1.0
+     */
+    public Component getComponent() {
+        return component;
+    }
+
+    /**
+     * Returns the number of updates that repainted the whole component.
+     *
+     * @return The number of updates that repainted the whole component
+     *
+     * @since 1.0
+     */
+    public synchronized long getFullRenderCount() {
+        return fullRenderCount;
+    }
+
+    /**
+     * Returns the number of updates that repainted only dirty regions.
+     *
+     * @return The number of updates that repainted only dirty regions
+     *
+     * @since 1.0
+     */
+    public synchronized long getPartialRenderCount() {
+        return partialRenderCount;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Marks a region of the component as changed, so that it is repainted by
+     * the next update. Regions that overlap are merged.
+     *
+     * @param dirtyRegion
+     *            The changed region, in component coordinates
+     *
+     * @since 1.0
+     */
+    public synchronized void addDirtyRegion( final Rectangle dirtyRegion ) {
+        if ( ( dirtyRegion == null ) || dirtyRegion.isEmpty() ) {
+            return;
+        }
+
+        // Merge the new region with every region that it touches, repeating
+        // as the merged region may in turn touch others.
+        Rectangle mergedRegion = new Rectangle( dirtyRegion );
+        boolean merged = true;
+        while ( merged ) {
+            merged = false;
+            for ( int i = dirtyRegions.size() - 1; i >= 0; i-- ) {
+                final Rectangle region = dirtyRegions.get( i );
+                if ( region.contains( mergedRegion ) ) {
+                    return;
+                }
+                if ( region.intersects( mergedRegion ) ) {
+                    mergedRegion = mergedRegion.union( region );
+                    dirtyRegions.remove( i );
+                    merged = true;
+                }
+            }
+        }
+
+        dirtyRegions.add( mergedRegion );
+
+        // Too many separate paints cost more than one larger paint.
+        if ( dirtyRegions.size() > MAXIMUM_DIRTY_REGIONS ) {
+            final Rectangle bounds = new Rectangle( dirtyRegions.get( 0 ) );
+            for ( final Rectangle region : dirtyRegions ) {
+                bounds.add( region );
+            }
+            dirtyRegions.clear();
+            dirtyRegions.add( bounds );
+        }
+    }
+
+    /**
+     * Marks the whole component as changed, so that it is fully repainted by
+     * the next update.
+     *
+     * @since 1.0
+     */
+    public synchronized void invalidate() {
+        dirtyRegions.clear();
+        snapshotComponentWidth = 0;
+        snapshotComponentHeight = 0;
+    }
+
+    /**
+     * Brings the snapshot up to date, repainting the whole component only if
+     * there is no valid snapshot, and otherwise only the dirty regions.
+     * <p>
+     * The returned image is owned by this cache and is modified by later
+     * updates, so it must be copied if it is to be retained.
+     *
+     * @return The up to date snapshot, or {@code null} if the component has
+     *         no area to render
+     *
+     * @since 1.0
+     */
+    public synchronized BufferedImage updateSnapshot() {
+        final int componentWidth = component.getWidth();
+        final int componentHeight = component.getHeight();
+        final Dimension renderSize = ImageConversionUtilities.getRenderSize( component,
+                                                                             pixelWidth,
+                                                                             pixelHeight,
+                                                                             autoSizeImage );
+        if ( ( componentWidth <= 0 ) || ( componentHeight <= 0 ) || ( renderSize.width <= 0 )
+                || ( renderSize.height <= 0 ) ) {
+            return null;
+        }
+
+        // Repaint everything if the snapshot is missing or out of date in size.
+        if ( ( snapshotImage == null ) || ( componentWidth != snapshotComponentWidth )
+                || ( componentHeight != snapshotComponentHeight )
+                || ( renderSize.width != snapshotImage.getWidth() )
+                || ( renderSize.height != snapshotImage.getHeight() ) ) {
+            releaseSnapshotImage();
+            snapshotImage = ImageConversionUtilities
+                    .renderComponent( component,
+                                      pixelWidth,
+                                      pixelHeight,
+                                      autoSizeImage,
+                                      BufferedImage.TYPE_INT_RGB,
+                                      ComponentScaleMode.RENDER_AT_TARGET_SIZE );
+            snapshotComponentWidth = componentWidth;
+            snapshotComponentHeight = componentHeight;
+            dirtyRegions.clear();
+            fullRenderCount++;
+
+            return snapshotImage;
+        }
+
+        if ( dirtyRegions.isEmpty() ) {
+            return snapshotImage;
+        }
+
+        final double sx = snapshotImage.getWidth() / ( double ) componentWidth;
+        final double sy = snapshotImage.getHeight() / ( double ) componentHeight;
+        for ( final Rectangle dirtyRegion : dirtyRegions ) {
+            repaintRegion( dirtyRegion, sx, sy );
+        }
+        dirtyRegions.clear();
+        partialRenderCount++;
+
+        return snapshotImage;
+    }
+
+    /**
+     * Brings the snapshot up to date and writes it to the provided
+     * {@link OutputStream} using the Image Format of this cache.
+     *
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the snapshot
+     * @return The snapshot that was written to the supplied
+     *         {@link OutputStream}, or {@code null} if it could not be written
+     *
+     * @since 1.0
+     */
+    public synchronized BufferedImage writeSnapshot( final OutputStream outputStream ) {
+        if ( outputStream == null ) {
+            return null;
+        }
+
+        final BufferedImage bufferedImage = updateSnapshot();
+        if ( bufferedImage == null ) {
+            return null;
+        }
+
+        final boolean succeeded = ImageConversionUtilities.writeImage( bufferedImage,
+                                                                       outputStream,
+                                                                       imageFormatName,
+                                                                       compressionQuality );
+
+        return succeeded ? bufferedImage : null;
+    }
+
+    /**
+     * Discards the snapshot and any dirty regions, giving the snapshot image
+     * back to the shared {@link BufferedImagePool}; the next update repaints
+     * the whole component.
+     *
+     * @since 1.0
+     */
+    public synchronized void dispose() {
+        releaseSnapshotImage();
+        invalidate();
+    }
+
+    /**
+     * Clears and repaints one dirty region of the snapshot.
+     *
+     * @param dirtyRegion
+     *            The changed region, in component coordinates
+     * @param sx
+     *            The horizontal scale from the component to the snapshot
+     * @param sy
+     *            The vertical scale from the component to the snapshot
+     *
+     * @since 1.0
+     */
+    private void repaintRegion( final Rectangle dirtyRegion, final double sx, final double sy ) {
+        // Round the region outwards to whole pixels of the snapshot, so that
+        // no partially covered pixel keeps stale content.
+        final int x0 = Math.max( 0, ( int ) FastMath.floor( dirtyRegion.x * sx ) );
+        final int y0 = Math.max( 0, ( int ) FastMath.floor( dirtyRegion.y * sy ) );
+        final int x1 = Math.min( snapshotImage.getWidth(),
+                                 ( int ) FastMath
+                                         .ceil( ( dirtyRegion.x + dirtyRegion.width ) * sx ) );
+        final int y1 = Math.min( snapshotImage.getHeight(),
+                                 ( int ) FastMath
+                                         .ceil( ( dirtyRegion.y + dirtyRegion.height ) * sy ) );
+        if ( ( x1 <= x0 ) || ( y1 <= y0 ) ) {
+            return;
+        }
+
+        final Graphics2D g2 = snapshotImage.createGraphics();
+        try {
+            // Restrict all painting to the region, in snapshot pixels.
+            g2.clipRect( x0, y0, x1 - x0, y1 - y0 );
+
+            // Clear the region to the same all-zero samples that a freshly
+            // pooled image has, so that translucent content does not pile up.
+            g2.setComposite( AlphaComposite.Clear );
+            g2.fillRect( x0, y0, x1 - x0, y1 - y0 );
+            g2.setComposite( AlphaComposite.SrcOver );
+
+            // Paint exactly as a full render at the target size does.
+            g2.setRenderingHint( RenderingHints.KEY_RENDERING,
+                                 RenderingHints.VALUE_RENDER_QUALITY );
+            g2.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                                 RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+            g2.scale( sx, sy );
+
+            component.paint( g2 );
+        }
+        finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Gives the snapshot image back to the shared {@link BufferedImagePool},
+     * if there is one.
+     *
+     * @since 1.0
+     */
+    private void releaseSnapshotImage() {
+        if ( snapshotImage != null ) {
+            BufferedImagePool.getSharedPool().release( snapshotImage );
+            snapshotImage = null;
+        }
+    }
+
+}
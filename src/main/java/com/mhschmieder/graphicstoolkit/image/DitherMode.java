@@ -0,0 +1,75 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code DitherMode} is an enumeration of the methods available for reducing
+ * continuous tone images to the 1-bit samples of the Bitmap Color Mode.
+ * <p>
+ * Simple thresholding is the fastest and keeps line art crisp, but turns any
+ * gradient or fill into large solid blotches. Ordered dithering renders tones
+ * as a regular pattern that compresses well and never smears across rows.
+ * Error diffusion gives the most faithful tones and is the best choice for
+ * photographs and heatmaps.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public enum DitherMode {
+    /**
+     * Each pixel is set to White if the average of its components is at least
+     * half of full scale, and Black otherwise, with no dithering.
+     */
+    THRESHOLD,
+    /**
+     * Ordered dithering against an 8x8 Bayer threshold matrix.
+     */
+    BAYER,
+    /**
+     * Floyd-Steinberg error diffusion, in serpentine order.
+     */
+    FLOYD_STEINBERG;
+
+    /**
+     * Returns the default Dither Mode, for safe initialization and for
+     * clients that have no way of dealing with alternate modes. Thresholding
+     * is chosen as it matches the behavior of the Bitmap Color Mode elsewhere.
+     *
+     * @return The simplest Dither Mode, which is Threshold
+     *
+     * @since 1.0
+     */
+    public static DitherMode defaultValue() {
+        return THRESHOLD;
+    }
+
+}
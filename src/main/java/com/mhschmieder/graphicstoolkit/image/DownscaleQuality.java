@@ -0,0 +1,76 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code DownscaleQuality} is an enumeration of the trade-offs between speed
+ * and quality that are available for reducing the size of an image, such as
+ * for thumbnails; see {@link ImageScaler}.
+ * <p>
+ * Progressive halving repeatedly averages 2x2 blocks with integer math and
+ * finishes with a small tent filter, which is the fastest for large ratios
+ * and avoids the aliasing of a single bilinear pass. Area averaging weights
+ * every source pixel by how much of it falls within each target pixel, which
+ * is exact for any ratio. Lanczos filtering uses a windowed sinc kernel that
+ * keeps text and fine lines the sharpest, at several times the cost.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public enum DownscaleQuality {
+    /**
+     * Progressive 2x halving, followed by a tent filter to the exact size.
+     */
+    SPEED,
+    /**
+     * Area averaging, also known as box filtering.
+     */
+    BALANCED,
+    /**
+     * Three-lobed Lanczos filtering.
+     */
+    QUALITY;
+
+    /**
+     * Returns the default Downscale Quality, for safe initialization and for
+     * clients that have no way of dealing with alternate modes. Area averaging
+     * is chosen as it is free of aliasing at a modest cost.
+     *
+     * @return The most balanced Downscale Quality, which is Balanced
+     *
+     * @since 1.0
+     */
+    public static DownscaleQuality defaultValue() {
+        return BALANCED;
+    }
+
+}
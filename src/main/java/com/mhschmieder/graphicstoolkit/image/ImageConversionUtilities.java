@@ -30,28 +30,41 @@
  */
 package com.mhschmieder.graphicstoolkit.image;
 
+import java.awt.Color;
 import java.awt.Component;
+import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Point;
+import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorConvertOp;
 import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
 import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
 import java.awt.image.PixelGrabber;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.awt.image.WritableRaster;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Hashtable;
-import java.util.Iterator;
 import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
@@ -61,6 +74,8 @@ import javax.imageio.stream.ImageOutputStream;
 
 import org.apache.commons.math3.util.FastMath;
 
+import com.mhschmieder.graphicstoolkit.color.ColorUtilities;
+
 /**
  * {@code ImageConversionUtilities} is a utility class for Graphics2D based
  * image conversion methods that are needed in many different contexts.
@@ -76,9 +91,23 @@ public final class ImageConversionUtilities {
      */
     private ImageConversionUtilities() {}
 
+    /**
+     * The default number of rows that are painted at a time by
+     * {@link #renderComponentInBands}, which keeps each band of a
+     * 20000-pixel wide RGB image to about 20 MB.
+     */
+    public static final int        DEFAULT_BAND_HEIGHT        = 256;
+
+    /**
+     * The {@link DitherMode} that rendered images are reduced to 1-bit with
+     * for WBMP export when none is specified, as plain thresholding turns any
+     * fill or gradient into solid blotches.
+     */
+    public static final DitherMode DEFAULT_BITMAP_DITHER_MODE = DitherMode.FLOYD_STEINBERG;
+
     /**
      * Converts a supplied {@link RenderedImage} to its corresponding
-     * {@link BufferedImage}.
+     * {@link BufferedImage}, copying its pixels into a new raster.
      *
      * @param renderedImage
      *            The Rendered Image to use as a source for a new Buffered Image
@@ -89,6 +118,34 @@ public final class ImageConversionUtilities {
      * @since 1.0
      */
     public static BufferedImage convertRenderedImage( final RenderedImage renderedImage ) {
+        return convertRenderedImage( renderedImage, RasterCopyMode.defaultValue() );
+    }
+
+    /**
+     * Converts a supplied {@link RenderedImage} to its corresponding
+     * {@link BufferedImage}, transferring its pixels as specified by the
+     * supplied {@link RasterCopyMode}.
+     * <p>
+     * A source image can only be shared if it consists of a single
+     * {@link WritableRaster} tile whose data is compatible with its
+     * {@link ColorModel}; otherwise it is copied tile by tile. For parallel
+     * tile streaming, the source image must support concurrent calls to
+     * {@link RenderedImage#getTile}, as standard AWT and ImageIO images do.
+     *
+     * @param renderedImage
+     *            The Rendered Image to use as a source for a new Buffered Image
+     * @param rasterCopyMode
+     *            The {@link RasterCopyMode} that determines whether the pixels
+     *            are shared or copied, and how they are copied
+     * @return A {@link BufferedImage} that is either copied from or shares the
+     *         pixels of the original {@link RenderedImage}, or is the original
+     *         reference when it was already a {@link BufferedImage}, or
+     *         {@code null} if {@code null}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage convertRenderedImage( final RenderedImage renderedImage,
+                                                      final RasterCopyMode rasterCopyMode ) {
         if ( renderedImage == null ) {
             return null;
         }
@@ -99,16 +156,37 @@ public final class ImageConversionUtilities {
         }
 
         final ColorModel colorModel = renderedImage.getColorModel();
-        final int width = renderedImage.getWidth();
-        final int height = renderedImage.getHeight();
-        final WritableRaster raster = colorModel.createCompatibleWritableRaster( width, height );
         final boolean isAlphaPremultiplied = colorModel.isAlphaPremultiplied();
 
-        final Hashtable< String, Object > properties = new Hashtable<>();
+        // Only make a property table if there are properties to put in it, as
+        // the Buffered Image accepts null instead.
+        Hashtable< String, Object > properties = null;
         final String[] keys = renderedImage.getPropertyNames();
-        if ( keys != null ) {
+        if ( ( keys != null ) && ( keys.length > 0 ) ) {
+            properties = new Hashtable<>( 2 * keys.length );
             for ( final String key : keys ) {
-                properties.put( key, renderedImage.getProperty( key ) );
+                final Object property = renderedImage.getProperty( key );
+                if ( property != null ) {
+                    properties.put( key, property );
+                }
+            }
+        }
+
+        WritableRaster raster = null;
+        if ( RasterCopyMode.SHARE.equals( rasterCopyMode ) ) {
+            raster = getSharableRaster( renderedImage );
+        }
+
+        if ( raster == null ) {
+            final int width = renderedImage.getWidth();
+            final int height = renderedImage.getHeight();
+            raster = colorModel.createCompatibleWritableRaster( width, height );
+
+            if ( ( rasterCopyMode == null ) || RasterCopyMode.COPY.equals( rasterCopyMode ) ) {
+                renderedImage.copyData( raster );
+            }
+            else {
+                copyTiles( renderedImage, raster );
             }
         }
 
@@ -116,11 +194,91 @@ public final class ImageConversionUtilities {
                                                                raster,
                                                                isAlphaPremultiplied,
                                                                properties );
-        renderedImage.copyData( raster );
 
         return bufferedImage;
     }
 
+    /**
+     * Returns a {@link WritableRaster} that shares the pixel data of the
+     * supplied {@link RenderedImage} and is translated to the origin, as a
+     * {@link BufferedImage} requires, if its layout permits.
+     *
+     * @param renderedImage
+     *            The Rendered Image whose pixel data is to be shared
+     * @return A {@link WritableRaster} that shares the pixel data of the
+     *         {@link RenderedImage}, or {@code null} if it is not a single
+     *         compatible {@link WritableRaster} tile
+     *
+     * @since 1.0
+     */
+    private static WritableRaster getSharableRaster( final RenderedImage renderedImage ) {
+        if ( ( renderedImage.getNumXTiles() != 1 ) || ( renderedImage.getNumYTiles() != 1 ) ) {
+            return null;
+        }
+
+        final Raster tile = renderedImage.getTile( renderedImage.getMinTileX(),
+                                                   renderedImage.getMinTileY() );
+        if ( !( tile instanceof WritableRaster )
+                || !renderedImage.getColorModel().isCompatibleRaster( tile ) ) {
+            return null;
+        }
+
+        // The tile may extend beyond the image bounds, so it is clipped to
+        // them in the child raster.
+        final int minX = renderedImage.getMinX();
+        final int minY = renderedImage.getMinY();
+        final int width = renderedImage.getWidth();
+        final int height = renderedImage.getHeight();
+        if ( !tile.getBounds().contains( minX, minY, width, height ) ) {
+            return null;
+        }
+
+        final WritableRaster writableTile = ( WritableRaster ) tile;
+        return writableTile.createWritableChild( minX, minY, width, height, 0, 0, null );
+    }
+
+    /**
+     * Copies the pixels of a {@link RenderedImage} into a {@link WritableRaster}
+     * that is located at the origin, one tile at a time.
+     * <p>
+     * The tiles are copied in parallel unless the raster packs several pixels
+     * into each data element, as neighboring tiles could then write the same
+     * element concurrently.
+     *
+     * @param renderedImage
+     *            The Rendered Image to copy the pixels from
+     * @param raster
+     *            The {@link WritableRaster} to copy the pixels to
+     *
+     * @since 1.0
+     */
+    private static void copyTiles( final RenderedImage renderedImage,
+                                   final WritableRaster raster ) {
+        final int minTileX = renderedImage.getMinTileX();
+        final int minTileY = renderedImage.getMinTileY();
+        final int numberOfTilesX = renderedImage.getNumXTiles();
+        final int numberOfTiles = numberOfTilesX * renderedImage.getNumYTiles();
+
+        // Each tile is translated by the image's origin, as the raster is
+        // located at the origin; anything outside the image bounds is clipped.
+        final int translateX = -renderedImage.getMinX();
+        final int translateY = -renderedImage.getMinY();
+        final IntConsumer tileCopier = tileIndex -> {
+            final Raster tile = renderedImage.getTile( minTileX + ( tileIndex % numberOfTilesX ),
+                                                       minTileY + ( tileIndex / numberOfTilesX ) );
+            raster.setRect( translateX, translateY, tile );
+        };
+
+        final IntStream tileIndices = IntStream.range( 0, numberOfTiles );
+        if ( ( numberOfTiles > 1 )
+                && !( raster.getSampleModel() instanceof MultiPixelPackedSampleModel ) ) {
+            tileIndices.parallel().forEach( tileCopier );
+        }
+        else {
+            tileIndices.forEach( tileCopier );
+        }
+    }
+
     /**
      * Returns a two-dimensional array of integer-based pixels grabbed from
      * the supplied {@link Image}, using the format that PostScript needs
@@ -150,14 +308,88 @@ public final class ImageConversionUtilities {
                                         final int width,
                                         final int height ) {
         final int[] pixels = new int[ width * height ];
+        return getImagePixels( image, x, y, width, height, pixels, 0, width );
+    }
+
+    /**
+     * Fills a caller-supplied array with integer-based pixels grabbed from
+     * the supplied {@link Image}, in the default ARGB format that PostScript
+     * needs for images, so that the array can be reused across images.
+     * <p>
+     * When the source is a {@link BufferedImage} and the region lies within
+     * its bounds, the pixels are read directly from its {@link DataBuffer} for
+     * the common integer and byte Image Types, and via the bulk
+     * {@link BufferedImage#getRGB} for all others. The {@link PixelGrabber} is
+     * only used for other kinds of images, and for regions that need cropping.
+     * Note that direct access to the pixel data stops Java2D from caching the
+     * {@link BufferedImage} in video memory, which is harmless for export but
+     * can slow down later on-screen rendering of the same image.
+     *
+     * @param image
+     *            The source image to convert to pixels
+     * @param x
+     *            The x coordinate of the upper left corner of the region to
+     *            retrieve from the image
+     * @param y
+     *            The y coordinate of the upper left corner of the region to
+     *            retrieve from the image
+     * @param width
+     *            The width of the rectangle of pixels to retrieve
+     * @param height
+     *            The height of the rectangle of pixels to retrieve
+     * @param pixels
+     *            The destination for the pixels
+     * @param pixelOffset
+     *            The index of the first pixel to write
+     * @param scanlineStride
+     *            The distance between the starts of consecutive rows in the
+     *            destination, which is usually the width
+     * @return The supplied array of pixels, or {@code null} if the pixels
+     *         could not be grabbed from the original {@link Image}
+     *
+     * @since 1.0
+     */
+    public static int[] getImagePixels( final Image image,
+                                        final int x,
+                                        final int y,
+                                        final int width,
+                                        final int height,
+                                        final int[] pixels,
+                                        final int pixelOffset,
+                                        final int scanlineStride ) {
+        if ( image instanceof BufferedImage ) {
+            final BufferedImage bufferedImage = ( BufferedImage ) image;
+            if ( ( x >= 0 ) && ( y >= 0 ) && ( ( x + width ) <= bufferedImage.getWidth() )
+                    && ( ( y + height ) <= bufferedImage.getHeight() ) ) {
+                if ( !copyDataBufferPixels( bufferedImage,
+                                            x,
+                                            y,
+                                            width,
+                                            height,
+                                            pixels,
+                                            pixelOffset,
+                                            scanlineStride ) ) {
+                    bufferedImage.getRGB( x,
+                                          y,
+                                          width,
+                                          height,
+                                          pixels,
+                                          pixelOffset,
+                                          scanlineStride );
+                }
+
+                return pixels;
+            }
+        }
+
         final PixelGrabber pixelGrabber = new PixelGrabber( image,
                                                             x,
                                                             y,
                                                             width,
                                                             height,
                                                             pixels,
-                                                            0,
-                                                            width );
+                                                            pixelOffset,
+                                                            scanlineStride );
 
         try {
             pixelGrabber.grabPixels();
@@ -172,6 +404,150 @@ public final class ImageConversionUtilities {
         return pixels;
     }
 
+    /**
+     * Copies a region of a {@link BufferedImage} to default ARGB pixels
+     * straight from its {@link DataBuffer}, if its Image Type has a layout
+     * that is known to need no Color Model conversion.
+     *
+     * @param bufferedImage
+     *            The source image to copy the pixels from
+     * @param x
+     *            The x coordinate of the upper left corner of the region
+     * @param y
+     *            The y coordinate of the upper left corner of the region
+     * @param width
+     *            The width of the region
+     * @param height
+     *            The height of the region
+     * @param pixels
+     *            The destination for the pixels
+     * @param pixelOffset
+     *            The index of the first pixel to write
+     * @param scanlineStride
+     *            The distance between the starts of consecutive rows in the
+     *            destination
+     * @return {@code true} if the pixels were copied; {@code false} if the
+     *         Image Type is not supported for direct access
+     *
+     * @since 1.0
+     */
+    private static boolean copyDataBufferPixels( final BufferedImage bufferedImage,
+                                                 final int x,
+                                                 final int y,
+                                                 final int width,
+                                                 final int height,
+                                                 final int[] pixels,
+                                                 final int pixelOffset,
+                                                 final int scanlineStride ) {
+        final WritableRaster raster = bufferedImage.getRaster();
+        final SampleModel sampleModel = raster.getSampleModel();
+        final DataBuffer dataBuffer = raster.getDataBuffer();
+
+        // Sub-images share their parent's data, offset by the translation.
+        final int sampleX = x - raster.getSampleModelTranslateX();
+        final int sampleY = y - raster.getSampleModelTranslateY();
+
+        switch ( bufferedImage.getType() ) {
+        case BufferedImage.TYPE_INT_ARGB:
+        case BufferedImage.TYPE_INT_RGB:
+            if ( !( sampleModel instanceof SinglePixelPackedSampleModel )
+                    || !( dataBuffer instanceof DataBufferInt ) ) {
+                return false;
+            }
+
+            final SinglePixelPackedSampleModel packedSampleModel =
+                                                                 ( SinglePixelPackedSampleModel ) sampleModel;
+            final int[] packedData = ( ( DataBufferInt ) dataBuffer ).getData();
+            final int packedStride = packedSampleModel.getScanlineStride();
+            int packedIndex = packedSampleModel.getOffset( sampleX, sampleY )
+                    + dataBuffer.getOffset();
+
+            // Opaque images have undefined bits in place of alpha.
+            final boolean opaque = bufferedImage.getType() == BufferedImage.TYPE_INT_RGB;
+            for ( int row = 0; row < height; row++ ) {
+                final int rowOffset = pixelOffset + ( row * scanlineStride );
+                if ( opaque ) {
+                    for ( int column = 0; column < width; column++ ) {
+                        pixels[ rowOffset + column ] = packedData[ packedIndex + column ]
+                                | 0xff000000;
+                    }
+                }
+                else {
+                    System.arraycopy( packedData, packedIndex, pixels, rowOffset, width );
+                }
+                packedIndex += packedStride;
+            }
+
+            return true;
+        case BufferedImage.TYPE_3BYTE_BGR:
+        case BufferedImage.TYPE_4BYTE_ABGR:
+            if ( !( sampleModel instanceof ComponentSampleModel )
+                    || !( dataBuffer instanceof DataBufferByte ) ) {
+                return false;
+            }
+
+            final ComponentSampleModel componentSampleModel = ( ComponentSampleModel ) sampleModel;
+            final byte[] byteData = ( ( DataBufferByte ) dataBuffer ).getData();
+            final int byteStride = componentSampleModel.getScanlineStride();
+            final int pixelStride = componentSampleModel.getPixelStride();
+            final int[] bandOffsets = componentSampleModel.getBandOffsets();
+            final int redOffset = bandOffsets[ 0 ];
+            final int greenOffset = bandOffsets[ 1 ];
+            final int blueOffset = bandOffsets[ 2 ];
+            final boolean hasAlpha = bandOffsets.length > 3;
+            final int alphaOffset = hasAlpha ? bandOffsets[ 3 ] : 0;
+            int rowIndex = componentSampleModel.getOffset( sampleX, sampleY, 0 )
+                    - redOffset + dataBuffer.getOffset();
+
+            for ( int row = 0; row < height; row++ ) {
+                final int rowOffset = pixelOffset + ( row * scanlineStride );
+                int byteIndex = rowIndex;
+                for ( int column = 0; column < width; column++ ) {
+                    final int alpha = hasAlpha ? byteData[ byteIndex + alphaOffset ] & 0xff : 0xff;
+                    pixels[ rowOffset + column ] = ( alpha << 24 )
+                            | ( ( byteData[ byteIndex + redOffset ] & 0xff ) << 16 )
+                            | ( ( byteData[ byteIndex + greenOffset ] & 0xff ) << 8 )
+                            | ( byteData[ byteIndex + blueOffset ] & 0xff );
+                    byteIndex += pixelStride;
+                }
+                rowIndex += byteStride;
+            }
+
+            return true;
+        case BufferedImage.TYPE_CUSTOM:
+            // Off-heap images are only read directly in the default ARGB
+            // layout that createBufferedImage gives them.
+            final DirectColorModel defaultColorModel = ( DirectColorModel ) ColorModel.getRGBdefault();
+            if ( !( sampleModel instanceof SinglePixelPackedSampleModel )
+                    || !( dataBuffer instanceof OffHeapDataBufferInt )
+                    || !defaultColorModel.equals( bufferedImage.getColorModel() )
+                    || !Arrays.equals( defaultColorModel.getMasks(),
+                                       ( ( SinglePixelPackedSampleModel ) sampleModel )
+                                               .getBitMasks() ) ) {
+                return false;
+            }
+
+            final SinglePixelPackedSampleModel offHeapSampleModel =
+                                                                  ( SinglePixelPackedSampleModel ) sampleModel;
+            final OffHeapDataBufferInt offHeapData = ( OffHeapDataBufferInt ) dataBuffer;
+            final int offHeapStride = offHeapSampleModel.getScanlineStride();
+            int offHeapIndex = offHeapSampleModel.getOffset( sampleX, sampleY )
+                    + dataBuffer.getOffset();
+
+            for ( int row = 0; row < height; row++ ) {
+                offHeapData.getElems( offHeapIndex,
+                                      pixels,
+                                      pixelOffset + ( row * scanlineStride ),
+                                      width );
+                offHeapIndex += offHeapStride;
+            }
+
+            return true;
+        default:
+            return false;
+        }
+    }
+
     /**
      * Returns a {@link BufferedImage} created as a packed raster using the
      * supplied two-dimensional array of integer-based pixels and applying
@@ -187,27 +563,118 @@ public final class ImageConversionUtilities {
     public static BufferedImage createBufferedImage( final int[] pixels,
                                                      final int width,
                                                      final int height ) {
+        final DataBufferInt buffer = new DataBufferInt( pixels, pixels.length );
+        return createBufferedImage( buffer, width, height );
+    }
+
+    /**
+     * Returns a {@link BufferedImage} created as a packed raster on the
+     * supplied integer {@link DataBuffer} and applying the standard default
+     * RGB Color Model with proper ARGB Band Masks.
+     * <p>
+     * This allows the pixels to be kept outside of the Java heap, such as in
+     * an {@link OffHeapDataBufferInt}, for poster-scale images.
+     * 
+     * @param dataBuffer The single-bank integer {@link DataBuffer} holding
+     *                   at least {@code width * height} pixels
+     * @param width The width (number of columns per row) to use for reading
+     *              the Data Buffer as a two-dimensional value set
+     * @param height The height (number of pixels per column) to hint the 
+     *               packed raster utility for converting to a BufferedImage.
+     * @return a {@link BufferedImage} in ARGB color space as a packed raster
+     */
+    public static BufferedImage createBufferedImage( final DataBuffer dataBuffer,
+                                                     final int width,
+                                                     final int height ) {
         // NOTE: Although referred to as ARGB, the actual order of the masks
         //  when consumed by the Raster utility is { R, G, B, A }.
         final int[] bandMasks = {
                 0xFF0000, 0xFF00, 0xFF, 0xFF000000
         };
 
-        final DataBufferInt buffer = new DataBufferInt( pixels, pixels.length );
-        final WritableRaster raster = Raster.createPackedRaster( buffer,
-                                                                 width,
-                                                                 height,
-                                                                 width,
-                                                                 bandMasks,
-                                                                 null );
+        final WritableRaster raster;
+        if ( dataBuffer instanceof DataBufferInt ) {
+            raster = Raster.createPackedRaster( dataBuffer,
+                                                width,
+                                                height,
+                                                width,
+                                                bandMasks,
+                                                null );
+        }
+        else {
+            // Before Java 16, createPackedRaster rejects any integer Data
+            // Buffer that is not a DataBufferInt, so the Sample Model is
+            // wrapped in a generic Writable Raster instead.
+            final SinglePixelPackedSampleModel sampleModel =
+                    new SinglePixelPackedSampleModel( DataBuffer.TYPE_INT,
+                                                      width,
+                                                      height,
+                                                      bandMasks );
+            raster = new WritableRaster( sampleModel, dataBuffer, new Point() ) {};
+        }
         
         final ColorModel cm = ColorModel.getRGBdefault();
         return new BufferedImage( cm, raster, cm.isAlphaPremultiplied(), null );
     }
 
+    /**
+     * Returns a 1-bit {@link BufferedImage} of Image Type
+     * {@link BufferedImage#TYPE_BYTE_BINARY} that is the Bitmap Color Mode
+     * conversion of the supplied {@link BufferedImage}, suitable for WBMP
+     * export or for 1-bit printing.
+     * <p>
+     * The source image is read one row at a time and each dithered row is
+     * written directly into the packed destination raster, so the working
+     * memory is just one row of pixels and whatever the {@link DitherMode}
+     * needs, and the result is a thirty-second of the size of an ARGB image.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to convert to a Bitmap
+     * @param ditherMode
+     *            The {@link DitherMode} to reduce the pixels with
+     * @return A new 1-bit {@link BufferedImage} with Black and White as its
+     *         only colors, or {@code null} if the source image is
+     *         {@code null}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage convertToBitmap( final BufferedImage bufferedImage,
+                                                 final DitherMode ditherMode ) {
+        if ( bufferedImage == null ) {
+            return null;
+        }
+
+        final int width = bufferedImage.getWidth();
+        final int height = bufferedImage.getHeight();
+        final BufferedImage bitmapImage = new BufferedImage( width,
+                                                             height,
+                                                             BufferedImage.TYPE_BYTE_BINARY );
+
+        // The default Binary Image Type is packed with the most significant bit
+        // first and an Index Color Model of Black and then White, which is
+        // exactly the layout produced by the ditherer.
+        final WritableRaster raster = bitmapImage.getRaster();
+        final byte[] bitmapBytes = ( ( DataBufferByte ) raster.getDataBuffer() ).getData();
+        final int scanlineStride = ( ( MultiPixelPackedSampleModel ) raster.getSampleModel() )
+                .getScanlineStride();
+
+        final BitmapDitherer bitmapDitherer = new BitmapDitherer( ditherMode, width );
+        final int[] rowPixels = new int[ width ];
+        for ( int row = 0; row < height; row++ ) {
+            bufferedImage.getRGB( 0, row, width, 1, rowPixels, 0, width );
+            bitmapDitherer.ditherRow( rowPixels, 0, bitmapBytes, row * scanlineStride );
+        }
+
+        return bitmapImage;
+    }
+
     /**
      * This method takes an existing {@link BufferedImage} and converts it to
-     * the requested Image Format, using the original AWT Imaging API.
+     * the requested Image Format, flattening any transparency against White.
+     * <p>
+     * A converted image is taken from the shared {@link BufferedImagePool},
+     * as for {@link #swapImageType(BufferedImage, String, Color)}, and may be
+     * released to that pool by the caller once done with it.
      *
      * @param bufferedImage
      *            The {@link BufferedImage} whose Image Type should be swapped
@@ -215,15 +682,46 @@ public final class ImageConversionUtilities {
      *            The Image Format to use as the new format for the supplied
      *            {@link BufferedImage}
      * @return A new {@link BufferedImage} corresponding to the original
-     *         {@link BufferedImage} with the Image Type swapped
+     *         {@link BufferedImage} with the Image Type swapped, or the
+     *         original {@link BufferedImage} if no swap is needed
      *
      * @since 1.0
      */
-    @SuppressWarnings("nls")
     public static BufferedImage swapImageType( final BufferedImage bufferedImage,
                                                final String imageFormatName ) {
-        BufferedImage convertedImage = bufferedImage;
-        
+        return swapImageType( bufferedImage, imageFormatName, Color.WHITE );
+    }
+
+    /**
+     * This method takes an existing {@link BufferedImage} and converts it to
+     * the requested Image Format, flattening any transparency against the
+     * supplied background color, as the target Image Types have no alpha.
+     * <p>
+     * The pixels are copied directly, one row at a time, rather than via the
+     * generic {@link java.awt.image.ColorConvertOp}, which is very slow for
+     * conversions from sRGB to sRGB. A converted image is taken from the
+     * shared {@link BufferedImagePool} and is owned by the caller, who should
+     * release it to that pool once done with it, unless it is the original
+     * image returned as-is.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} whose Image Type should be swapped
+     * @param imageFormatName
+     *            The Image Format to use as the new format for the supplied
+     *            {@link BufferedImage}
+     * @param backgroundColor
+     *            The {@link Color} to flatten any transparency against, or
+     *            {@code null} for White
+     * @return A new {@link BufferedImage} corresponding to the original
+     *         {@link BufferedImage} with the Image Type swapped, or the
+     *         original {@link BufferedImage} if no swap is needed
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    public static BufferedImage swapImageType( final BufferedImage bufferedImage,
+                                               final String imageFormatName,
+                                               final Color backgroundColor ) {
         // There is a known bug in Oracle's code, so we do the recommended
         // workaround to replace the incorrect Image Type that their utility
         // method sets for JPEG and BMP (the latter won't output).
@@ -235,36 +733,97 @@ public final class ImageConversionUtilities {
         //
         // The TIFF format conversion is still imperfect, as there seem to be
         // inconsistencies in what is included in the JDK distribution.
-        //
-        // It does not seem to be necessary anymore to ensure that the source
-        // image adheres to the four-byte ABGR Image Type.
-        // final int imageType = bufferedImage.getType();
-        // if ( imageType == BufferedImage.TYPE_4BYTE_ABGR ) {
-        final ColorConvertOp op = new ColorConvertOp( null );
         final String imageFormatNameCaseInsensitive = imageFormatName.toLowerCase( Locale.ENGLISH );
         switch ( imageFormatNameCaseInsensitive ) {
         case "jpg":
+        case "jpeg":
+        case "jpe":
         case "bmp":
             // Make a Component Color Image.
-            convertedImage = new BufferedImage( bufferedImage.getWidth(),
-                                                bufferedImage.getHeight(), 
-                                                BufferedImage.TYPE_3BYTE_BGR );
-            op.filter( bufferedImage, convertedImage );
-            break;
+            return flattenImage( bufferedImage, BufferedImage.TYPE_3BYTE_BGR, backgroundColor );
         case "tiff":
         case "tif":
             // Make a Direct Color Image.
-            convertedImage = new BufferedImage( bufferedImage.getWidth(),
-                                                bufferedImage.getHeight(),
-                                                BufferedImage.TYPE_INT_RGB );
-            op.filter( bufferedImage, convertedImage );
-            break;
+            return flattenImage( bufferedImage, BufferedImage.TYPE_INT_RGB, backgroundColor );
         default:
-            break;
+            return bufferedImage;
         }
-        // }
+    }
 
-        return bufferedImage;
+    /**
+     * Returns an opaque copy of a {@link BufferedImage} in the supplied Image
+     * Type, with any transparency composited over a background color.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to flatten
+     * @param imageType
+     *            The opaque Image Type to convert to, which must be either
+     *            {@link BufferedImage#TYPE_3BYTE_BGR} or
+     *            {@link BufferedImage#TYPE_INT_RGB}
+     * @param backgroundColor
+     *            The {@link Color} to flatten any transparency against, or
+     *            {@code null} for White
+     * @return The flattened {@link BufferedImage}, or the original
+     *         {@link BufferedImage} if it already has the requested Image Type
+     *
+     * @since 1.0
+     */
+    private static BufferedImage flattenImage( final BufferedImage bufferedImage,
+                                               final int imageType,
+                                               final Color backgroundColor ) {
+        if ( bufferedImage.getType() == imageType ) {
+            return bufferedImage;
+        }
+
+        final int width = bufferedImage.getWidth();
+        final int height = bufferedImage.getHeight();
+        final BufferedImage flattenedImage = BufferedImagePool.getSharedPool()
+                .acquire( width, height, imageType );
+        final WritableRaster raster = flattenedImage.getRaster();
+
+        final int backgroundRgb = ( backgroundColor != null )
+            ? backgroundColor.getRGB()
+            : Color.WHITE.getRGB();
+        final int backgroundRed = ColorUtilities.getRed( backgroundRgb );
+        final int backgroundGreen = ColorUtilities.getGreen( backgroundRgb );
+        final int backgroundBlue = ColorUtilities.getBlue( backgroundRgb );
+
+        // The rows are written as Data Elements, which is a straight copy for
+        // both Image Types and leaves the image eligible for acceleration.
+        final boolean packed = imageType == BufferedImage.TYPE_INT_RGB;
+        final int[] rowPixels = new int[ width ];
+        final byte[] rowBytes = packed ? null : new byte[ 3 * width ];
+        for ( int row = 0; row < height; row++ ) {
+            getImagePixels( bufferedImage, 0, row, width, 1, rowPixels, 0, width );
+
+            for ( int column = 0, byteIndex = 0; column < width; column++ ) {
+                final int pixel = rowPixels[ column ];
+                final int alpha = ColorUtilities.getAlpha( pixel );
+                int red = ColorUtilities.getRed( pixel );
+                int green = ColorUtilities.getGreen( pixel );
+                int blue = ColorUtilities.getBlue( pixel );
+                if ( alpha < 255 ) {
+                    final int backgroundAlpha = 255 - alpha;
+                    red = ( ( red * alpha ) + ( backgroundRed * backgroundAlpha ) + 127 ) / 255;
+                    green = ( ( green * alpha ) + ( backgroundGreen * backgroundAlpha ) + 127 ) / 255;
+                    blue = ( ( blue * alpha ) + ( backgroundBlue * backgroundAlpha ) + 127 ) / 255;
+                }
+
+                if ( packed ) {
+                    rowPixels[ column ] = ( red << 16 ) | ( green << 8 ) | blue;
+                }
+                else {
+                    // Component Data Elements are in band order, which is RGB.
+                    rowBytes[ byteIndex++ ] = ( byte ) red;
+                    rowBytes[ byteIndex++ ] = ( byte ) green;
+                    rowBytes[ byteIndex++ ] = ( byte ) blue;
+                }
+            }
+
+            raster.setDataElements( 0, row, width, 1, packed ? rowPixels : rowBytes );
+        }
+
+        return flattenedImage;
     }
 
     /**
@@ -272,7 +831,11 @@ public final class ImageConversionUtilities {
      * renders it to a JPEG image which is written to the provided {@link File}.
      * <p>
      * The Buffered Image is returned to the client for purposes of querying the
-     * actual pixel dimensions after adjusting for Aspect Ratio.
+     * actual pixel dimensions after adjusting for Aspect Ratio. It is taken
+     * from the shared {@link BufferedImagePool} and is owned by the client,
+     * who should hand it back via {@link BufferedImagePool#release} once done
+     * with it so that its raster is reused; otherwise it is simply garbage
+     * collected.
      *
      * @param component
      *            The {@link Component} to render to a JPEG file
@@ -321,7 +884,16 @@ public final class ImageConversionUtilities {
      * {@link OutputStream} using the provided Image Format.
      * <p>
      * The Buffered Image is returned to the client for purposes of querying the
-     * actual pixel dimensions after adjusting for Aspect Ratio.
+     * actual pixel dimensions after adjusting for Aspect Ratio. It is taken
+     * from the shared {@link BufferedImagePool} and is owned by the client,
+     * who should hand it back via {@link BufferedImagePool#release} once done
+     * with it so that its raster is reused; otherwise it is simply garbage
+     * collected.
+     * <p>
+     * This delegates to
+     * {@link #renderComponent(Component, OutputStream, double, double, boolean, String, float, ComponentScaleMode, DownscaleQuality, DitherMode)},
+     * using the default {@link ComponentScaleMode}, bilinear resampling and
+     * the {@link #DEFAULT_BITMAP_DITHER_MODE}.
      *
      * @param component
      *            The {@link Component} to render to an output stream
@@ -344,7 +916,6 @@ public final class ImageConversionUtilities {
      *
      * @since 1.0
      */
-    @SuppressWarnings("nls")
     public static BufferedImage renderComponent( final Component component,
                                                  final OutputStream outputStream,
                                                  final double pixelWidth,
@@ -352,62 +923,718 @@ public final class ImageConversionUtilities {
                                                  final boolean autoSizeImage,
                                                  final String imageFormatName,
                                                  final float compressionQuality ) {
-        // Avoid throwing unnecessary exceptions by filtering for bad output
-        // streams and null component contexts.
-        if ( ( component == null ) || ( outputStream == null ) ) {
-            return null;
-        }
-
-        // Create a Buffered Image based on rasterization of the component.
-        final String imageFormatNameCaseInsensitive = imageFormatName.toLowerCase( Locale.ENGLISH );
-        int imageType = BufferedImage.TYPE_INT_RGB;
-        switch ( imageFormatNameCaseInsensitive ) {
-        case "wbm":
-        case "wbmp":
-            imageType = BufferedImage.TYPE_BYTE_BINARY;
-            break;
-        default:
-            break;
-        }
-        final BufferedImage bufferedImage = renderComponent( component,
-                                                             pixelWidth,
-                                                             pixelHeight,
-                                                             autoSizeImage,
-                                                             imageType );
-        if ( bufferedImage == null ) {
-            return null;
-        }
-
-        // Switch on whether we need to customize for compression quality.
-        //
-        // It is uncertain whether Java supports 100% compression, or just the
-        // listed 5%, 75% and 95% levels; may need to switch to default writer?
-        boolean handleCompressionQuality = false;
-        switch ( imageFormatNameCaseInsensitive ) {
-        case "jpg":
-        case "jpeg":
-        case "jpe":
-            handleCompressionQuality = true;
-            break;
-        default:
-            if ( compressionQuality < 1.0f ) {
-                handleCompressionQuality = true;
-            }
-            break;
-        }
+        return renderComponent( component,
+                                outputStream,
+                                pixelWidth,
+                                pixelHeight,
+                                autoSizeImage,
+                                imageFormatName,
+                                compressionQuality,
+                                ComponentScaleMode.defaultValue() );
+    }
 
-        try {
-            if ( handleCompressionQuality ) {
-                // Make sure there is an Image Writer installed for the selected
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it to an image which is written to the provided
+     * {@link OutputStream} using the provided Image Format.
+     * <p>
+     * The Buffered Image is returned to the client for purposes of querying the
+     * actual pixel dimensions after adjusting for Aspect Ratio. It is taken
+     * from the shared {@link BufferedImagePool} and is owned by the client,
+     * who should hand it back via {@link BufferedImagePool#release} once done
+     * with it so that its raster is reused; otherwise it is simply garbage
+     * collected.
+     * <p>
+     * This delegates to
+     * {@link #renderComponent(Component, OutputStream, double, double, boolean, String, float, ComponentScaleMode, DownscaleQuality, DitherMode)},
+     * using bilinear resampling and the {@link #DEFAULT_BITMAP_DITHER_MODE}.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @return The JPEG {@link Image} that was written to the supplied
+     *         {@link OutputStream}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage renderComponent( final Component component,
+                                                 final OutputStream outputStream,
+                                                 final double pixelWidth,
+                                                 final double pixelHeight,
+                                                 final boolean autoSizeImage,
+                                                 final String imageFormatName,
+                                                 final float compressionQuality,
+                                                 final ComponentScaleMode componentScaleMode ) {
+        return renderComponent( component,
+                                outputStream,
+                                pixelWidth,
+                                pixelHeight,
+                                autoSizeImage,
+                                imageFormatName,
+                                compressionQuality,
+                                componentScaleMode,
+                                null );
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it to an image which is written to the provided
+     * {@link OutputStream} using the provided Image Format.
+     * <p>
+     * The Buffered Image is returned to the client for purposes of querying the
+     * actual pixel dimensions after adjusting for Aspect Ratio. It is taken
+     * from the shared {@link BufferedImagePool} and is owned by the client,
+     * who should hand it back via {@link BufferedImagePool#release} once done
+     * with it so that its raster is reused; otherwise it is simply garbage
+     * collected.
+     * <p>
+     * This delegates to
+     * {@link #renderComponent(Component, OutputStream, double, double, boolean, String, float, ComponentScaleMode, DownscaleQuality, DitherMode)},
+     * using the {@link #DEFAULT_BITMAP_DITHER_MODE}.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} of the filter that
+     *            {@link ComponentScaleMode#RESAMPLE} rescales integer RGB images
+     *            with, or {@code null} for bilinear interpolation
+     * @return The JPEG {@link Image} that was written to the supplied
+     *         {@link OutputStream}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage renderComponent( final Component component,
+                                                 final OutputStream outputStream,
+                                                 final double pixelWidth,
+                                                 final double pixelHeight,
+                                                 final boolean autoSizeImage,
+                                                 final String imageFormatName,
+                                                 final float compressionQuality,
+                                                 final ComponentScaleMode componentScaleMode,
+                                                 final DownscaleQuality downscaleQuality ) {
+        return renderComponent( component,
+                                outputStream,
+                                pixelWidth,
+                                pixelHeight,
+                                autoSizeImage,
+                                imageFormatName,
+                                compressionQuality,
+                                componentScaleMode,
+                                downscaleQuality,
+                                null );
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it to an image which is written to the provided
+     * {@link OutputStream} using the provided Image Format.
+     * <p>
+     * The Buffered Image is returned to the client for purposes of querying the
+     * actual pixel dimensions after adjusting for Aspect Ratio. It is taken
+     * from the shared {@link BufferedImagePool} and is owned by the client,
+     * who should hand it back via {@link BufferedImagePool#release} once done
+     * with it so that its raster is reused; otherwise it is simply garbage
+     * collected.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} of the filter that
+     *            {@link ComponentScaleMode#RESAMPLE} rescales integer RGB images
+     *            with, or {@code null} for bilinear interpolation
+     * @param ditherMode
+     *            The {@link DitherMode} to reduce the rendered image to 1-bit
+     *            with for WBMP, or {@code null} for
+     *            {@link #DEFAULT_BITMAP_DITHER_MODE}
+     * @return The JPEG {@link Image} that was written to the supplied
+     *         {@link OutputStream}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage renderComponent( final Component component,
+                                                 final OutputStream outputStream,
+                                                 final double pixelWidth,
+                                                 final double pixelHeight,
+                                                 final boolean autoSizeImage,
+                                                 final String imageFormatName,
+                                                 final float compressionQuality,
+                                                 final ComponentScaleMode componentScaleMode,
+                                                 final DownscaleQuality downscaleQuality,
+                                                 final DitherMode ditherMode ) {
+        // Avoid throwing unnecessary exceptions by filtering for bad output
+        // streams and null component contexts.
+        if ( ( component == null ) || ( outputStream == null ) ) {
+            return null;
+        }
+
+        // Create a Buffered Image based on rasterization of the component,
+        // in full color even for WBMP, which is only dithered as it is written.
+        final BufferedImage bufferedImage = renderComponent( component,
+                                                             pixelWidth,
+                                                             pixelHeight,
+                                                             autoSizeImage,
+                                                             BufferedImage.TYPE_INT_RGB,
+                                                             componentScaleMode,
+                                                             downscaleQuality );
+        if ( bufferedImage == null ) {
+            return null;
+        }
+
+        // Write the image, handing it back only if it was written in full,
+        // and otherwise returning it to the pool that it was taken from.
+        boolean succeeded = false;
+        try {
+            succeeded = writeImage( bufferedImage,
+                                    outputStream,
+                                    imageFormatName,
+                                    compressionQuality,
+                                    ditherMode );
+        }
+        finally {
+            if ( !succeeded ) {
+                BufferedImagePool.getSharedPool().release( bufferedImage );
+            }
+        }
+
+        return succeeded ? bufferedImage : null;
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it to a PNG image which is written to the provided
+     * {@link OutputStream} by the provided {@link ParallelPngWriter}, so that
+     * large exports are compressed on several cores at the compression level
+     * and with the filter strategy that the writer was made with.
+     * <p>
+     * The Buffered Image is returned to the client for purposes of querying the
+     * actual pixel dimensions after adjusting for Aspect Ratio. It is taken
+     * from the shared {@link BufferedImagePool} and is owned by the client,
+     * who should hand it back via {@link BufferedImagePool#release} once done
+     * with it so that its raster is reused; otherwise it is simply garbage
+     * collected.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the PNG image
+     * @param pixelWidth
+     *            The preferred width in pixels for the PNG image
+     * @param pixelHeight
+     *            The preferred height in pixels for the PNG image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param pngWriter
+     *            The {@link ParallelPngWriter} to write the PNG image with
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @return The {@link BufferedImage} that was written to the supplied
+     *         {@link OutputStream}, or {@code null} if it could not be written
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    public static BufferedImage renderComponentToPng( final Component component,
+                                                      final OutputStream outputStream,
+                                                      final double pixelWidth,
+                                                      final double pixelHeight,
+                                                      final boolean autoSizeImage,
+                                                      final ParallelPngWriter pngWriter,
+                                                      final ComponentScaleMode componentScaleMode ) {
+        // Avoid throwing unnecessary exceptions by filtering for bad output
+        // streams and null component contexts.
+        if ( ( component == null ) || ( outputStream == null ) || ( pngWriter == null ) ) {
+            return null;
+        }
+
+        final BufferedImage bufferedImage = renderComponent( component,
+                                                             pixelWidth,
+                                                             pixelHeight,
+                                                             autoSizeImage,
+                                                             BufferedImage.TYPE_INT_RGB,
+                                                             componentScaleMode );
+        if ( bufferedImage == null ) {
+            return null;
+        }
+
+        try {
+            pngWriter.write( bufferedImage, outputStream );
+
+            return bufferedImage;
+        }
+        catch ( final IOException | IllegalArgumentException | IllegalStateException
+                | UnsupportedOperationException e ) {
+            e.printStackTrace();
+            BufferedImagePool.getSharedPool().release( bufferedImage );
+            return null;
+        }
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it in horizontal bands of {@link #DEFAULT_BAND_HEIGHT} rows to
+     * an image which is written to the provided {@link OutputStream} using the
+     * provided Image Format.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @return A {@link RenderedImage} view of the image that was written to
+     *         the supplied {@link OutputStream}, for querying its pixel
+     *         dimensions, or {@code null} if it could not be written
+     *
+     * @since 1.0
+     */
+    public static RenderedImage renderComponentInBands( final Component component,
+                                                        final OutputStream outputStream,
+                                                        final double pixelWidth,
+                                                        final double pixelHeight,
+                                                        final boolean autoSizeImage,
+                                                        final String imageFormatName,
+                                                        final float compressionQuality ) {
+        return renderComponentInBands( component,
+                                       outputStream,
+                                       pixelWidth,
+                                       pixelHeight,
+                                       autoSizeImage,
+                                       imageFormatName,
+                                       compressionQuality,
+                                       DEFAULT_BAND_HEIGHT );
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it in horizontal bands to an image which is written to the
+     * provided {@link OutputStream} using the provided Image Format.
+     * <p>
+     * Unlike {@link #renderComponent}, the whole image is never materialized
+     * for Image Formats whose Image Writers pull their source a few rows at a
+     * time, such as PNG and TIFF; each band is painted directly at the target
+     * size when the writer asks for it, and only the last couple of bands are
+     * kept. This bounds the memory needed for poster-sized exports to a few
+     * bands, at the cost of painting the component once per band. Other Image
+     * Formats, such as JPEG, are still written correctly, but without the
+     * memory savings.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @param bandHeight
+     *            The number of rows to paint at a time
+     * @return A {@link RenderedImage} view of the image that was written to
+     *         the supplied {@link OutputStream}, for querying its pixel
+     *         dimensions, or {@code null} if it could not be written
+     *
+     * @since 1.0
+     */
+    public static RenderedImage renderComponentInBands( final Component component,
+                                                        final OutputStream outputStream,
+                                                        final double pixelWidth,
+                                                        final double pixelHeight,
+                                                        final boolean autoSizeImage,
+                                                        final String imageFormatName,
+                                                        final float compressionQuality,
+                                                        final int bandHeight ) {
+        // Avoid throwing unnecessary exceptions by filtering for bad output
+        // streams and null component contexts.
+        if ( ( component == null ) || ( outputStream == null ) ) {
+            return null;
+        }
+
+        final Dimension renderSize = getRenderSize( component,
+                                                    pixelWidth,
+                                                    pixelHeight,
+                                                    autoSizeImage );
+        if ( ( renderSize.width <= 0 ) || ( renderSize.height <= 0 ) ) {
+            return null;
+        }
+
+        // Bands are painted independently, so error diffusion cannot carry
+        // across them, and WBMP bands are painted straight to 1-bit instead.
+        final int imageType = isBitmapImageFormat( imageFormatName )
+            ? BufferedImage.TYPE_BYTE_BINARY
+            : BufferedImage.TYPE_INT_RGB;
+        final BandedComponentImage bandedImage = new BandedComponentImage( component,
+                                                                           renderSize.width,
+                                                                           renderSize.height,
+                                                                           bandHeight,
+                                                                           imageType );
+
+        // Make sure there is an Image Writer installed for the selected Image
+        // Format.
+        final ImageWriterPool imageWriterPool = ImageWriterPool.getSharedPool();
+        final ImageWriter imageWriter = imageWriterPool.acquire( imageFormatName );
+        if ( imageWriter == null ) {
+            return null;
+        }
+
+        // Make an Image Output Stream for more efficient output.
+        try ( final ImageOutputStream imageOutputStream = ImageIO
+                .createImageOutputStream( outputStream ) ) {
+            imageWriter.setOutput( imageOutputStream );
+
+            final ImageWriteParam imageWriteParam = makeImageWriteParam( imageWriter,
+                                                                         imageFormatName,
+                                                                         compressionQuality );
+
+            // The Image Writer pulls the bands from the image as it goes.
+            imageWriter.write( null, new IIOImage( bandedImage, null, null ), imageWriteParam );
+            imageOutputStream.flush();
+            outputStream.flush();
+        }
+        catch ( final NullPointerException | IllegalArgumentException | IllegalStateException
+                | UnsupportedOperationException | IOException e ) {
+            e.printStackTrace();
+            return null;
+        }
+        finally {
+            // Give the Image Writer back for reuse by later exports.
+            imageWriterPool.release( imageWriter );
+        }
+
+        return bandedImage;
+    }
+
+    /**
+     * Returns {@code true} if the supplied Image Format only holds 1-bit
+     * images, which is the case for WBMP.
+     *
+     * @param imageFormatName
+     *            The Image Format Name that the image will be written as
+     * @return {@code true} for WBMP; {@code false} for all other Image Formats
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    static boolean isBitmapImageFormat( final String imageFormatName ) {
+        final String imageFormatNameCaseInsensitive = imageFormatName.toLowerCase( Locale.ENGLISH );
+        switch ( imageFormatNameCaseInsensitive ) {
+        case "wbm":
+        case "wbmp":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns a version of a rendered image that the {@link ImageWriter} for
+     * the supplied Image Format can write, converting its Image Type only if
+     * the Image Format requires it.
+     *
+     * @param bufferedImage
+     *            The rendered {@link BufferedImage} to convert
+     * @param imageFormatName
+     *            The Image Format Name that the image will be written as
+     * @param ditherMode
+     *            The {@link DitherMode} to reduce the image to 1-bit with for
+     *            WBMP, or {@code null} for {@link #DEFAULT_BITMAP_DITHER_MODE}
+     * @return A 1-bit dithered copy for WBMP, the result of
+     *         {@link #swapImageType(BufferedImage, String)} otherwise
+     *
+     * @since 1.0
+     */
+    static BufferedImage convertImageForFormat( final BufferedImage bufferedImage,
+                                                final String imageFormatName,
+                                                final DitherMode ditherMode ) {
+        if ( isBitmapImageFormat( imageFormatName )
+                && ( bufferedImage.getType() != BufferedImage.TYPE_BYTE_BINARY ) ) {
+            return convertToBitmap( bufferedImage,
+                                    ( ditherMode != null ) ? ditherMode : DEFAULT_BITMAP_DITHER_MODE );
+        }
+
+        return swapImageType( bufferedImage, imageFormatName );
+    }
+
+    /**
+     * Returns {@code true} if the supplied Image Type is one that
+     * {@link ImageScaler} can write to directly.
+     *
+     * @param imageType
+     *            The Image Type to check
+     * @return {@code true} if the Image Type is a packed integer RGB or ARGB
+     *         type
+     *
+     * @since 1.0
+     */
+    private static boolean isPackedIntImageType( final int imageType ) {
+        return ( imageType == BufferedImage.TYPE_INT_RGB )
+                || ( imageType == BufferedImage.TYPE_INT_ARGB );
+    }
+
+    /**
+     * Returns a copy of an image that is resampled to the supplied pixel
+     * dimensions via bilinear interpolation, or the image itself if it
+     * already has those dimensions.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to resample
+     * @param pixelWidth
+     *            The width in pixels of the resampled image
+     * @param pixelHeight
+     *            The height in pixels of the resampled image
+     * @return A resampled copy of the {@link BufferedImage}, taken from the
+     *         shared {@link BufferedImagePool}, or the original
+     *
+     * @since 1.0
+     */
+    static BufferedImage resampleImage( final BufferedImage bufferedImage,
+                                        final int pixelWidth,
+                                        final int pixelHeight ) {
+        return resampleImage( bufferedImage, pixelWidth, pixelHeight, null );
+    }
+
+    /**
+     * Returns a copy of an image that is resampled to the supplied pixel
+     * dimensions, or the image itself if it already has those dimensions.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to resample
+     * @param pixelWidth
+     *            The width in pixels of the resampled image
+     * @param pixelHeight
+     *            The height in pixels of the resampled image
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} of the filter to resample
+     *            integer RGB images with, or {@code null} for bilinear
+     *            interpolation, which is also used for all other Image Types
+     * @return A resampled copy of the {@link BufferedImage}, taken from the
+     *         shared {@link BufferedImagePool}, or the original
+     *
+     * @since 1.0
+     */
+    static BufferedImage resampleImage( final BufferedImage bufferedImage,
+                                        final int pixelWidth,
+                                        final int pixelHeight,
+                                        final DownscaleQuality downscaleQuality ) {
+        if ( ( pixelWidth == bufferedImage.getWidth() )
+                && ( pixelHeight == bufferedImage.getHeight() ) ) {
+            return bufferedImage;
+        }
+
+        final int imageType = ( bufferedImage.getType() != BufferedImage.TYPE_CUSTOM )
+            ? bufferedImage.getType()
+            : BufferedImage.TYPE_INT_ARGB;
+        final BufferedImage resampledImage = BufferedImagePool.getSharedPool()
+                .acquire( pixelWidth, pixelHeight, imageType );
+
+        if ( ( downscaleQuality != null ) && isPackedIntImageType( imageType ) ) {
+            ImageScaler.scaleImage( bufferedImage,
+                                    resampledImage,
+                                    downscaleQuality,
+                                    ForkJoinPool.commonPool() );
+            return resampledImage;
+        }
+
+        final Graphics2D g2 = resampledImage.createGraphics();
+        g2.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                             RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+        g2.setRenderingHint( RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY );
+        g2.drawImage( bufferedImage, 0, 0, pixelWidth, pixelHeight, null );
+        g2.dispose();
+
+        return resampledImage;
+    }
+
+    /**
+     * Writes a rendered image to the provided {@link OutputStream} using the
+     * provided Image Format, applying the Compression Quality where needed and
+     * reducing the image to 1-bit with {@link #DEFAULT_BITMAP_DITHER_MODE} for
+     * WBMP.
+     *
+     * @param bufferedImage
+     *            The rendered {@link BufferedImage} to write
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the image
+     * @param imageFormatName
+     *            The Image Format Name to use for the written image
+     * @param compressionQuality
+     *            The Compression Quality to use for the written image; not
+     *            relevant to all Image Formats
+     * @return {@code true} if the image was written; {@code false} if there
+     *         was no suitable Image Writer or writing failed
+     *
+     * @since 1.0
+     */
+    static boolean writeImage( final BufferedImage bufferedImage,
+                               final OutputStream outputStream,
+                               final String imageFormatName,
+                               final float compressionQuality ) {
+        return writeImage( bufferedImage, outputStream, imageFormatName, compressionQuality, null );
+    }
+
+    /**
+     * Writes a rendered image to the provided {@link OutputStream} using the
+     * provided Image Format, applying the Compression Quality where needed and
+     * reducing the image to 1-bit with the supplied {@link DitherMode} for
+     * WBMP.
+     *
+     * @param bufferedImage
+     *            The rendered {@link BufferedImage} to write
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the image
+     * @param imageFormatName
+     *            The Image Format Name to use for the written image
+     * @param compressionQuality
+     *            The Compression Quality to use for the written image; not
+     *            relevant to all Image Formats
+     * @param ditherMode
+     *            The {@link DitherMode} to reduce the image to 1-bit with for
+     *            WBMP, or {@code null} for {@link #DEFAULT_BITMAP_DITHER_MODE}
+     * @return {@code true} if the image was written; {@code false} if there
+     *         was no suitable Image Writer or writing failed
+     *
+     * @since 1.0
+     */
+    static boolean writeImage( final BufferedImage bufferedImage,
+                               final OutputStream outputStream,
+                               final String imageFormatName,
+                               final float compressionQuality,
+                               final DitherMode ditherMode ) {
+        // Only WBMP needs converting here, as the rendered images are already
+        // of a type that the other Image Writers accept.
+        final BufferedImage writableImage = isBitmapImageFormat( imageFormatName )
+            ? convertImageForFormat( bufferedImage, imageFormatName, ditherMode )
+            : bufferedImage;
+        try {
+            return encodeImage( writableImage, outputStream, imageFormatName, compressionQuality );
+        }
+        finally {
+            if ( writableImage != bufferedImage ) {
+                BufferedImagePool.getSharedPool().release( writableImage );
+            }
+        }
+    }
+
+    /**
+     * Encodes an image that is already of a suitable Image Type to the
+     * provided {@link OutputStream} using the provided Image Format, applying
+     * the Compression Quality where needed.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to encode
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the image
+     * @param imageFormatName
+     *            The Image Format Name to use for the written image
+     * @param compressionQuality
+     *            The Compression Quality to use for the written image; not
+     *            relevant to all Image Formats
+     * @return {@code true} if the image was written; {@code false} if there
+     *         was no suitable Image Writer or writing failed
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    private static boolean encodeImage( final BufferedImage bufferedImage,
+                                        final OutputStream outputStream,
+                                        final String imageFormatName,
+                                        final float compressionQuality ) {
+        final String imageFormatNameCaseInsensitive = imageFormatName.toLowerCase( Locale.ENGLISH );
+
+        // Switch on whether we need to customize for compression quality.
+        //
+        // It is uncertain whether Java supports 100% compression, or just the
+        // listed 5%, 75% and 95% levels; may need to switch to default writer?
+        boolean handleCompressionQuality = false;
+        switch ( imageFormatNameCaseInsensitive ) {
+        case "jpg":
+        case "jpeg":
+        case "jpe":
+            handleCompressionQuality = true;
+            break;
+        default:
+            if ( compressionQuality < 1.0f ) {
+                handleCompressionQuality = true;
+            }
+            break;
+        }
+
+        try {
+            if ( handleCompressionQuality ) {
+                // Make sure there is an Image Writer installed for the selected
                 // Image Format.
-                ImageWriter imageWriter = null;
-                final Iterator< ImageWriter > iter = ImageIO
-                        .getImageWritersByFormatName( imageFormatName );
-                if ( iter.hasNext() ) {
-                    imageWriter = iter.next();
-                }
+                final ImageWriterPool imageWriterPool = ImageWriterPool.getSharedPool();
+                final ImageWriter imageWriter = imageWriterPool.acquire( imageFormatName );
                 if ( imageWriter == null ) {
-                    return null;
+                    return false;
                 }
 
                 // Make an Image Output Stream for more efficient output.
@@ -420,24 +1647,9 @@ public final class ImageConversionUtilities {
                     imageWriter.setOutput( imageOutputStream );
 
                     // Set the compression quality.
-                    //
-                    // We use explicit compression ratios vs. string-matching
-                    // compression quality to "good", "fine", etc., so we have
-                    // no need for Locale and can set it to null via defaults.
-                    final ImageWriteParam imageWriteParam = imageWriter.getDefaultWriteParam();
-                    switch ( imageFormatNameCaseInsensitive ) {
-                    case "jpg":
-                    case "jpeg":
-                    case "jpe":
-                        imageWriteParam.setCompressionMode( ImageWriteParam.MODE_EXPLICIT );
-                        imageWriteParam.setCompressionQuality( compressionQuality );
-                        break;
-                    case "png":
-                        imageWriteParam.setProgressiveMode( ImageWriteParam.MODE_DEFAULT );
-                        break;
-                    default:
-                        break;
-                    }
+                    final ImageWriteParam imageWriteParam = makeImageWriteParam( imageWriter,
+                                                                                 imageFormatName,
+                                                                                 compressionQuality );
 
                     // Construct an Image I/O API custom Image object, sans
                     // thumbnail image, and sans image metadata.
@@ -449,10 +1661,14 @@ public final class ImageConversionUtilities {
                 }
                 catch ( NullPointerException | IOException e ) {
                     e.printStackTrace();
-                    return null;
+                    return false;
+                }
+                finally {
+                    // Give the Image Writer back for reuse by later exports.
+                    imageWriterPool.release( imageWriter );
                 }
 
-                return bufferedImage;
+                return true;
             }
 
             // As long as no compression or other customization is needed, it is
@@ -462,21 +1678,65 @@ public final class ImageConversionUtilities {
             // Cleanup.
             outputStream.flush();
 
-            return succeeded ? bufferedImage : null;
+            return succeeded;
         }
         catch ( final IOException | IllegalArgumentException | IllegalStateException
                 | UnsupportedOperationException | NoSuchElementException e ) {
             e.printStackTrace();
-            return null;
+            return false;
         }
     }
 
     /**
-     * This method take a provided AWT (or Swing) {@link Component} and
-     * renders it to a {@link BufferedImage}.
+     * Returns the {@link ImageWriteParam} to use with the supplied
+     * {@link ImageWriter}, with the compression quality applied where the
+     * Image Format supports it.
+     *
+     * @param imageWriter
+     *            The {@link ImageWriter} that will write the image
+     * @param imageFormatName
+     *            The Image Format Name that the image will be written as
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @return The {@link ImageWriteParam} to pass to the {@link ImageWriter}
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    static ImageWriteParam makeImageWriteParam( final ImageWriter imageWriter,
+                                                final String imageFormatName,
+                                                final float compressionQuality ) {
+        // We use explicit compression ratios vs. string-matching compression
+        // quality to "good", "fine", etc., so we have no need for Locale and
+        // can set it to null via defaults.
+        final ImageWriteParam imageWriteParam = imageWriter.getDefaultWriteParam();
+        final String imageFormatNameCaseInsensitive = imageFormatName.toLowerCase( Locale.ENGLISH );
+        switch ( imageFormatNameCaseInsensitive ) {
+        case "jpg":
+        case "jpeg":
+        case "jpe":
+            imageWriteParam.setCompressionMode( ImageWriteParam.MODE_EXPLICIT );
+            imageWriteParam.setCompressionQuality( compressionQuality );
+            break;
+        case "png":
+            imageWriteParam.setProgressiveMode( ImageWriteParam.MODE_DEFAULT );
+            break;
+        default:
+            break;
+        }
+
+        return imageWriteParam;
+    }
+
+    /**
+     * Returns the pixel dimensions that a {@link Component} is rendered to,
+     * which are either those of the component itself when auto-sizing, or the
+     * larger of the preferred pixel dimensions matched to the Aspect Ratio of
+     * the component.
      *
      * @param component
-     *            The {@link Component} to render to an output stream
+     *            The {@link Component} to render
      * @param pixelWidth
      *            The preferred width in pixels for the produced image
      * @param pixelHeight
@@ -484,18 +1744,14 @@ public final class ImageConversionUtilities {
      * @param autoSizeImage
      *            {@code true} if the image should be auto-sized; {@code false}
      *            if the real Aspect Ratio should be retained
-     * @param imageType
-     *            The Image Type to use for the produced image
-     * @return The JPEG {@link Image} that was written to the supplied
-     *         {@link OutputStream}
+     * @return The pixel dimensions to render the {@link Component} to
      *
      * @since 1.0
      */
-    private static BufferedImage renderComponent( final Component component,
-                                                  final double pixelWidth,
-                                                  final double pixelHeight,
-                                                  final boolean autoSizeImage,
-                                                  final int imageType ) {
+    static Dimension getRenderSize( final Component component,
+                                    final double pixelWidth,
+                                    final double pixelHeight,
+                                    final boolean autoSizeImage ) {
         final int componentWidth = component.getWidth();
         final int componentHeight = component.getHeight();
 
@@ -533,8 +1789,125 @@ public final class ImageConversionUtilities {
             }
         }
 
-        // Set up the basic Buffered Image metrics for the Component.
-        final BufferedImage bufferedImage = new BufferedImage( componentWidth,
+        return new Dimension( ( int ) FastMath.round( imageWidth ),
+                              ( int ) FastMath.round( imageHeight ) );
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it to a {@link BufferedImage}.
+     * <p>
+     * This delegates to
+     * {@link #renderComponent(Component, double, double, boolean, int, ComponentScaleMode, DownscaleQuality)},
+     * using bilinear resampling.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageType
+     *            The Image Type to use for the produced image
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @return The rendered {@link BufferedImage}, taken from the shared
+     *         {@link BufferedImagePool}
+     *
+     * @since 1.0
+     */
+    static BufferedImage renderComponent( final Component component,
+                                          final double pixelWidth,
+                                          final double pixelHeight,
+                                          final boolean autoSizeImage,
+                                          final int imageType,
+                                          final ComponentScaleMode componentScaleMode ) {
+        return renderComponent( component,
+                                pixelWidth,
+                                pixelHeight,
+                                autoSizeImage,
+                                imageType,
+                                componentScaleMode,
+                                null );
+    }
+
+    /**
+     * This method take a provided AWT (or Swing) {@link Component} and
+     * renders it to a {@link BufferedImage}.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageType
+     *            The Image Type to use for the produced image
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} of the filter that
+     *            {@link ComponentScaleMode#RESAMPLE} rescales integer RGB images
+     *            with, or {@code null} for bilinear interpolation
+     * @return The rendered {@link BufferedImage}, taken from the shared
+     *         {@link BufferedImagePool}
+     *
+     * @since 1.0
+     */
+    static BufferedImage renderComponent( final Component component,
+                                          final double pixelWidth,
+                                          final double pixelHeight,
+                                          final boolean autoSizeImage,
+                                          final int imageType,
+                                          final ComponentScaleMode componentScaleMode,
+                                          final DownscaleQuality downscaleQuality ) {
+        final int componentWidth = component.getWidth();
+        final int componentHeight = component.getHeight();
+
+        final Dimension renderSize = getRenderSize( component,
+                                                    pixelWidth,
+                                                    pixelHeight,
+                                                    autoSizeImage );
+        final BufferedImagePool imagePool = BufferedImagePool.getSharedPool();
+        final int targetWidth = renderSize.width;
+        final int targetHeight = renderSize.height;
+
+        // If rendering at the target size, or if no scaling is needed anyway,
+        // paint the Component directly into the final image, which avoids a
+        // second full-size image and a full pass of resampling.
+        if ( ComponentScaleMode.RENDER_AT_TARGET_SIZE.equals( componentScaleMode )
+                || ( ( targetWidth == componentWidth ) && ( targetHeight == componentHeight ) ) ) {
+            final BufferedImage targetImage = imagePool.acquire( targetWidth,
+                                                                 targetHeight,
+                                                                 imageType );
+            final Graphics2D g2 = targetImage.createGraphics();
+
+            // Scale exactly to the rounded pixel dimensions, and ask for
+            // smooth scaling of any bitmaps that the Component draws.
+            g2.setRenderingHint( RenderingHints.KEY_RENDERING,
+                                 RenderingHints.VALUE_RENDER_QUALITY );
+            g2.setRenderingHint( RenderingHints.KEY_INTERPOLATION,
+                                 RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+            g2.scale( targetWidth / ( double ) componentWidth,
+                      targetHeight / ( double ) componentHeight );
+
+            component.paint( g2 );
+            g2.dispose();
+
+            return targetImage;
+        }
+
+        // Set up the basic Buffered Image metrics for the Component, reusing
+        // a pooled image as this one is only needed until it is scaled.
+        final BufferedImage bufferedImage = imagePool.acquire( componentWidth,
                                                                componentHeight,
                                                                imageType );
 
@@ -548,18 +1921,29 @@ public final class ImageConversionUtilities {
         g2.dispose();
 
         // Set up the scaled Buffered Image metrics for the Component.
-        BufferedImage scaledImage = new BufferedImage( ( int ) FastMath.round( imageWidth ),
-                                                       ( int ) FastMath.round( imageHeight ),
-                                                       imageType );
+        BufferedImage scaledImage = imagePool.acquire( targetWidth, targetHeight, imageType );
 
         // Scale the image using bilinear interpolation, so that text labels are
-        // legible and raster transitions are more precise.
-        final double sx = imageWidth / componentWidth;
-        final double sy = imageHeight / componentHeight;
-        final AffineTransform imageScale = AffineTransform.getScaleInstance( sx, sy );
-        final AffineTransformOp op = new AffineTransformOp( imageScale,
-                                                            AffineTransformOp.TYPE_BILINEAR );
-        scaledImage = op.filter( bufferedImage, scaledImage );
+        // legible and raster transitions are more precise, unless a filter
+        // was requested that keeps them legible at large reduction ratios.
+        if ( ( downscaleQuality != null ) && isPackedIntImageType( imageType ) ) {
+            ImageScaler.scaleImage( bufferedImage,
+                                    scaledImage,
+                                    downscaleQuality,
+                                    ForkJoinPool.commonPool() );
+        }
+        else {
+            final double sx = targetWidth / ( double ) componentWidth;
+            final double sy = targetHeight / ( double ) componentHeight;
+            final AffineTransform imageScale = AffineTransform.getScaleInstance( sx, sy );
+            final AffineTransformOp op =
+                                       new AffineTransformOp( imageScale,
+                                                              AffineTransformOp.TYPE_BILINEAR );
+            scaledImage = op.filter( bufferedImage, scaledImage );
+        }
+
+        // Give the full-size image back to the pool for the next render.
+        imagePool.release( bufferedImage );
 
         // Return the scaled image.
         return scaledImage;
@@ -0,0 +1,698 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleConsumer;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.event.IIOWriteProgressListener;
+import javax.imageio.stream.ImageOutputStream;
+import javax.swing.SwingUtilities;
+
+/**
+ * {@code ImageExportService} renders AWT (or Swing) components to images and
+ * encodes them asynchronously, so that multi-second exports of large images
+ * do not block the Event Dispatch Thread.
+ * <p>
+ * Each export snapshots the component on the Event Dispatch Thread, as Swing
+ * requires, and then encodes the snapshot on a background executor, which by
+ * default uses virtual threads when the runtime supports them. The result is
+ * a {@link CompletableFuture} that completes with the rendered image once it
+ * has been written, reports progress from the {@link ImageWriter}, and aborts
+ * the {@link ImageWriter} if it is cancelled.
+ * <p>
+ * A component can also be rendered once and written to several
+ * {@link ImageExportTarget}s, whose encodings then run concurrently, with
+ * every intermediate image going back to the shared
+ * {@link BufferedImagePool} once the encodings are done.
+ * <p>
+ * The service owns its executor only if it created it, in which case
+ * {@link #shutdown} should be called when the service is no longer needed.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ImageExportService {
+
+    /**
+     * The executor that encodes the snapshots.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The flag for whether the executor was created by this service, and so
+     * is to be shut down with it.
+     */
+    private final boolean         ownsExecutorService;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the default constructor, which creates an executor that uses
+     * virtual threads where available, and daemon threads otherwise.
+     *
+     * @since 1.0
+     */
+    public ImageExportService() {
+        this( makeDefaultExecutorService(), true );
+    }
+
+    /**
+     * This is the partially specified constructor, to use when exports are to
+     * be encoded on an executor that is managed by the client.
+     *
+     * @param pExecutorService
+     *            The executor to encode the snapshots on
+     *
+     * @since 1.0
+     */
+    public ImageExportService( final ExecutorService pExecutorService ) {
+        this( pExecutorService, false );
+    }
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pExecutorService
+     *            The executor to encode the snapshots on
+     * @param pOwnsExecutorService
+     *            {@code true} if the executor is to be shut down along with
+     *            this service
+     *
+     * @since 1.0
+     */
+    private ImageExportService( final ExecutorService pExecutorService,
+                                final boolean pOwnsExecutorService ) {
+        executorService = pExecutorService;
+        ownsExecutorService = pOwnsExecutorService;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Asynchronously renders a component to an image which is written to the
+     * provided {@link OutputStream} using the provided Image Format.
+     * <p>
+     * The {@link OutputStream} is flushed but not closed, and must not be
+     * used by the caller until the returned future completes. WBMP output is
+     * dithered with {@link ImageConversionUtilities#DEFAULT_BITMAP_DITHER_MODE}.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @param progressConsumer
+     *            The consumer of the percentage of the image that has been
+     *            written, from 0.0 to 100.0, which is called on the encoding
+     *            thread; may be {@code null}
+     * @return A {@link CompletableFuture} that completes with the image that
+     *         was written, or exceptionally if it could not be rendered or
+     *         written; cancelling it aborts the encoding. The image is taken
+     *         from the shared {@link BufferedImagePool} and is owned by the
+     *         client, who should release it to that pool once done with it
+     *
+     * @since 1.0
+     */
+    public CompletableFuture< BufferedImage > exportComponent( final Component component,
+                                                               final OutputStream outputStream,
+                                                               final double pixelWidth,
+                                                               final double pixelHeight,
+                                                               final boolean autoSizeImage,
+                                                               final String imageFormatName,
+                                                               final float compressionQuality,
+                                                               final ComponentScaleMode componentScaleMode,
+                                                               final DoubleConsumer progressConsumer ) {
+        return exportComponent( component,
+                                outputStream,
+                                pixelWidth,
+                                pixelHeight,
+                                autoSizeImage,
+                                imageFormatName,
+                                compressionQuality,
+                                componentScaleMode,
+                                ImageConversionUtilities.DEFAULT_BITMAP_DITHER_MODE,
+                                progressConsumer );
+    }
+
+    /**
+     * Asynchronously renders a component to an image which is written to the
+     * provided {@link OutputStream} using the provided Image Format.
+     * <p>
+     * The {@link OutputStream} is flushed but not closed, and must not be
+     * used by the caller until the returned future completes.
+     *
+     * @param component
+     *            The {@link Component} to render to an output stream
+     * @param outputStream
+     *            The {@link OutputStream} to use for writing the produced image
+     * @param pixelWidth
+     *            The preferred width in pixels for the produced image
+     * @param pixelHeight
+     *            The preferred height in pixels for the produced image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageFormatName
+     *            The Image Format Name to use for the produced image
+     * @param compressionQuality
+     *            The Compression Quality to use for the produced image; not
+     *            relevant to all Image Formats
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the produced image
+     *            differs in size from the component
+     * @param ditherMode
+     *            The {@link DitherMode} to reduce the image to 1-bit with, for
+     *            Image Formats such as WBMP that only hold 1-bit images, or
+     *            {@code null} for
+     *            {@link ImageConversionUtilities#DEFAULT_BITMAP_DITHER_MODE}
+     * @param progressConsumer
+     *            The consumer of the percentage of the image that has been
+     *            written, from 0.0 to 100.0, which is called on the encoding
+     *            thread; may be {@code null}
+     * @return A {@link CompletableFuture} that completes with the image that
+     *         was written, or exceptionally if it could not be rendered or
+     *         written; cancelling it aborts the encoding. The image is taken
+     *         from the shared {@link BufferedImagePool} and is owned by the
+     *         client, who should release it to that pool once done with it
+     *
+     * @since 1.0
+     */
+    public CompletableFuture< BufferedImage > exportComponent( final Component component,
+                                                               final OutputStream outputStream,
+                                                               final double pixelWidth,
+                                                               final double pixelHeight,
+                                                               final boolean autoSizeImage,
+                                                               final String imageFormatName,
+                                                               final float compressionQuality,
+                                                               final ComponentScaleMode componentScaleMode,
+                                                               final DitherMode ditherMode,
+                                                               final DoubleConsumer progressConsumer ) {
+        final ExportTask exportTask = new ExportTask();
+
+        // Even WBMP is rendered in full color, and only dithered to 1-bit as it
+        // is written, so that the Dither Mode has tones to work with.
+        final CompletableFuture< BufferedImage > snapshotFuture = snapshotComponent( component,
+                                                                                     pixelWidth,
+                                                                                     pixelHeight,
+                                                                                     autoSizeImage,
+                                                                                     BufferedImage.TYPE_INT_RGB,
+                                                                                     componentScaleMode );
+
+        // Encode the snapshot on the executor, with cancellation of the
+        // returned future aborting the encoding in progress.
+        final CompletableFuture< BufferedImage > exportFuture = new CompletableFuture< BufferedImage >() {
+            @Override
+            public boolean cancel( final boolean mayInterruptIfRunning ) {
+                exportTask.abort();
+                return super.cancel( mayInterruptIfRunning );
+            }
+        };
+        snapshotFuture.thenApplyAsync( snapshotImage -> {
+            // The snapshot is only handed to the client if it was written, so
+            // goes back to the pool otherwise.
+            try {
+                return exportTask.writeImage( snapshotImage,
+                                              outputStream,
+                                              imageFormatName,
+                                              compressionQuality,
+                                              ditherMode,
+                                              progressConsumer );
+            }
+            catch ( final RuntimeException e ) {
+                BufferedImagePool.getSharedPool().release( snapshotImage );
+                throw e;
+            }
+        }, executorService )
+                .whenComplete( ( image, throwable ) -> {
+                    if ( throwable != null ) {
+                        exportFuture.completeExceptionally( throwable );
+                    }
+                    else if ( !exportFuture.complete( image ) ) {
+                        // The export was cancelled after it was written.
+                        BufferedImagePool.getSharedPool().release( image );
+                    }
+                } );
+
+        return exportFuture;
+    }
+
+    /**
+     * Asynchronously renders a component once, and then writes it to each of
+     * the supplied {@link ImageExportTarget}s concurrently, resampling it to
+     * the size of each target and converting its Image Type only where the
+     * target's Image Format requires it.
+     * <p>
+     * This avoids repainting the component for every Image Format when, for
+     * instance, PNG, JPEG and TIFF versions of a chart are all needed.
+     *
+     * @param component
+     *            The {@link Component} to render
+     * @param pixelWidth
+     *            The preferred width in pixels for the rendered image
+     * @param pixelHeight
+     *            The preferred height in pixels for the rendered image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the rendered image
+     *            differs in size from the component
+     * @param exportTargets
+     *            The {@link ImageExportTarget}s to write the image to
+     * @return A {@link CompletableFuture} that completes with the pixel
+     *         dimensions of the images that were written, in the order of the
+     *         targets, or exceptionally if any of them could not be rendered
+     *         or written; cancelling it aborts all of the encodings
+     *
+     * @since 1.0
+     */
+    public CompletableFuture< List< Dimension > > exportComponent( final Component component,
+                                                                   final double pixelWidth,
+                                                                   final double pixelHeight,
+                                                                   final boolean autoSizeImage,
+                                                                   final ComponentScaleMode componentScaleMode,
+                                                                   final List< ImageExportTarget > exportTargets ) {
+        final int numberOfTargets = exportTargets.size();
+        final List< ExportTask > exportTasks = new ArrayList<>( numberOfTargets );
+        for ( int i = 0; i < numberOfTargets; i++ ) {
+            exportTasks.add( new ExportTask() );
+        }
+
+        final CompletableFuture< BufferedImage > snapshotFuture =
+                snapshotComponent( component,
+                                   pixelWidth,
+                                   pixelHeight,
+                                   autoSizeImage,
+                                   BufferedImage.TYPE_INT_RGB,
+                                   componentScaleMode );
+
+        final CompletableFuture< List< Dimension > > exportFuture =
+                new CompletableFuture< List< Dimension > >() {
+                    @Override
+                    public boolean cancel( final boolean mayInterruptIfRunning ) {
+                        for ( final ExportTask exportTask : exportTasks ) {
+                            exportTask.abort();
+                        }
+                        return super.cancel( mayInterruptIfRunning );
+                    }
+                };
+
+        // The snapshot is only read by the encodings, so they can share it.
+        snapshotFuture.thenCompose( snapshotImage -> {
+            final List< CompletableFuture< Dimension > > targetFutures =
+                    new ArrayList<>( numberOfTargets );
+            for ( int i = 0; i < numberOfTargets; i++ ) {
+                final ExportTask exportTask = exportTasks.get( i );
+                final ImageExportTarget exportTarget = exportTargets.get( i );
+                targetFutures.add( CompletableFuture.supplyAsync( () -> {
+                    final int targetWidth = ( exportTarget.getPixelWidth() > 0 )
+                        ? exportTarget.getPixelWidth()
+                        : snapshotImage.getWidth();
+                    final int targetHeight = ( exportTarget.getPixelHeight() > 0 )
+                        ? exportTarget.getPixelHeight()
+                        : snapshotImage.getHeight();
+                    final BufferedImage targetImage = ImageConversionUtilities
+                            .resampleImage( snapshotImage, targetWidth, targetHeight );
+
+                    // The resampled copy, if any, is only needed for the
+                    // encoding, so goes back to the pool once written.
+                    try {
+                        exportTask.writeImage( targetImage,
+                                               exportTarget.getOutputStream(),
+                                               exportTarget.getImageFormatName(),
+                                               exportTarget.getCompressionQuality(),
+                                               exportTarget.getDitherMode(),
+                                               null );
+                    }
+                    finally {
+                        if ( targetImage != snapshotImage ) {
+                            BufferedImagePool.getSharedPool().release( targetImage );
+                        }
+                    }
+
+                    return new Dimension( targetWidth, targetHeight );
+                }, executorService ) );
+            }
+
+            // The snapshot goes back to the pool once every target is done
+            // with it, whether or not they were all written.
+            return CompletableFuture
+                    .allOf( targetFutures.toArray( new CompletableFuture< ? >[ numberOfTargets ] ) )
+                    .whenComplete( ( ignored, throwable ) -> BufferedImagePool.getSharedPool()
+                            .release( snapshotImage ) )
+                    .thenApply( ignored -> {
+                        final List< Dimension > imageSizes = new ArrayList<>( numberOfTargets );
+                        for ( final CompletableFuture< Dimension > targetFuture : targetFutures ) {
+                            imageSizes.add( targetFuture.join() );
+                        }
+                        return imageSizes;
+                    } );
+        } ).whenComplete( ( imageSizes, throwable ) -> {
+            if ( throwable != null ) {
+                exportFuture.completeExceptionally( throwable );
+            }
+            else {
+                exportFuture.complete( imageSizes );
+            }
+        } );
+
+        return exportFuture;
+    }
+
+    /**
+     * Shuts down the executor if it was created by this service; otherwise
+     * does nothing, as the client manages the executor. Exports in progress
+     * are allowed to finish.
+     *
+     * @since 1.0
+     */
+    public void shutdown() {
+        if ( ownsExecutorService ) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Renders a component to a {@link BufferedImage} on the Event Dispatch
+     * Thread, as Swing requires, which may be the calling thread.
+     *
+     * @param component
+     *            The {@link Component} to render
+     * @param pixelWidth
+     *            The preferred width in pixels for the rendered image
+     * @param pixelHeight
+     *            The preferred height in pixels for the rendered image
+     * @param autoSizeImage
+     *            {@code true} if the image should be auto-sized; {@code false}
+     *            if the real Aspect Ratio should be retained
+     * @param imageType
+     *            The Image Type to use for the rendered image
+     * @param componentScaleMode
+     *            The {@link ComponentScaleMode} to use when the rendered image
+     *            differs in size from the component
+     * @return A {@link CompletableFuture} that completes with the rendered
+     *         image, or exceptionally if the component could not be rendered
+     *
+     * @since 1.0
+     */
+    private static CompletableFuture< BufferedImage > snapshotComponent( final Component component,
+                                                                         final double pixelWidth,
+                                                                         final double pixelHeight,
+                                                                         final boolean autoSizeImage,
+                                                                         final int imageType,
+                                                                         final ComponentScaleMode componentScaleMode ) {
+        final CompletableFuture< BufferedImage > snapshotFuture = new CompletableFuture<>();
+        final Runnable snapshotTask = () -> {
+            try {
+                final BufferedImage snapshotImage = ImageConversionUtilities
+                        .renderComponent( component,
+                                          pixelWidth,
+                                          pixelHeight,
+                                          autoSizeImage,
+                                          imageType,
+                                          componentScaleMode );
+
+                // Fail the export here, rather than in every encoding.
+                if ( snapshotImage == null ) {
+                    snapshotFuture.completeExceptionally( new IllegalStateException(
+                            "The component could not be rendered" ) ); //$NON-NLS-1$
+                }
+                else {
+                    snapshotFuture.complete( snapshotImage );
+                }
+            }
+            catch ( final RuntimeException e ) {
+                snapshotFuture.completeExceptionally( e );
+            }
+        };
+
+        if ( SwingUtilities.isEventDispatchThread() ) {
+            snapshotTask.run();
+        }
+        else {
+            SwingUtilities.invokeLater( snapshotTask );
+        }
+
+        return snapshotFuture;
+    }
+
+    /**
+     * Returns a new executor that uses virtual threads where the runtime
+     * supports them, and a cached pool of daemon threads otherwise.
+     *
+     * @return A new executor for encoding snapshots
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("nls")
+    private static ExecutorService makeDefaultExecutorService() {
+        // Virtual threads require Java 21, so are looked up reflectively to
+        // keep this library compatible with older runtimes.
+        try {
+            final Method factoryMethod = Executors.class
+                    .getMethod( "newVirtualThreadPerTaskExecutor" );
+            return ( ExecutorService ) factoryMethod.invoke( null );
+        }
+        catch ( final ReflectiveOperationException | RuntimeException e ) {
+            return Executors.newCachedThreadPool( runnable -> {
+                final Thread thread = new Thread( runnable, "Image Export" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+        }
+    }
+
+    /**
+     * {@code ExportTask} writes one snapshot, and keeps track of the
+     * {@link ImageWriter} that is writing it so that it can be aborted.
+     */
+    private static final class ExportTask implements IIOWriteProgressListener {
+
+        /**
+         * The {@link ImageWriter} that is writing the image, if any.
+         */
+        private ImageWriter    imageWriter;
+
+        /**
+         * The flag for whether the export has been aborted.
+         */
+        private boolean        aborted;
+
+        /**
+         * The consumer of the percentage of the image that has been written.
+         */
+        private DoubleConsumer progressConsumer;
+
+        /**
+         * This is the default constructor.
+         */
+        ExportTask() {
+            imageWriter = null;
+            aborted = false;
+            progressConsumer = null;
+        }
+
+        /**
+         * Aborts the export, before or during the writing of the image.
+         */
+        synchronized void abort() {
+            aborted = true;
+            if ( imageWriter != null ) {
+                imageWriter.abort();
+            }
+        }
+
+        /**
+         * Writes the snapshot to the {@link OutputStream}.
+         *
+         * @param bufferedImage
+         *            The snapshot to write
+         * @param outputStream
+         *            The {@link OutputStream} to write the snapshot to
+         * @param imageFormatName
+         *            The Image Format Name to use for the produced image
+         * @param compressionQuality
+         *            The Compression Quality to use for the produced image
+         * @param ditherMode
+         *            The {@link DitherMode} to reduce the snapshot to 1-bit
+         *            with, for Image Formats that only hold 1-bit images
+         * @param pProgressConsumer
+         *            The consumer of the percentage of the image that has been
+         *            written; may be {@code null}
+         * @return The snapshot that was written
+         * @throws CancellationException
+         *             If the export was aborted
+         * @throws CompletionException
+         *             If the snapshot could not be written
+         */
+        BufferedImage writeImage( final BufferedImage bufferedImage,
+                                  final OutputStream outputStream,
+                                  final String imageFormatName,
+                                  final float compressionQuality,
+                                  final DitherMode ditherMode,
+                                  final DoubleConsumer pProgressConsumer ) {
+            final BufferedImage writableImage = ImageConversionUtilities
+                    .convertImageForFormat( bufferedImage, imageFormatName, ditherMode );
+
+            // The converted copy, if any, is only needed for the encoding, so
+            // goes back to the pool once written or abandoned.
+            try {
+                final ImageWriter writer;
+                synchronized ( this ) {
+                    if ( aborted ) {
+                        throw new CancellationException();
+                    }
+
+                    writer = ImageWriterPool.getSharedPool().acquire( imageFormatName );
+                    if ( writer == null ) {
+                        throw new CompletionException( new IOException( "No Image Writer for " //$NON-NLS-1$
+                                + imageFormatName ) );
+                    }
+                    imageWriter = writer;
+                    progressConsumer = pProgressConsumer;
+                }
+
+                writer.addIIOWriteProgressListener( this );
+                try ( final ImageOutputStream imageOutputStream = ImageIO
+                        .createImageOutputStream( outputStream ) ) {
+                    writer.setOutput( imageOutputStream );
+
+                    final ImageWriteParam imageWriteParam = ImageConversionUtilities
+                            .makeImageWriteParam( writer, imageFormatName, compressionQuality );
+                    writer.write( null, new IIOImage( writableImage, null, null ), imageWriteParam );
+                    imageOutputStream.flush();
+                    outputStream.flush();
+                }
+                catch ( final IOException | RuntimeException e ) {
+                    throw new CompletionException( e );
+                }
+                finally {
+                    synchronized ( this ) {
+                        imageWriter = null;
+                    }
+                    ImageWriterPool.getSharedPool().release( writer );
+                }
+
+                synchronized ( this ) {
+                    if ( aborted ) {
+                        throw new CancellationException();
+                    }
+                }
+            }
+            finally {
+                if ( writableImage != bufferedImage ) {
+                    BufferedImagePool.getSharedPool().release( writableImage );
+                }
+            }
+
+            return bufferedImage;
+        }
+
+        @Override
+        public void imageStarted( final ImageWriter source, final int imageIndex ) {
+            reportProgress( 0d );
+        }
+
+        @Override
+        public void imageProgress( final ImageWriter source, final float percentageDone ) {
+            reportProgress( percentageDone );
+        }
+
+        @Override
+        public void imageComplete( final ImageWriter source ) {
+            reportProgress( 100d );
+        }
+
+        @Override
+        public void thumbnailStarted( final ImageWriter source,
+                                      final int imageIndex,
+                                      final int thumbnailIndex ) {}
+
+        @Override
+        public void thumbnailProgress( final ImageWriter source, final float percentageDone ) {}
+
+        @Override
+        public void thumbnailComplete( final ImageWriter source ) {}
+
+        @Override
+        public void writeAborted( final ImageWriter source ) {}
+
+        /**
+         * Passes the percentage of the image that has been written to the
+         * progress consumer, if there is one.
+         *
+         * @param percentageDone
+         *            The percentage of the image that has been written
+         */
+        private void reportProgress( final double percentageDone ) {
+            final DoubleConsumer consumer;
+            synchronized ( this ) {
+                consumer = progressConsumer;
+            }
+            if ( consumer != null ) {
+                consumer.accept( percentageDone );
+            }
+        }
+    }
+
+}
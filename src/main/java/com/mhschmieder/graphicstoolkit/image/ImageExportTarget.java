@@ -0,0 +1,242 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.io.OutputStream;
+
+/**
+ * {@code ImageExportTarget} describes one of the outputs of a batch export,
+ * in which a component is rendered once and then encoded to several Image
+ * Formats and sizes; see {@link ImageExportService}.
+ * <p>
+ * Instances are immutable, although the {@link OutputStream} they refer to
+ * of course is not, and so must not be shared between targets.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ImageExportTarget {
+
+    /**
+     * The {@link OutputStream} to write the encoded image to.
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * The Image Format Name to encode the image as.
+     */
+    private final String       imageFormatName;
+
+    /**
+     * The Compression Quality to use, for Image Formats that support it.
+     */
+    private final float        compressionQuality;
+
+    /**
+     * The width in pixels of the encoded image, or zero for the width of the
+     * rendered image.
+     */
+    private final int          pixelWidth;
+
+    /**
+     * The height in pixels of the encoded image, or zero for the height of
+     * the rendered image.
+     */
+    private final int          pixelHeight;
+
+    /**
+     * The {@link DitherMode} to reduce the image to 1-bit with, for Image
+     * Formats that only hold 1-bit images.
+     */
+    private final DitherMode   ditherMode;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the partially specified constructor, to use when the target is
+     * the same size as the rendered image and uses the best quality.
+     *
+     * @param pOutputStream
+     *            The {@link OutputStream} to write the encoded image to
+     * @param pImageFormatName
+     *            The Image Format Name to encode the image as
+     *
+     * @since 1.0
+     */
+    public ImageExportTarget( final OutputStream pOutputStream, final String pImageFormatName ) {
+        this( pOutputStream, pImageFormatName, 1.0f, 0, 0 );
+    }
+
+    /**
+     * This is the partially specified constructor, to use when 1-bit Image
+     * Formats should use the default Dither Mode of
+     * {@link ImageConversionUtilities#DEFAULT_BITMAP_DITHER_MODE}.
+     *
+     * @param pOutputStream
+     *            The {@link OutputStream} to write the encoded image to
+     * @param pImageFormatName
+     *            The Image Format Name to encode the image as
+     * @param pCompressionQuality
+     *            The Compression Quality to use; not relevant to all Image
+     *            Formats
+     * @param pPixelWidth
+     *            The exact width in pixels of the encoded image, or zero for
+     *            the width of the rendered image
+     * @param pPixelHeight
+     *            The exact height in pixels of the encoded image, or zero for
+     *            the height of the rendered image
+     *
+     * @since 1.0
+     */
+    public ImageExportTarget( final OutputStream pOutputStream,
+                              final String pImageFormatName,
+                              final float pCompressionQuality,
+                              final int pPixelWidth,
+                              final int pPixelHeight ) {
+        this( pOutputStream,
+              pImageFormatName,
+              pCompressionQuality,
+              pPixelWidth,
+              pPixelHeight,
+              ImageConversionUtilities.DEFAULT_BITMAP_DITHER_MODE );
+    }
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pOutputStream
+     *            The {@link OutputStream} to write the encoded image to
+     * @param pImageFormatName
+     *            The Image Format Name to encode the image as
+     * @param pCompressionQuality
+     *            The Compression Quality to use; not relevant to all Image
+     *            Formats
+     * @param pPixelWidth
+     *            The exact width in pixels of the encoded image, or zero for
+     *            the width of the rendered image
+     * @param pPixelHeight
+     *            The exact height in pixels of the encoded image, or zero for
+     *            the height of the rendered image
+     * @param pDitherMode
+     *            The {@link DitherMode} to reduce the image to 1-bit with, for
+     *            Image Formats such as WBMP that only hold 1-bit images
+     *
+     * @since 1.0
+     */
+    public ImageExportTarget( final OutputStream pOutputStream,
+                              final String pImageFormatName,
+                              final float pCompressionQuality,
+                              final int pPixelWidth,
+                              final int pPixelHeight,
+                              final DitherMode pDitherMode ) {
+        outputStream = pOutputStream;
+        imageFormatName = pImageFormatName;
+        compressionQuality = pCompressionQuality;
+        pixelWidth = pPixelWidth;
+        pixelHeight = pPixelHeight;
+        ditherMode = ( pDitherMode != null )
+            ? pDitherMode
+            : ImageConversionUtilities.DEFAULT_BITMAP_DITHER_MODE;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the {@link OutputStream} to write the encoded image to.
+     *
+     * @return The {@link OutputStream} to write the encoded image to
+     *
+     * @since 1.0
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Returns the Image Format Name to encode the image as.
+     *
+     * @return The Image Format Name to encode the image as
+     *
+     * @since 1.0
+     */
+    public String getImageFormatName() {
+        return imageFormatName;
+    }
+
+    /**
+     * Returns the Compression Quality to use.
+     *
+     * @return The Compression Quality to use
+     *
+     * @since 1.0
+     */
+    public float getCompressionQuality() {
+        return compressionQuality;
+    }
+
+    /**
+     * Returns the width in pixels of the encoded image.
+     *
+     * @return The width in pixels of the encoded image, or zero for the width
+     *         of the rendered image
+     *
+     * @since 1.0
+     */
+    public int getPixelWidth() {
+        return pixelWidth;
+    }
+
+    /**
+     * Returns the height in pixels of the encoded image.
+     *
+     * @return The height in pixels of the encoded image, or zero for the
+     *         height of the rendered image
+     *
+     * @since 1.0
+     */
+    public int getPixelHeight() {
+        return pixelHeight;
+    }
+
+    /**
+     * Returns the {@link DitherMode} to reduce the image to 1-bit with.
+     *
+     * @return The {@link DitherMode} to reduce the image to 1-bit with, for
+     *         Image Formats that only hold 1-bit images
+     *
+     * @since 1.0
+     */
+    public DitherMode getDitherMode() {
+        return ditherMode;
+    }
+
+}
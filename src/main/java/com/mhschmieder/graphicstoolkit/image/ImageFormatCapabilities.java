@@ -0,0 +1,208 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.util.Arrays;
+
+/**
+ * {@code ImageFormatCapabilities} summarizes what the installed Image I/O
+ * plug-ins can do with a given Image Format, for file dialogs and exporters
+ * that need to decide which options to offer without instantiating codecs.
+ * <p>
+ * Instances are immutable, and are cached per Image Format Name by
+ * {@link ImageFormatUtilities#getImageFormatCapabilities}.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ImageFormatCapabilities {
+
+    /**
+     * The Image Format Name that these capabilities are for.
+     */
+    private final String   imageFormatName;
+
+    /**
+     * The flag for whether an Image Reader is installed for the format.
+     */
+    private final boolean  readable;
+
+    /**
+     * The flag for whether an Image Writer is installed for the format.
+     */
+    private final boolean  writable;
+
+    /**
+     * The flag for whether the Image Writer supports compression settings.
+     */
+    private final boolean  compressionSupported;
+
+    /**
+     * The flag for whether the Image Writer supports progressive encoding.
+     */
+    private final boolean  progressiveSupported;
+
+    /**
+     * The flag for whether the Image Writer supports tiled output.
+     */
+    private final boolean  tilingSupported;
+
+    /**
+     * The names of the compression types that the Image Writer supports.
+     */
+    private final String[] compressionTypes;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pImageFormatName
+     *            The Image Format Name that these capabilities are for
+     * @param pReadable
+     *            {@code true} if an Image Reader is installed for the format
+     * @param pWritable
+     *            {@code true} if an Image Writer is installed for the format
+     * @param pCompressionSupported
+     *            {@code true} if the Image Writer supports compression settings
+     * @param pProgressiveSupported
+     *            {@code true} if the Image Writer supports progressive encoding
+     * @param pTilingSupported
+     *            {@code true} if the Image Writer supports tiled output
+     * @param pCompressionTypes
+     *            The names of the compression types that the Image Writer
+     *            supports, or {@code null} if there are none
+     *
+     * @since 1.0
+     */
+    ImageFormatCapabilities( final String pImageFormatName,
+                             final boolean pReadable,
+                             final boolean pWritable,
+                             final boolean pCompressionSupported,
+                             final boolean pProgressiveSupported,
+                             final boolean pTilingSupported,
+                             final String[] pCompressionTypes ) {
+        imageFormatName = pImageFormatName;
+        readable = pReadable;
+        writable = pWritable;
+        compressionSupported = pCompressionSupported;
+        progressiveSupported = pProgressiveSupported;
+        tilingSupported = pTilingSupported;
+        compressionTypes = ( pCompressionTypes != null )
+            ? pCompressionTypes.clone()
+            : new String[ 0 ];
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the Image Format Name that these capabilities are for.
+     *
+     * @return The Image Format Name that these capabilities are for
+     *
+     * @since 1.0
+     */
+    public String getImageFormatName() {
+        return imageFormatName;
+    }
+
+    /**
+     * Returns the flag for whether an Image Reader is installed.
+     *
+     * @return {@code true} if an Image Reader is installed for the format
+     *
+     * @since 1.0
+     */
+    public boolean isReadable() {
+        return readable;
+    }
+
+    /**
+     * Returns the flag for whether an Image Writer is installed.
+     *
+     * @return {@code true} if an Image Writer is installed for the format
+     *
+     * @since 1.0
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * Returns the flag for whether the Image Writer supports compression
+     * settings, such as the Compression Quality.
+     *
+     * @return {@code true} if the Image Writer supports compression settings
+     *
+     * @since 1.0
+     */
+    public boolean isCompressionSupported() {
+        return compressionSupported;
+    }
+
+    /**
+     * Returns the flag for whether the Image Writer supports progressive
+     * encoding.
+     *
+     * @return {@code true} if the Image Writer supports progressive encoding
+     *
+     * @since 1.0
+     */
+    public boolean isProgressiveSupported() {
+        return progressiveSupported;
+    }
+
+    /**
+     * Returns the flag for whether the Image Writer supports tiled output.
+     *
+     * @return {@code true} if the Image Writer supports tiled output
+     *
+     * @since 1.0
+     */
+    public boolean isTilingSupported() {
+        return tilingSupported;
+    }
+
+    /**
+     * Returns the names of the compression types that the Image Writer
+     * supports.
+     *
+     * @return A copy of the compression type names, which is empty if there
+     *         are none
+     *
+     * @since 1.0
+     */
+    public String[] getCompressionTypes() {
+        return Arrays.copyOf( compressionTypes, compressionTypes.length );
+    }
+
+}
@@ -34,18 +34,41 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
 import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageReaderWriterSpi;
+import javax.imageio.spi.ImageWriterSpi;
 import javax.imageio.stream.ImageInputStream;
 
 /**
  * {@code ImageFormatUtilities} is a utility class for Graphics2D based image
  * format methods that are used to query the capabilities of the JDK that this
  * code base is built against.
+ * <p>
+ * The Image Reader and Image Writer Service Providers for each Format Name,
+ * File Suffix and MIME Type are looked up in the Image I/O service registry
+ * only once, and are then cached, so that repeated format checks from file
+ * dialogs and batch exporters are constant-time. The caches are invalidated by
+ * {@link #scanForPlugins()}, which should be used instead of
+ * {@link ImageIO#scanForPlugins()} so that newly installed plug-ins are seen;
+ * {@link #clearImageCodecCache()} covers plug-ins registered by other means.
  *
  * @version 1.0
  *
@@ -58,6 +81,54 @@ public final class ImageFormatUtilities {
      */
     private ImageFormatUtilities() {}
 
+    /**
+     * The number of bytes of a stream that may be read when recognizing the
+     * Image Format, after which the stream must still be able to be reset.
+     */
+    public static final int                                               MAXIMUM_STREAM_SCAN_BYTES   = 1 << 16;
+
+    /**
+     * The cached Image Reader Service Providers, keyed by Format Name.
+     */
+    private static final ConcurrentMap< String, List< ImageReaderSpi > >  READER_SPIS_BY_FORMAT_NAME  =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The cached Image Reader Service Providers, keyed by File Suffix.
+     */
+    private static final ConcurrentMap< String, List< ImageReaderSpi > >  READER_SPIS_BY_SUFFIX       =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The cached Image Reader Service Providers, keyed by MIME Type.
+     */
+    private static final ConcurrentMap< String, List< ImageReaderSpi > >  READER_SPIS_BY_MIME_TYPE    =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The cached Image Writer Service Providers, keyed by Format Name.
+     */
+    private static final ConcurrentMap< String, List< ImageWriterSpi > >  WRITER_SPIS_BY_FORMAT_NAME  =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The cached Image Writer Service Providers, keyed by File Suffix.
+     */
+    private static final ConcurrentMap< String, List< ImageWriterSpi > >  WRITER_SPIS_BY_SUFFIX       =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The cached Image Writer Service Providers, keyed by MIME Type.
+     */
+    private static final ConcurrentMap< String, List< ImageWriterSpi > >  WRITER_SPIS_BY_MIME_TYPE    =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The cached Image Format Capabilities, keyed by Format Name.
+     */
+    private static final ConcurrentMap< String, ImageFormatCapabilities > CAPABILITIES_BY_FORMAT_NAME =
+            new ConcurrentHashMap<>();
+
     /**
      * Returns a flag that indicates whether the supplied Image Type is
      * supported for write actions (if {@code true}) or not (if {@code false})
@@ -90,10 +161,13 @@ public final class ImageFormatUtilities {
         }
 
         final ImageTypeSpecifier type = ImageTypeSpecifier.createFromRenderedImage( bufferedImage );
-        final Iterator< ImageWriter > iter = ImageIO.getImageWriters( type, imageFormatName );
-        final boolean imageTypeSupported = iter.hasNext();
+        for ( final ImageWriterSpi imageWriterSpi : getImageWriterSpis( imageFormatName ) ) {
+            if ( imageWriterSpi.canEncodeImage( type ) ) {
+                return true;
+            }
+        }
 
-        return imageTypeSupported;
+        return false;
     }
 
     /**
@@ -113,8 +187,10 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static boolean canReadImageExtension( final String fileExt ) {
-        final Iterator< ImageReader > iter = ImageIO.getImageReadersBySuffix( fileExt );
-        return iter.hasNext();
+        return !lookupServiceProviders( ImageReaderSpi.class,
+                                        READER_SPIS_BY_SUFFIX,
+                                        fileExt,
+                                        ImageReaderSpi::getFileSuffixes ).isEmpty();
     }
 
     /**
@@ -134,8 +210,7 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static boolean canReadImageFormat( final String formatName ) {
-        final Iterator< ImageReader > iter = ImageIO.getImageReadersByFormatName( formatName );
-        return iter.hasNext();
+        return !getImageReaderSpis( formatName ).isEmpty();
     }
 
     /**
@@ -155,8 +230,10 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static boolean canReadImageMimeType( final String mimeType ) {
-        final Iterator< ImageReader > iter = ImageIO.getImageReadersByMIMEType( mimeType );
-        return iter.hasNext();
+        return !lookupServiceProviders( ImageReaderSpi.class,
+                                        READER_SPIS_BY_MIME_TYPE,
+                                        mimeType,
+                                        ImageReaderSpi::getMIMETypes ).isEmpty();
     }
 
     /**
@@ -176,8 +253,10 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static boolean canWriteImageExtension( final String fileExt ) {
-        final Iterator< ImageWriter > iter = ImageIO.getImageWritersBySuffix( fileExt );
-        return iter.hasNext();
+        return !lookupServiceProviders( ImageWriterSpi.class,
+                                        WRITER_SPIS_BY_SUFFIX,
+                                        fileExt,
+                                        ImageWriterSpi::getFileSuffixes ).isEmpty();
     }
 
     /**
@@ -197,8 +276,7 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static boolean canWriteImageFormat( final String formatName ) {
-        final Iterator< ImageWriter > iter = ImageIO.getImageWritersByFormatName( formatName );
-        return iter.hasNext();
+        return !getImageWriterSpis( formatName ).isEmpty();
     }
 
     /**
@@ -219,16 +297,136 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static boolean canWriteImageMimeType( final String mimeType ) {
-        final Iterator< ImageWriter > iter = ImageIO.getImageWritersByMIMEType( mimeType );
-        return iter.hasNext();
+        return !lookupServiceProviders( ImageWriterSpi.class,
+                                        WRITER_SPIS_BY_MIME_TYPE,
+                                        mimeType,
+                                        ImageWriterSpi::getMIMETypes ).isEmpty();
+    }
+
+    /**
+     * Returns the cached Image Reader Service Providers for the supplied Image
+     * Format Name, in the same order of preference as
+     * {@link ImageIO#getImageReadersByFormatName}.
+     *
+     * @param formatName
+     *            The Format Name to look up Image Reader support for
+     * @return An unmodifiable list of the Image Reader Service Providers for
+     *         the Format Name, which is empty if there are none
+     *
+     * @since 1.0
+     */
+    public static List< ImageReaderSpi > getImageReaderSpis( final String formatName ) {
+        return lookupServiceProviders( ImageReaderSpi.class,
+                                       READER_SPIS_BY_FORMAT_NAME,
+                                       formatName,
+                                       ImageReaderSpi::getFormatNames );
+    }
+
+    /**
+     * Returns the cached Image Writer Service Providers for the supplied Image
+     * Format Name, in the same order of preference as
+     * {@link ImageIO#getImageWritersByFormatName}.
+     *
+     * @param formatName
+     *            The Format Name to look up Image Writer support for
+     * @return An unmodifiable list of the Image Writer Service Providers for
+     *         the Format Name, which is empty if there are none
+     *
+     * @since 1.0
+     */
+    public static List< ImageWriterSpi > getImageWriterSpis( final String formatName ) {
+        return lookupServiceProviders( ImageWriterSpi.class,
+                                       WRITER_SPIS_BY_FORMAT_NAME,
+                                       formatName,
+                                       ImageWriterSpi::getFormatNames );
+    }
+
+    /**
+     * Returns a new instance of the preferred {@link ImageWriter} for the
+     * supplied Image Format Name, using the cached Service Providers rather
+     * than iterating the Image I/O service registry.
+     * <p>
+     * The caller owns the returned writer, and should dispose it when done.
+     *
+     * @param formatName
+     *            The Format Name to get an {@link ImageWriter} for
+     * @return A new {@link ImageWriter} for the Format Name, or {@code null} if
+     *         there is no Image Writer support for the format
+     *
+     * @since 1.0
+     */
+    public static ImageWriter createImageWriter( final String formatName ) {
+        for ( final ImageWriterSpi imageWriterSpi : getImageWriterSpis( formatName ) ) {
+            try {
+                return imageWriterSpi.createWriterInstance();
+            }
+            catch ( final IOException ioe ) {
+                // Fall back to the next Service Provider for the format.
+                ioe.printStackTrace();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the cached {@link ImageFormatCapabilities} for the supplied Image
+     * Format Name, so that file dialogs can decide which options to offer.
+     * <p>
+     * The capabilities are probed from the default write parameters of the
+     * preferred {@link ImageWriter} on first use, and are then cached.
+     *
+     * @param formatName
+     *            The Format Name to get the capabilities of
+     * @return The {@link ImageFormatCapabilities} of the Format Name, or
+     *         {@code null} if the Format Name is {@code null}
+     *
+     * @since 1.0
+     */
+    public static ImageFormatCapabilities getImageFormatCapabilities( final String formatName ) {
+        if ( formatName == null ) {
+            return null;
+        }
+
+        return CAPABILITIES_BY_FORMAT_NAME.computeIfAbsent( formatName,
+                                                            ImageFormatUtilities::makeImageFormatCapabilities );
+    }
+
+    /**
+     * Rescans the class path for Image I/O plug-ins, and then invalidates the
+     * cached Service Providers and capabilities so that they are looked up
+     * again on next use.
+     *
+     * @since 1.0
+     */
+    public static void scanForPlugins() {
+        ImageIO.scanForPlugins();
+        clearImageCodecCache();
+    }
+
+    /**
+     * Invalidates the cached Service Providers and capabilities, such as after
+     * plug-ins have been registered or deregistered directly with the
+     * {@link IIORegistry}.
+     *
+     * @since 1.0
+     */
+    public static void clearImageCodecCache() {
+        READER_SPIS_BY_FORMAT_NAME.clear();
+        READER_SPIS_BY_SUFFIX.clear();
+        READER_SPIS_BY_MIME_TYPE.clear();
+        WRITER_SPIS_BY_FORMAT_NAME.clear();
+        WRITER_SPIS_BY_SUFFIX.clear();
+        WRITER_SPIS_BY_MIME_TYPE.clear();
+        CAPABILITIES_BY_FORMAT_NAME.clear();
     }
 
     /**
      * Returns the name of the Image Format associated with the {@link File}.
      * <p>
-     * This method uses the Image I/O API to determine whether the contents of
-     * the supplied file correspond to a known image format, and if so, returns
-     * the first one in the list of image readers that can handle the format.
+     * This method recognizes the common Image Formats from the first few bytes
+     * of the file, and only falls back to the Image I/O API, which probes the
+     * file with every installed Image Reader, for formats it does not know.
      *
      * @param file
      *            The {@link File} corresponding to the image
@@ -238,17 +436,19 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static String getImageFormatForFile( final File file ) {
-        return getImageFormatName( file );
+        final ImageHeaderInfo imageHeaderInfo = getImageHeaderInfo( file );
+        return ( imageHeaderInfo != null ) ? imageHeaderInfo.getImageFormatName() : null;
     }
 
     /**
      * Returns the name of the Image Format associated with the
      * {@link InputStream}.
      * <p>
-     * This method uses the Image I/O API to determine whether the contents of
-     * the supplied input stream correspond to a known image format, and if so,
-     * returns the first one in the list of image readers that can handle the
-     * format.
+     * This method recognizes the common Image Formats from the first few bytes
+     * of the stream if it supports mark and reset, and otherwise uses the
+     * Image I/O API to determine whether the contents of the supplied input
+     * stream correspond to a known image format, and if so, returns the first
+     * one in the list of image readers that can handle the format.
      *
      * @param inputStream
      *            The {@link InputStream} corresponding to the image
@@ -258,16 +458,114 @@ public final class ImageFormatUtilities {
      * @since 1.0
      */
     public static String getImageFormatForInputStream( final InputStream inputStream ) {
-        return getImageFormatName( inputStream );
+        final ImageHeaderInfo imageHeaderInfo = getImageHeaderInfo( inputStream );
+        return ( imageHeaderInfo != null ) ? imageHeaderInfo.getImageFormatName() : null;
+    }
+
+    /**
+     * Returns the Image Format Name and dimensions of the image in the
+     * {@link File}, reading as little of the file as possible.
+     * <p>
+     * PNG, JPEG, GIF, BMP, TIFF and WBMP images are recognized by their magic
+     * numbers, and their dimensions are taken from the header, via a few small
+     * reads, as long as there is an Image Reader for them. Other images are
+     * probed with the Image I/O API.
+     *
+     * @param file
+     *            The {@link File} corresponding to the image
+     * @return The {@link ImageHeaderInfo} of the image in the supplied file,
+     *         or {@code null} if the format is not known or the file could not
+     *         be read
+     *
+     * @since 1.0
+     */
+    public static ImageHeaderInfo getImageHeaderInfo( final File file ) {
+        if ( file == null ) {
+            return null;
+        }
+
+        try ( final FileChannel fileChannel = FileChannel.open( file.toPath(),
+                                                                StandardOpenOption.READ ) ) {
+            final long fileSize = fileChannel.size();
+            final ImageHeaderInfo imageHeaderInfo = ImageHeaderSniffer
+                    .sniffImageHeader( fileChannel, fileSize, fileSize );
+            if ( imageHeaderInfo != null ) {
+                return imageHeaderInfo;
+            }
+        }
+        catch ( final InvalidPathException | SecurityException | IOException e ) {
+            e.printStackTrace();
+            return null;
+        }
+
+        return probeImageHeaderInfo( file );
+    }
+
+    /**
+     * Returns the Image Format Name and dimensions of the image in the
+     * {@link InputStream}, reading as little of the stream as possible.
+     * <p>
+     * If the stream supports mark and reset, PNG, JPEG, GIF, BMP and TIFF
+     * images are recognized by their magic numbers and the stream is reset
+     * afterwards; the dimensions of JPEG and TIFF images are only known if
+     * they are recorded within {@link #MAXIMUM_STREAM_SCAN_BYTES} of the
+     * start. Other images, and all images in streams that do not support mark
+     * and reset, are probed with the Image I/O API, which consumes the stream.
+     *
+     * @param inputStream
+     *            The {@link InputStream} corresponding to the image
+     * @return The {@link ImageHeaderInfo} of the image in the supplied input
+     *         stream, or {@code null} if the format is not known or the stream
+     *         could not be read
+     *
+     * @since 1.0
+     */
+    public static ImageHeaderInfo getImageHeaderInfo( final InputStream inputStream ) {
+        if ( inputStream == null ) {
+            return null;
+        }
+
+        if ( inputStream.markSupported() ) {
+            // NOTE: The channel must not be closed, as that would close the
+            //  caller's stream.
+            ImageHeaderInfo imageHeaderInfo = null;
+            inputStream.mark( MAXIMUM_STREAM_SCAN_BYTES );
+            try {
+                imageHeaderInfo = ImageHeaderSniffer
+                        .sniffImageHeader( Channels.newChannel( inputStream ),
+                                           -1L,
+                                           MAXIMUM_STREAM_SCAN_BYTES );
+            }
+            catch ( final IOException ioe ) {
+                ioe.printStackTrace();
+            }
+            finally {
+                try {
+                    inputStream.reset();
+                }
+                catch ( final IOException ioe ) {
+                    ioe.printStackTrace();
+                    return null;
+                }
+            }
+
+            if ( imageHeaderInfo != null ) {
+                return imageHeaderInfo;
+            }
+        }
+
+        return probeImageHeaderInfo( inputStream );
     }
 
     /**
-     * Returns the Image Format Name associated with the supplied Object.
+     * Returns the Image Format Name and dimensions associated with the
+     * supplied Object.
      * <p>
      * This method uses the Image I/O API to determine whether the contents of
      * a supplied File or Input Stream correspond to a known Image Format, and
      * if so, returns the first one in the list of Image Readers that can handle
-     * the format.
+     * the format, along with the dimensions of the first image if the reader
+     * can provide them.
      * <p>
      * Unfortunately the method argument has to be a generic object as that is
      * the only common base class for Files and Input Streams.
@@ -280,23 +578,37 @@ public final class ImageFormatUtilities {
      * @param object
      *            The object must be either a File or an Input Stream
      *            corresponding to an image
-     * @return The format name of the image in the File or Input Stream, or
-     *         {@code null} if the format is not known or the object does not
-     *         correspond to an Image File or Stream
+     * @return The {@link ImageHeaderInfo} of the image in the File or Input
+     *         Stream, or {@code null} if the format is not known or the object
+     *         does not correspond to an Image File or Stream
      *
      * @since 1.0
      */
-    private static String getImageFormatName( final Object object ) {
+    private static ImageHeaderInfo probeImageHeaderInfo( final Object object ) {
         // Create an image input stream on the image.
         try ( final ImageInputStream imageInputStream = ImageIO.createImageInputStream( object ) ) {
             // Find all image readers that recognize the image format.
             final Iterator< ImageReader > iter = ImageIO.getImageReaders( imageInputStream );
 
             // Use the first available image reader, if any are present.
-            final ImageReader reader = iter.hasNext() ? iter.next() : null;
+            if ( !iter.hasNext() ) {
+                return null;
+            }
+            final ImageReader reader = iter.next();
 
-            // Return the image format name, if present.
-            return ( reader != null ) ? reader.getFormatName() : null;
+            // Return the image format name, and the dimensions if available.
+            try {
+                reader.setInput( imageInputStream, true, true );
+                return new ImageHeaderInfo( reader.getFormatName(),
+                                            reader.getWidth( 0 ),
+                                            reader.getHeight( 0 ) );
+            }
+            catch ( final IOException | RuntimeException e ) {
+                return new ImageHeaderInfo( reader.getFormatName() );
+            }
+            finally {
+                reader.dispose();
+            }
         }
         catch ( final NullPointerException | IllegalArgumentException | IOException e ) {
             e.printStackTrace();
@@ -306,4 +618,115 @@ public final class ImageFormatUtilities {
         return null;
     }
 
+    /**
+     * Returns the Service Providers of the supplied category whose names of
+     * the supplied kind include the key, from the cache if present, otherwise
+     * by querying the Image I/O service registry and caching the result.
+     * <p>
+     * Matching is exact, just as in the {@link ImageIO} lookup methods.
+     *
+     * @param category
+     *            The Service Provider category to look up
+     * @param cache
+     *            The cache for the kind of name that the key is
+     * @param key
+     *            The Format Name, File Suffix or MIME Type to look up
+     * @param namesGetter
+     *            The accessor for the names of the kind that the key is
+     * @return An unmodifiable list of the matching Service Providers, in order
+     *         of preference, which is empty if there are none
+     *
+     * @since 1.0
+     */
+    private static < T extends ImageReaderWriterSpi > List< T > lookupServiceProviders( final Class< T > category,
+                                                                                        final ConcurrentMap< String, List< T > > cache,
+                                                                                        final String key,
+                                                                                        final Function< T, String[] > namesGetter ) {
+        if ( key == null ) {
+            return Collections.emptyList();
+        }
+
+        return cache.computeIfAbsent( key, name -> {
+            final Iterator< T > iter = IIORegistry.getDefaultInstance()
+                    .getServiceProviders( category,
+                                          provider -> containsName( namesGetter
+                                                  .apply( category.cast( provider ) ), name ),
+                                          true );
+            final List< T > serviceProviders = new ArrayList<>();
+            while ( iter.hasNext() ) {
+                serviceProviders.add( iter.next() );
+            }
+
+            return Collections.unmodifiableList( serviceProviders );
+        } );
+    }
+
+    /**
+     * Returns a flag that indicates whether the supplied array of names
+     * contains the supplied name.
+     *
+     * @param names
+     *            The names to search, which may be {@code null}
+     * @param name
+     *            The name to search for
+     * @return {@code true} if the name is present, {@code false} otherwise
+     *
+     * @since 1.0
+     */
+    private static boolean containsName( final String[] names, final String name ) {
+        if ( names == null ) {
+            return false;
+        }
+
+        for ( final String candidate : names ) {
+            if ( name.equals( candidate ) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Probes the {@link ImageFormatCapabilities} of the supplied Image Format
+     * Name from the installed Service Providers.
+     *
+     * @param formatName
+     *            The Format Name to probe the capabilities of
+     * @return The {@link ImageFormatCapabilities} of the Format Name
+     *
+     * @since 1.0
+     */
+    private static ImageFormatCapabilities makeImageFormatCapabilities( final String formatName ) {
+        final boolean readable = !getImageReaderSpis( formatName ).isEmpty();
+
+        final ImageWriter imageWriter = createImageWriter( formatName );
+        if ( imageWriter == null ) {
+            return new ImageFormatCapabilities( formatName,
+                                                readable,
+                                                false,
+                                                false,
+                                                false,
+                                                false,
+                                                null );
+        }
+
+        try {
+            final ImageWriteParam imageWriteParam = imageWriter.getDefaultWriteParam();
+            final boolean compressionSupported = imageWriteParam.canWriteCompressed();
+            return new ImageFormatCapabilities( formatName,
+                                                readable,
+                                                true,
+                                                compressionSupported,
+                                                imageWriteParam.canWriteProgressive(),
+                                                imageWriteParam.canWriteTiles(),
+                                                compressionSupported
+                                                    ? imageWriteParam.getCompressionTypes()
+                                                    : null );
+        }
+        finally {
+            imageWriter.dispose();
+        }
+    }
+
 }
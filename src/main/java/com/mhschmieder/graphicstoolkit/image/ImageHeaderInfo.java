@@ -0,0 +1,152 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code ImageHeaderInfo} holds what can be learned about an image from its
+ * header alone: the Image Format Name and, where the header records them, the
+ * pixel dimensions. It is returned by
+ * {@link ImageFormatUtilities#getImageHeaderInfo} so that import dialogs can
+ * list many files without decoding any of them.
+ * <p>
+ * Instances are immutable.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ImageHeaderInfo {
+
+    /**
+     * The value of a dimension that the header does not record.
+     */
+    public static final int UNKNOWN_DIMENSION = -1;
+
+    /**
+     * The Image Format Name of the image, as named by the Image I/O API.
+     */
+    private final String    imageFormatName;
+
+    /**
+     * The width of the image in pixels, or {@link #UNKNOWN_DIMENSION}.
+     */
+    private final int       pixelWidth;
+
+    /**
+     * The height of the image in pixels, or {@link #UNKNOWN_DIMENSION}.
+     */
+    private final int       pixelHeight;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the partially specified constructor, to use when the header
+     * does not record the dimensions of the image.
+     *
+     * @param pImageFormatName
+     *            The Image Format Name of the image
+     *
+     * @since 1.0
+     */
+    public ImageHeaderInfo( final String pImageFormatName ) {
+        this( pImageFormatName, UNKNOWN_DIMENSION, UNKNOWN_DIMENSION );
+    }
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pImageFormatName
+     *            The Image Format Name of the image
+     * @param pPixelWidth
+     *            The width of the image in pixels, or
+     *            {@link #UNKNOWN_DIMENSION}
+     * @param pPixelHeight
+     *            The height of the image in pixels, or
+     *            {@link #UNKNOWN_DIMENSION}
+     *
+     * @since 1.0
+     */
+    public ImageHeaderInfo( final String pImageFormatName,
+                            final int pPixelWidth,
+                            final int pPixelHeight ) {
+        imageFormatName = pImageFormatName;
+        pixelWidth = pPixelWidth;
+        pixelHeight = pPixelHeight;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the Image Format Name of the image.
+     *
+     * @return The Image Format Name of the image, as named by the Image I/O API
+     *
+     * @since 1.0
+     */
+    public String getImageFormatName() {
+        return imageFormatName;
+    }
+
+    /**
+     * Returns the width of the image.
+     *
+     * @return The width of the image in pixels, or {@link #UNKNOWN_DIMENSION}
+     *
+     * @since 1.0
+     */
+    public int getPixelWidth() {
+        return pixelWidth;
+    }
+
+    /**
+     * Returns the height of the image.
+     *
+     * @return The height of the image in pixels, or {@link #UNKNOWN_DIMENSION}
+     *
+     * @since 1.0
+     */
+    public int getPixelHeight() {
+        return pixelHeight;
+    }
+
+    /**
+     * Returns a flag that indicates whether the dimensions of the image are
+     * known.
+     *
+     * @return {@code true} if both the width and height are known
+     *
+     * @since 1.0
+     */
+    public boolean hasDimensions() {
+        return ( pixelWidth != UNKNOWN_DIMENSION ) && ( pixelHeight != UNKNOWN_DIMENSION );
+    }
+
+}
@@ -0,0 +1,744 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * {@code ImageHeaderSniffer} recognizes the most common Image Formats (PNG,
+ * JPEG, GIF, BMP, TIFF and WBMP) from their magic numbers, and reads their
+ * pixel dimensions from the header, using a handful of small reads rather
+ * than instantiating an Image Reader for every installed Service Provider.
+ * <p>
+ * The Image Format Names match those of the JDK's own Image Readers, so that
+ * results are the same whether or not an image was recognized here or by
+ * falling back to the Image I/O API.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+final class ImageHeaderSniffer {
+
+    /**
+     * The number of leading bytes that the magic numbers are checked against,
+     * which is enough for the dimensions of every format but JPEG and TIFF.
+     */
+    static final int            HEADER_BYTES            = 32;
+
+    /**
+     * The Image Format Name of PNG images.
+     */
+    private static final String PNG_FORMAT_NAME         = "png";  //$NON-NLS-1$
+
+    /**
+     * The Image Format Name of JPEG images.
+     */
+    private static final String JPEG_FORMAT_NAME        = "JPEG"; //$NON-NLS-1$
+
+    /**
+     * The Image Format Name of GIF images.
+     */
+    private static final String GIF_FORMAT_NAME         = "gif";  //$NON-NLS-1$
+
+    /**
+     * The Image Format Name of BMP images.
+     */
+    private static final String BMP_FORMAT_NAME         = "bmp";  //$NON-NLS-1$
+
+    /**
+     * The Image Format Name of TIFF images.
+     */
+    private static final String TIFF_FORMAT_NAME        = "tif";  //$NON-NLS-1$
+
+    /**
+     * The Image Format Name of WBMP images.
+     */
+    private static final String WBMP_FORMAT_NAME        = "wbmp"; //$NON-NLS-1$
+
+    /**
+     * The eight byte PNG file signature.
+     */
+    private static final byte[] PNG_SIGNATURE           =
+            { ( byte ) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+
+    /**
+     * The maximum number of TIFF directory entries to look through for the
+     * dimensions, as a guard against corrupt files.
+     */
+    private static final int    MAXIMUM_TIFF_ENTRIES    = 4096;
+
+    /**
+     * The TIFF tag for the width of the image.
+     */
+    private static final int    TIFF_TAG_IMAGE_WIDTH    = 256;
+
+    /**
+     * The TIFF tag for the height of the image.
+     */
+    private static final int    TIFF_TAG_IMAGE_LENGTH   = 257;
+
+    /**
+     * The TIFF field type for unsigned 16-bit values.
+     */
+    private static final int    TIFF_TYPE_SHORT         = 3;
+
+    /**
+     * The TIFF field type for unsigned 32-bit values.
+     */
+    private static final int    TIFF_TYPE_LONG          = 4;
+
+    /**
+     * The default constructor is disabled, as this is a static utilities class.
+     */
+    private ImageHeaderSniffer() {}
+
+    /**
+     * Recognizes the Image Format of the image at the current position of the
+     * supplied channel, and reads its dimensions if the header records them.
+     * <p>
+     * The channel is read from, but not closed. Seekable channels are skipped
+     * through directly; other channels are skipped by reading, but never more
+     * than the supplied limit.
+     *
+     * @param channel
+     *            The channel positioned at the start of the image
+     * @param size
+     *            The total size of the image in bytes, or a negative value if
+     *            it is not known; WBMP images, which have no magic number, are
+     *            only recognized when the size is known
+     * @param scanLimit
+     *            The maximum number of bytes to read from a channel that is not
+     *            seekable
+     * @return The {@link ImageHeaderInfo} of the image, or {@code null} if the
+     *         Image Format was not recognized or has no installed Image Reader
+     * @throws IOException
+     *             If the channel could not be read
+     *
+     * @since 1.0
+     */
+    static ImageHeaderInfo sniffImageHeader( final ReadableByteChannel channel,
+                                             final long size,
+                                             final long scanLimit )
+            throws IOException {
+        // Only report formats that can actually be read, such as TIFF on Java
+        // 8, so that callers fall back to probing rather than trusting a name
+        // that no Image Reader will accept.
+        final ImageHeaderInfo imageHeaderInfo = sniffKnownImageHeader( channel, size, scanLimit );
+        return ( ( imageHeaderInfo != null )
+                && ImageFormatUtilities.canReadImageFormat( imageHeaderInfo.getImageFormatName() ) )
+                    ? imageHeaderInfo
+                    : null;
+    }
+
+    /**
+     * Recognizes the Image Format of the image at the current position of the
+     * supplied channel from its magic number, whether or not there is an Image
+     * Reader for it, and reads its dimensions if the header records them.
+     *
+     * @param channel
+     *            The channel positioned at the start of the image
+     * @param size
+     *            The total size of the image in bytes, or a negative value if
+     *            it is not known
+     * @param scanLimit
+     *            The maximum number of bytes to read from a channel that is not
+     *            seekable
+     * @return The {@link ImageHeaderInfo} of the image, or {@code null} if the
+     *         Image Format was not recognized
+     * @throws IOException
+     *             If the channel could not be read
+     *
+     * @since 1.0
+     */
+    private static ImageHeaderInfo sniffKnownImageHeader( final ReadableByteChannel channel,
+                                                          final long size,
+                                                          final long scanLimit )
+            throws IOException {
+        final HeaderReader reader = new HeaderReader( channel, scanLimit );
+        final ByteBuffer header = reader.getHeader();
+        final int headerLength = header.remaining();
+
+        if ( startsWith( header, PNG_SIGNATURE ) ) {
+            // The IHDR chunk is required to be first, right after the signature.
+            return ( headerLength >= 24 )
+                ? new ImageHeaderInfo( PNG_FORMAT_NAME, header.getInt( 16 ), header.getInt( 20 ) )
+                : new ImageHeaderInfo( PNG_FORMAT_NAME );
+        }
+
+        if ( ( headerLength >= 3 ) && ( getUnsignedByte( header, 0 ) == 0xff )
+                && ( getUnsignedByte( header, 1 ) == 0xd8 )
+                && ( getUnsignedByte( header, 2 ) == 0xff ) ) {
+            return sniffJpegHeader( reader );
+        }
+
+        if ( ( headerLength >= 10 ) && ( header.get( 0 ) == 'G' ) && ( header.get( 1 ) == 'I' )
+                && ( header.get( 2 ) == 'F' ) && ( header.get( 3 ) == '8' )
+                && ( ( header.get( 4 ) == '7' ) || ( header.get( 4 ) == '9' ) )
+                && ( header.get( 5 ) == 'a' ) ) {
+            header.order( ByteOrder.LITTLE_ENDIAN );
+            return new ImageHeaderInfo( GIF_FORMAT_NAME,
+                                        getUnsignedShort( header, 6 ),
+                                        getUnsignedShort( header, 8 ) );
+        }
+
+        if ( ( headerLength >= 26 ) && ( header.get( 0 ) == 'B' ) && ( header.get( 1 ) == 'M' ) ) {
+            final ImageHeaderInfo imageHeaderInfo = sniffBmpHeader( header );
+            if ( imageHeaderInfo != null ) {
+                return imageHeaderInfo;
+            }
+        }
+
+        if ( headerLength >= 8 ) {
+            final ImageHeaderInfo imageHeaderInfo = sniffTiffHeader( header, reader );
+            if ( imageHeaderInfo != null ) {
+                return imageHeaderInfo;
+            }
+        }
+
+        return sniffWbmpHeader( header, size );
+    }
+
+    /**
+     * Reads the dimensions of a JPEG image from its first Start Of Frame
+     * segment, walking the marker segments that precede it.
+     *
+     * @param reader
+     *            The reader that the header was read with
+     * @return The {@link ImageHeaderInfo} of the image
+     * @throws IOException
+     *             If the channel could not be read
+     *
+     * @since 1.0
+     */
+    private static ImageHeaderInfo sniffJpegHeader( final HeaderReader reader )
+            throws IOException {
+        if ( !reader.seek( 2L ) ) {
+            return new ImageHeaderInfo( JPEG_FORMAT_NAME );
+        }
+
+        while ( true ) {
+            ByteBuffer segment = reader.read( 2 );
+            if ( ( segment.remaining() < 2 ) || ( getUnsignedByte( segment, 0 ) != 0xff ) ) {
+                break;
+            }
+
+            // Any number of fill bytes may precede a marker.
+            int marker = getUnsignedByte( segment, 1 );
+            while ( marker == 0xff ) {
+                segment = reader.read( 1 );
+                if ( segment.remaining() < 1 ) {
+                    return new ImageHeaderInfo( JPEG_FORMAT_NAME );
+                }
+                marker = getUnsignedByte( segment, 0 );
+            }
+
+            // Standalone markers have no length or payload.
+            if ( ( marker == 0x01 ) || ( marker == 0xd8 )
+                    || ( ( marker >= 0xd0 ) && ( marker <= 0xd7 ) ) ) {
+                continue;
+            }
+
+            // The dimensions must precede the compressed data.
+            if ( ( marker == 0xd9 ) || ( marker == 0xda ) ) {
+                break;
+            }
+
+            segment = reader.read( 2 );
+            if ( segment.remaining() < 2 ) {
+                break;
+            }
+            final int segmentLength = getUnsignedShort( segment, 0 );
+            if ( segmentLength < 2 ) {
+                break;
+            }
+
+            // The Start Of Frame markers are C0-CF, except for DHT, JPG and DAC.
+            if ( ( marker >= 0xc0 ) && ( marker <= 0xcf ) && ( marker != 0xc4 )
+                    && ( marker != 0xc8 ) && ( marker != 0xcc ) ) {
+                segment = reader.read( 5 );
+                if ( segment.remaining() < 5 ) {
+                    break;
+                }
+                return new ImageHeaderInfo( JPEG_FORMAT_NAME,
+                                            getUnsignedShort( segment, 3 ),
+                                            getUnsignedShort( segment, 1 ) );
+            }
+
+            if ( !reader.skip( segmentLength - 2L ) ) {
+                break;
+            }
+        }
+
+        return new ImageHeaderInfo( JPEG_FORMAT_NAME );
+    }
+
+    /**
+     * Reads the dimensions of a BMP image from its DIB header, if the size of
+     * the DIB header is one of the documented ones.
+     *
+     * @param header
+     *            The leading bytes of the image
+     * @return The {@link ImageHeaderInfo} of the image, or {@code null} if the
+     *         DIB header is not recognized
+     *
+     * @since 1.0
+     */
+    private static ImageHeaderInfo sniffBmpHeader( final ByteBuffer header ) {
+        header.order( ByteOrder.LITTLE_ENDIAN );
+        final int dibHeaderSize = header.getInt( 14 );
+        switch ( dibHeaderSize ) {
+        case 12:
+            // OS/2 1.x BITMAPCOREHEADER, with 16-bit dimensions.
+            return new ImageHeaderInfo( BMP_FORMAT_NAME,
+                                        getUnsignedShort( header, 18 ),
+                                        getUnsignedShort( header, 20 ) );
+        case 16:
+        case 40:
+        case 52:
+        case 56:
+        case 64:
+        case 108:
+        case 124:
+            // The height is negative for top-down bitmaps.
+            return new ImageHeaderInfo( BMP_FORMAT_NAME,
+                                        header.getInt( 18 ),
+                                        Math.abs( header.getInt( 22 ) ) );
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Reads the dimensions of a TIFF image from its first Image File
+     * Directory, if the byte order mark and magic number are present.
+     *
+     * @param header
+     *            The leading bytes of the image
+     * @param reader
+     *            The reader to read the Image File Directory with
+     * @return The {@link ImageHeaderInfo} of the image, or {@code null} if the
+     *         image is not a TIFF image
+     * @throws IOException
+     *             If the channel could not be read
+     *
+     * @since 1.0
+     */
+    private static ImageHeaderInfo sniffTiffHeader( final ByteBuffer header,
+                                                    final HeaderReader reader )
+            throws IOException {
+        final ByteOrder byteOrder;
+        if ( ( header.get( 0 ) == 'I' ) && ( header.get( 1 ) == 'I' ) ) {
+            byteOrder = ByteOrder.LITTLE_ENDIAN;
+        }
+        else if ( ( header.get( 0 ) == 'M' ) && ( header.get( 1 ) == 'M' ) ) {
+            byteOrder = ByteOrder.BIG_ENDIAN;
+        }
+        else {
+            return null;
+        }
+
+        header.order( byteOrder );
+        if ( getUnsignedShort( header, 2 ) != 42 ) {
+            return null;
+        }
+
+        final long directoryOffset = header.getInt( 4 ) & 0xffffffffL;
+        if ( !reader.seek( directoryOffset ) ) {
+            return new ImageHeaderInfo( TIFF_FORMAT_NAME );
+        }
+
+        ByteBuffer directory = reader.read( 2 ).order( byteOrder );
+        if ( directory.remaining() < 2 ) {
+            return new ImageHeaderInfo( TIFF_FORMAT_NAME );
+        }
+
+        final int numberOfEntries = Math.min( getUnsignedShort( directory, 0 ),
+                                              MAXIMUM_TIFF_ENTRIES );
+        int pixelWidth = ImageHeaderInfo.UNKNOWN_DIMENSION;
+        int pixelHeight = ImageHeaderInfo.UNKNOWN_DIMENSION;
+        for ( int entry = 0; entry < numberOfEntries; entry++ ) {
+            // A short read means the end or the scan limit has been reached.
+            directory = reader.read( 12 ).order( byteOrder );
+            if ( directory.remaining() < 12 ) {
+                break;
+            }
+
+            final int tag = getUnsignedShort( directory, 0 );
+            if ( ( tag != TIFF_TAG_IMAGE_WIDTH ) && ( tag != TIFF_TAG_IMAGE_LENGTH ) ) {
+                continue;
+            }
+
+            final int type = getUnsignedShort( directory, 2 );
+            final int value;
+            if ( type == TIFF_TYPE_SHORT ) {
+                value = getUnsignedShort( directory, 8 );
+            }
+            else if ( type == TIFF_TYPE_LONG ) {
+                value = directory.getInt( 8 );
+            }
+            else {
+                continue;
+            }
+
+            if ( tag == TIFF_TAG_IMAGE_WIDTH ) {
+                pixelWidth = value;
+            }
+            else {
+                pixelHeight = value;
+            }
+
+            // The entries are sorted by tag, so the height follows the width.
+            if ( tag == TIFF_TAG_IMAGE_LENGTH ) {
+                break;
+            }
+        }
+
+        return new ImageHeaderInfo( TIFF_FORMAT_NAME, pixelWidth, pixelHeight );
+    }
+
+    /**
+     * Reads the dimensions of a Type 0 WBMP image, which is only recognized if
+     * the size implied by its dimensions matches the actual size of the image,
+     * as the format has no magic number.
+     *
+     * @param header
+     *            The leading bytes of the image
+     * @param size
+     *            The total size of the image in bytes, or a negative value if
+     *            it is not known
+     * @return The {@link ImageHeaderInfo} of the image, or {@code null} if the
+     *         image is not a WBMP image or its size is not known
+     *
+     * @since 1.0
+     */
+    private static ImageHeaderInfo sniffWbmpHeader( final ByteBuffer header,
+                                                    final long size ) {
+        // Only Type 0 with no extension headers is in common use.
+        if ( ( size < 0L ) || ( header.remaining() < 4 ) || ( header.get( 0 ) != 0 )
+                || ( header.get( 1 ) != 0 ) ) {
+            return null;
+        }
+
+        // The dimensions are multi-byte integers of seven bits per byte.
+        final int[] dimensions = new int[ 2 ];
+        int index = 2;
+        for ( int dimension = 0; dimension < dimensions.length; dimension++ ) {
+            int value = 0;
+            int numberOfBytes = 0;
+            int nextByte;
+            do {
+                if ( ( index >= header.limit() ) || ( ++numberOfBytes > 4 ) ) {
+                    return null;
+                }
+                nextByte = getUnsignedByte( header, index++ );
+                value = ( value << 7 ) | ( nextByte & 0x7f );
+            }
+            while ( ( nextByte & 0x80 ) != 0 );
+
+            if ( value <= 0 ) {
+                return null;
+            }
+            dimensions[ dimension ] = value;
+        }
+
+        final long expectedSize = index + ( ( ( dimensions[ 0 ] + 7L ) / 8L ) * dimensions[ 1 ] );
+        return ( expectedSize == size )
+            ? new ImageHeaderInfo( WBMP_FORMAT_NAME, dimensions[ 0 ], dimensions[ 1 ] )
+            : null;
+    }
+
+    /**
+     * Returns a flag that indicates whether the buffer starts with the
+     * supplied bytes.
+     *
+     * @param buffer
+     *            The buffer to check
+     * @param prefix
+     *            The bytes to check for
+     * @return {@code true} if the buffer starts with the bytes
+     *
+     * @since 1.0
+     */
+    private static boolean startsWith( final ByteBuffer buffer, final byte[] prefix ) {
+        if ( buffer.remaining() < prefix.length ) {
+            return false;
+        }
+
+        for ( int index = 0; index < prefix.length; index++ ) {
+            if ( buffer.get( index ) != prefix[ index ] ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the unsigned byte at the supplied index of the buffer.
+     *
+     * @param buffer
+     *            The buffer to read from
+     * @param index
+     *            The index of the byte
+     * @return The unsigned byte, from 0 to 255
+     *
+     * @since 1.0
+     */
+    private static int getUnsignedByte( final ByteBuffer buffer, final int index ) {
+        return buffer.get( index ) & 0xff;
+    }
+
+    /**
+     * Returns the unsigned 16-bit value at the supplied index of the buffer,
+     * in the byte order of the buffer.
+     *
+     * @param buffer
+     *            The buffer to read from
+     * @param index
+     *            The index of the first byte of the value
+     * @return The unsigned 16-bit value, from 0 to 65535
+     *
+     * @since 1.0
+     */
+    private static int getUnsignedShort( final ByteBuffer buffer, final int index ) {
+        return buffer.getShort( index ) & 0xffff;
+    }
+
+    /**
+     * {@code HeaderReader} reads small runs of bytes from a channel into a
+     * reused buffer, and keeps track of the position so that it can skip to
+     * absolute offsets. The leading bytes are retained, so that even channels
+     * that are not seekable can go back to any offset within them.
+     */
+    private static final class HeaderReader {
+
+        /**
+         * The channel to read from.
+         */
+        private final ReadableByteChannel channel;
+
+        /**
+         * The maximum number of bytes to read from a channel that is not
+         * seekable.
+         */
+        private final long                scanLimit;
+
+        /**
+         * The position of the channel at the start of the image, if seekable.
+         */
+        private final long                channelOrigin;
+
+        /**
+         * The leading bytes of the image, which are read on construction.
+         */
+        private final ByteBuffer          header;
+
+        /**
+         * The reused buffer that runs of bytes past the header are read into.
+         */
+        private final ByteBuffer          buffer;
+
+        /**
+         * The position to read from next, relative to the start of the image.
+         */
+        private long                      position;
+
+        /**
+         * The number of bytes consumed from a channel that is not seekable.
+         */
+        private long                      channelPosition;
+
+        /**
+         * This is the fully specified constructor, which reads the leading
+         * bytes of the image.
+         *
+         * @param pChannel
+         *            The channel to read from
+         * @param pScanLimit
+         *            The maximum number of bytes to read from a channel that
+         *            is not seekable
+         * @throws IOException
+         *             If the channel could not be read
+         */
+        HeaderReader( final ReadableByteChannel pChannel, final long pScanLimit )
+                throws IOException {
+            channel = pChannel;
+            scanLimit = pScanLimit;
+            channelOrigin = ( channel instanceof SeekableByteChannel )
+                ? ( ( SeekableByteChannel ) channel ).position()
+                : 0L;
+            header = ByteBuffer.allocate( HEADER_BYTES );
+            buffer = ByteBuffer.allocate( HEADER_BYTES );
+
+            fill( header );
+            position = header.limit();
+            channelPosition = position;
+        }
+
+        /**
+         * Returns the leading bytes of the image.
+         *
+         * @return A view of the leading bytes, from index zero, in big-endian
+         *         order; the view is only read by its absolute methods
+         */
+        ByteBuffer getHeader() {
+            return header.duplicate().order( ByteOrder.BIG_ENDIAN );
+        }
+
+        /**
+         * Reads up to the requested number of bytes, stopping short only at the
+         * end of the channel or, for a channel that is not seekable, at the
+         * scan limit.
+         *
+         * @param count
+         *            The number of bytes to read, up to {@link #HEADER_BYTES}
+         * @return The reused buffer, holding the bytes that were read from
+         *         index zero, in big-endian order
+         * @throws IOException
+         *             If the channel could not be read
+         */
+        ByteBuffer read( final int count ) throws IOException {
+            buffer.clear().limit( count );
+            buffer.order( ByteOrder.BIG_ENDIAN );
+
+            // Serve what we can from the retained header first.
+            while ( ( position < header.limit() ) && buffer.hasRemaining() ) {
+                buffer.put( header.get( ( int ) position++ ) );
+            }
+
+            if ( buffer.hasRemaining() ) {
+                if ( channel instanceof SeekableByteChannel ) {
+                    ( ( SeekableByteChannel ) channel ).position( channelOrigin + position );
+                }
+                else if ( scanLimit - position < buffer.remaining() ) {
+                    // Never consume more than the caller can reset past.
+                    buffer.limit( buffer.position()
+                            + ( int ) Math.max( scanLimit - position, 0L ) );
+                }
+                final int start = buffer.position();
+                fill( buffer );
+                position += buffer.limit() - start;
+                channelPosition = Math.max( channelPosition, position );
+            }
+            else {
+                buffer.flip();
+            }
+
+            return buffer;
+        }
+
+        /**
+         * Skips to the supplied offset from the start of the image.
+         *
+         * @param offset
+         *            The offset to skip to
+         * @return {@code true} if the offset was reached, {@code false} if it
+         *         is beyond the end or scan limit, or a channel that is not
+         *         seekable has already been read past it and it is not within
+         *         the retained header
+         * @throws IOException
+         *             If the channel could not be read
+         */
+        boolean seek( final long offset ) throws IOException {
+            if ( offset < 0L ) {
+                return false;
+            }
+
+            if ( channel instanceof SeekableByteChannel ) {
+                if ( offset > ( ( SeekableByteChannel ) channel ).size() - channelOrigin ) {
+                    return false;
+                }
+                position = offset;
+                return true;
+            }
+
+            // Channels that are not seekable can go back within the header, as
+            // long as nothing past the header has been consumed yet.
+            if ( offset < channelPosition ) {
+                if ( ( offset > header.limit() ) || ( channelPosition > header.limit() ) ) {
+                    return false;
+                }
+                position = offset;
+                return true;
+            }
+
+            if ( offset > scanLimit ) {
+                return false;
+            }
+
+            position = channelPosition;
+            while ( position < offset ) {
+                final ByteBuffer skipped = read( ( int ) Math.min( offset - position, HEADER_BYTES ) );
+                if ( !skipped.hasRemaining() ) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Skips forward by the supplied number of bytes.
+         *
+         * @param count
+         *            The number of bytes to skip
+         * @return {@code true} if the bytes were skipped, {@code false} if the
+         *         end or scan limit was reached first
+         * @throws IOException
+         *             If the channel could not be read
+         */
+        boolean skip( final long count ) throws IOException {
+            return seek( position + count );
+        }
+
+        /**
+         * Reads from the channel until the buffer is full or the channel ends,
+         * and then flips the buffer.
+         *
+         * @param target
+         *            The buffer to read into
+         * @throws IOException
+         *             If the channel could not be read
+         */
+        private void fill( final ByteBuffer target ) throws IOException {
+            while ( target.hasRemaining() && ( channel.read( target ) >= 0 ) ) {
+                // Keep reading until the buffer is full or the channel ends.
+            }
+            target.flip();
+        }
+    }
+
+}
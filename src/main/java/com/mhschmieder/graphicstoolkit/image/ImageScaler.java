@@ -0,0 +1,992 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * {@code ImageScaler} is a utility class for resizing images with proper
+ * filtering, which is mostly needed for thumbnails and for renders that are
+ * much larger than their final size.
+ * <p>
+ * The filters operate directly on the packed pixels of integer RGB and ARGB
+ * images, and translucent pixels are weighted by their alpha so that no dark
+ * fringes appear around them. Other Image Types are read via the Color Model.
+ * The image is split into bands of rows that are resized concurrently on a
+ * {@link ForkJoinPool}, and images below a size threshold are resized on the
+ * calling thread, as the cost of forking would dominate.
+ * <p>
+ * Separable filters are applied a small number of rows at a time, so their
+ * working memory, beyond the source and target images, is proportional to
+ * the width of the target image. Progressive halving instead creates a full
+ * intermediate image at each step, so its peak memory is the source, plus
+ * the first half-size intermediate, which has a quarter of the source pixels,
+ * plus the target; each later step is a quarter of the size of the one before
+ * it, which is released once halved. Sources that are not integer RGB or ARGB
+ * images are first copied to packed pixels in full, on top of all of these.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ImageScaler {
+
+    /**
+     * The number of source pixels below which an image is resized
+     * sequentially.
+     */
+    public static final int SEQUENTIAL_THRESHOLD_PIXELS = 1 << 18;
+
+    /**
+     * The maximum number of target rows that a separable filter produces at a
+     * time, which bounds its working memory.
+     */
+    private static final int ROWS_PER_CHUNK             = 16;
+
+    /**
+     * The number of color channels held per pixel while filtering.
+     */
+    private static final int CHANNELS                   = 4;
+
+    /**
+     * The default constructor is disabled, as this is a static utilities class.
+     */
+    private ImageScaler() {}
+
+    /**
+     * Returns a copy of an image resized to the supplied pixel dimensions,
+     * using the common {@link ForkJoinPool}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to resize
+     * @param pixelWidth
+     *            The width in pixels of the resized image
+     * @param pixelHeight
+     *            The height in pixels of the resized image
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} to resize with
+     * @return A resized copy of the image, of Image Type
+     *         {@link BufferedImage#TYPE_INT_ARGB} if the image has alpha and
+     *         {@link BufferedImage#TYPE_INT_RGB} otherwise, or {@code null} if
+     *         the image is {@code null}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage scaleImage( final BufferedImage bufferedImage,
+                                            final int pixelWidth,
+                                            final int pixelHeight,
+                                            final DownscaleQuality downscaleQuality ) {
+        return scaleImage( bufferedImage,
+                           pixelWidth,
+                           pixelHeight,
+                           downscaleQuality,
+                           ForkJoinPool.commonPool() );
+    }
+
+    /**
+     * Returns a copy of an image resized to the supplied pixel dimensions,
+     * using the supplied {@link ForkJoinPool}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to resize
+     * @param pixelWidth
+     *            The width in pixels of the resized image
+     * @param pixelHeight
+     *            The height in pixels of the resized image
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} to resize with
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the resizing on
+     * @return A resized copy of the image, of Image Type
+     *         {@link BufferedImage#TYPE_INT_ARGB} if the image has alpha and
+     *         {@link BufferedImage#TYPE_INT_RGB} otherwise, or {@code null} if
+     *         the image is {@code null}
+     *
+     * @since 1.0
+     */
+    public static BufferedImage scaleImage( final BufferedImage bufferedImage,
+                                            final int pixelWidth,
+                                            final int pixelHeight,
+                                            final DownscaleQuality downscaleQuality,
+                                            final ForkJoinPool forkJoinPool ) {
+        if ( bufferedImage == null ) {
+            return null;
+        }
+
+        final int imageType = bufferedImage.getColorModel().hasAlpha()
+            ? BufferedImage.TYPE_INT_ARGB
+            : BufferedImage.TYPE_INT_RGB;
+        final BufferedImage scaledImage = new BufferedImage( pixelWidth, pixelHeight, imageType );
+        scaleImage( bufferedImage, scaledImage, downscaleQuality, forkJoinPool );
+
+        return scaledImage;
+    }
+
+    /**
+     * Resizes an image into a caller-supplied image of the target size, such
+     * as one taken from a {@link BufferedImagePool}, using the supplied
+     * {@link ForkJoinPool}.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to resize
+     * @param scaledImage
+     *            The {@link BufferedImage} to write the resized image to, which
+     *            must be of Image Type {@link BufferedImage#TYPE_INT_RGB} or
+     *            {@link BufferedImage#TYPE_INT_ARGB}
+     * @param downscaleQuality
+     *            The {@link DownscaleQuality} to resize with
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the resizing on
+     * @throws IllegalArgumentException
+     *             If the target image is not a packed integer image
+     *
+     * @since 1.0
+     */
+    public static void scaleImage( final BufferedImage bufferedImage,
+                                   final BufferedImage scaledImage,
+                                   final DownscaleQuality downscaleQuality,
+                                   final ForkJoinPool forkJoinPool ) {
+        final PackedPixels target = getPackedPixels( scaledImage );
+        if ( target == null ) {
+            throw new IllegalArgumentException( "Scaled image must be TYPE_INT_RGB or TYPE_INT_ARGB" ); //$NON-NLS-1$
+        }
+
+        PackedPixels source = getPackedPixels( bufferedImage );
+        if ( source == null ) {
+            source = copyPackedPixels( bufferedImage );
+        }
+
+        // Opaque sources may have undefined bits in place of alpha.
+        final boolean hasAlpha = bufferedImage.getColorModel().hasAlpha()
+                && ( scaledImage.getType() == BufferedImage.TYPE_INT_ARGB );
+
+        switch ( downscaleQuality ) {
+        case SPEED:
+            // Halve both dimensions as long as neither becomes too small, and
+            // then take up the remaining ratio with a tent filter.
+            while ( ( ( source.width / 2 ) >= target.width )
+                    && ( ( source.height / 2 ) >= target.height ) ) {
+                source = halvePixels( source, hasAlpha, forkJoinPool );
+            }
+            resamplePixels( source, target, ResampleKernel.TENT, hasAlpha, forkJoinPool );
+            break;
+        case QUALITY:
+            resamplePixels( source, target, ResampleKernel.LANCZOS3, hasAlpha, forkJoinPool );
+            break;
+        case BALANCED:
+        default:
+            resamplePixels( source, target, ResampleKernel.BOX, hasAlpha, forkJoinPool );
+            break;
+        }
+    }
+
+    /**
+     * Returns the packed pixels that directly back the supplied image, when it
+     * is an integer RGB or ARGB image with the standard layout.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to query
+     * @return The backing {@link PackedPixels}, or {@code null} if the image
+     *         layout does not permit direct access
+     *
+     * @since 1.0
+     */
+    private static PackedPixels getPackedPixels( final BufferedImage bufferedImage ) {
+        switch ( bufferedImage.getType() ) {
+        case BufferedImage.TYPE_INT_RGB:
+        case BufferedImage.TYPE_INT_ARGB:
+            break;
+        default:
+            return null;
+        }
+
+        final WritableRaster raster = bufferedImage.getRaster();
+        if ( !( raster.getDataBuffer() instanceof DataBufferInt )
+                || !( raster.getSampleModel() instanceof SinglePixelPackedSampleModel ) ) {
+            return null;
+        }
+
+        final SinglePixelPackedSampleModel sampleModel =
+                                                       ( SinglePixelPackedSampleModel ) raster
+                                                               .getSampleModel();
+        final int offset = sampleModel.getOffset( -raster.getSampleModelTranslateX(),
+                                                  -raster.getSampleModelTranslateY() )
+                + raster.getDataBuffer().getOffset();
+
+        return new PackedPixels( ( ( DataBufferInt ) raster.getDataBuffer() ).getData(),
+                                 offset,
+                                 sampleModel.getScanlineStride(),
+                                 bufferedImage.getWidth(),
+                                 bufferedImage.getHeight() );
+    }
+
+    /**
+     * Returns a copy of the pixels of an image in the default ARGB Color
+     * Model, for images whose layout does not permit direct access.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to copy
+     * @return The copied {@link PackedPixels}
+     *
+     * @since 1.0
+     */
+    private static PackedPixels copyPackedPixels( final BufferedImage bufferedImage ) {
+        final int width = bufferedImage.getWidth();
+        final int height = bufferedImage.getHeight();
+        final int[] pixels = new int[ width * height ];
+        ImageConversionUtilities.getImagePixels( bufferedImage,
+                                                 0,
+                                                 0,
+                                                 width,
+                                                 height,
+                                                 pixels,
+                                                 0,
+                                                 width );
+
+        return new PackedPixels( pixels, 0, width, width, height );
+    }
+
+    /**
+     * Returns the pixels reduced to half their width and height, by averaging
+     * each 2x2 block; translucent pixels are weighted by their alpha.
+     *
+     * @param source
+     *            The {@link PackedPixels} to halve
+     * @param hasAlpha
+     *            {@code true} if the alpha of the pixels is meaningful
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the halving on
+     * @return The halved {@link PackedPixels}
+     *
+     * @since 1.0
+     */
+    private static PackedPixels halvePixels( final PackedPixels source,
+                                             final boolean hasAlpha,
+                                             final ForkJoinPool forkJoinPool ) {
+        final int width = Math.max( 1, source.width / 2 );
+        final int height = Math.max( 1, source.height / 2 );
+        final PackedPixels target = new PackedPixels( new int[ width * height ],
+                                                      0,
+                                                      width,
+                                                      width,
+                                                      height );
+
+        final int[] sourcePixels = source.pixels;
+        final int[] targetPixels = target.pixels;
+        final RowBandOperation operation = ( firstRow, endRow ) -> {
+            for ( int row = firstRow; row < endRow; row++ ) {
+                final int topIndex = source.offset
+                        + ( Math.min( 2 * row, source.height - 1 ) * source.scanlineStride );
+                final int bottomIndex = source.offset
+                        + ( Math.min( ( 2 * row ) + 1, source.height - 1 ) * source.scanlineStride );
+                int targetIndex = row * width;
+                for ( int column = 0; column < width; column++ ) {
+                    final int left = Math.min( 2 * column, source.width - 1 );
+                    final int right = Math.min( ( 2 * column ) + 1, source.width - 1 );
+                    targetPixels[ targetIndex++ ] =
+                                                  averagePixels( sourcePixels[ topIndex + left ],
+                                                                 sourcePixels[ topIndex + right ],
+                                                                 sourcePixels[ bottomIndex + left ],
+                                                                 sourcePixels[ bottomIndex + right ],
+                                                                 hasAlpha );
+                }
+            }
+        };
+
+        processRows( operation, height, ( long ) source.width * source.height, forkJoinPool );
+
+        return target;
+    }
+
+    /**
+     * Returns the average of four packed ARGB pixels, rounded to nearest.
+     *
+     * @param p0
+     *            The first pixel
+     * @param p1
+     *            The second pixel
+     * @param p2
+     *            The third pixel
+     * @param p3
+     *            The fourth pixel
+     * @param hasAlpha
+     *            {@code true} if the colors should be weighted by alpha;
+     *            {@code false} if the pixels are opaque
+     * @return The averaged packed ARGB pixel
+     *
+     * @since 1.0
+     */
+    private static int averagePixels( final int p0,
+                                      final int p1,
+                                      final int p2,
+                                      final int p3,
+                                      final boolean hasAlpha ) {
+        if ( !hasAlpha ) {
+            final int red = ( ( ( p0 >> 16 ) & 0xff ) + ( ( p1 >> 16 ) & 0xff )
+                    + ( ( p2 >> 16 ) & 0xff ) + ( ( p3 >> 16 ) & 0xff ) + 2 ) >> 2;
+            final int green = ( ( ( p0 >> 8 ) & 0xff ) + ( ( p1 >> 8 ) & 0xff )
+                    + ( ( p2 >> 8 ) & 0xff ) + ( ( p3 >> 8 ) & 0xff ) + 2 ) >> 2;
+            final int blue = ( ( p0 & 0xff ) + ( p1 & 0xff ) + ( p2 & 0xff ) + ( p3 & 0xff ) + 2 )
+                    >> 2;
+            return 0xff000000 | ( red << 16 ) | ( green << 8 ) | blue;
+        }
+
+        final int a0 = p0 >>> 24;
+        final int a1 = p1 >>> 24;
+        final int a2 = p2 >>> 24;
+        final int a3 = p3 >>> 24;
+        final int alphaSum = a0 + a1 + a2 + a3;
+        if ( alphaSum == 0 ) {
+            return 0;
+        }
+
+        final int halfSum = alphaSum >> 1;
+        final int red = ( ( ( ( p0 >> 16 ) & 0xff ) * a0 ) + ( ( ( p1 >> 16 ) & 0xff ) * a1 )
+                + ( ( ( p2 >> 16 ) & 0xff ) * a2 ) + ( ( ( p3 >> 16 ) & 0xff ) * a3 ) + halfSum )
+                / alphaSum;
+        final int green = ( ( ( ( p0 >> 8 ) & 0xff ) * a0 ) + ( ( ( p1 >> 8 ) & 0xff ) * a1 )
+                + ( ( ( p2 >> 8 ) & 0xff ) * a2 ) + ( ( ( p3 >> 8 ) & 0xff ) * a3 ) + halfSum )
+                / alphaSum;
+        final int blue = ( ( ( p0 & 0xff ) * a0 ) + ( ( p1 & 0xff ) * a1 ) + ( ( p2 & 0xff ) * a2 )
+                + ( ( p3 & 0xff ) * a3 ) + halfSum ) / alphaSum;
+        final int alpha = ( alphaSum + 2 ) >> 2;
+
+        return ( alpha << 24 ) | ( red << 16 ) | ( green << 8 ) | blue;
+    }
+
+    /**
+     * Resamples the source pixels to the size of the target pixels with a
+     * separable filter, a few target rows at a time.
+     *
+     * @param source
+     *            The {@link PackedPixels} to resample
+     * @param target
+     *            The {@link PackedPixels} to write the result to
+     * @param kernel
+     *            The {@link ResampleKernel} to filter with
+     * @param hasAlpha
+     *            {@code true} if the alpha of the pixels is meaningful
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the resampling on
+     *
+     * @since 1.0
+     */
+    private static void resamplePixels( final PackedPixels source,
+                                        final PackedPixels target,
+                                        final ResampleKernel kernel,
+                                        final boolean hasAlpha,
+                                        final ForkJoinPool forkJoinPool ) {
+        // Exact halvings need no further filtering, only a copy, which must
+        // still make opaque pixels explicitly opaque.
+        if ( ( source.width == target.width ) && ( source.height == target.height ) ) {
+            final int alphaMask = hasAlpha ? 0 : 0xff000000;
+            for ( int row = 0; row < target.height; row++ ) {
+                int sourceIndex = source.offset + ( row * source.scanlineStride );
+                int targetIndex = target.offset + ( row * target.scanlineStride );
+                for ( int column = 0; column < target.width; column++ ) {
+                    target.pixels[ targetIndex++ ] = source.pixels[ sourceIndex++ ] | alphaMask;
+                }
+            }
+            return;
+        }
+
+        final Contributions columnContributions = new Contributions( kernel,
+                                                                     source.width,
+                                                                     target.width );
+        final Contributions rowContributions = new Contributions( kernel,
+                                                                  source.height,
+                                                                  target.height );
+
+        final RowBandOperation operation = ( firstRow, endRow ) -> {
+            final float[] sourceRow = new float[ source.width * CHANNELS ];
+            float[] filteredRows = new float[ 0 ];
+
+            for ( int chunkRow = firstRow; chunkRow < endRow; chunkRow += ROWS_PER_CHUNK ) {
+                final int chunkEndRow = Math.min( chunkRow + ROWS_PER_CHUNK, endRow );
+
+                // Filter each source row that the chunk needs horizontally.
+                final int firstSourceRow = rowContributions.firstIndex[ chunkRow ];
+                int endSourceRow = firstSourceRow;
+                for ( int row = chunkRow; row < chunkEndRow; row++ ) {
+                    endSourceRow = Math.max( endSourceRow,
+                                             rowContributions.firstIndex[ row ]
+                                                     + rowContributions.count[ row ] );
+                }
+                final int filteredRowLength = target.width * CHANNELS;
+                final int filteredLength = ( endSourceRow - firstSourceRow ) * filteredRowLength;
+                if ( filteredRows.length < filteredLength ) {
+                    filteredRows = new float[ filteredLength ];
+                }
+                for ( int sourceRow0 = firstSourceRow; sourceRow0 < endSourceRow; sourceRow0++ ) {
+                    unpackRow( source, sourceRow0, hasAlpha, sourceRow );
+                    filterRow( sourceRow,
+                               columnContributions,
+                               filteredRows,
+                               ( sourceRow0 - firstSourceRow ) * filteredRowLength );
+                }
+
+                // Then combine the filtered rows vertically into each target
+                // row.
+                for ( int row = chunkRow; row < chunkEndRow; row++ ) {
+                    final int first = rowContributions.firstIndex[ row ];
+                    final int count = rowContributions.count[ row ];
+                    final int weightOffset = row * rowContributions.maximumCount;
+                    int targetIndex = target.offset + ( row * target.scanlineStride );
+                    for ( int column = 0; column < target.width; column++ ) {
+                        float alpha = 0f;
+                        float red = 0f;
+                        float green = 0f;
+                        float blue = 0f;
+                        int filteredIndex = ( ( first - firstSourceRow ) * filteredRowLength )
+                                + ( column * CHANNELS );
+                        for ( int tap = 0; tap < count; tap++ ) {
+                            final float weight = rowContributions.weights[ weightOffset + tap ];
+                            alpha += weight * filteredRows[ filteredIndex ];
+                            red += weight * filteredRows[ filteredIndex + 1 ];
+                            green += weight * filteredRows[ filteredIndex + 2 ];
+                            blue += weight * filteredRows[ filteredIndex + 3 ];
+                            filteredIndex += filteredRowLength;
+                        }
+                        target.pixels[ targetIndex++ ] = packPixel( alpha,
+                                                                    red,
+                                                                    green,
+                                                                    blue,
+                                                                    hasAlpha );
+                    }
+                }
+            }
+        };
+
+        processRows( operation,
+                     target.height,
+                     ( long ) source.width * source.height,
+                     forkJoinPool );
+    }
+
+    /**
+     * Unpacks a row of packed ARGB pixels to floating-point channels, with the
+     * colors premultiplied by alpha when alpha is meaningful.
+     *
+     * @param source
+     *            The {@link PackedPixels} to read from
+     * @param row
+     *            The row to unpack
+     * @param hasAlpha
+     *            {@code true} if the alpha of the pixels is meaningful
+     * @param channels
+     *            The destination for the channels, in ARGB order
+     *
+     * @since 1.0
+     */
+    private static void unpackRow( final PackedPixels source,
+                                   final int row,
+                                   final boolean hasAlpha,
+                                   final float[] channels ) {
+        int pixelIndex = source.offset + ( row * source.scanlineStride );
+        int channelIndex = 0;
+        for ( int column = 0; column < source.width; column++ ) {
+            final int pixel = source.pixels[ pixelIndex++ ];
+            final float red = ( pixel >> 16 ) & 0xff;
+            final float green = ( pixel >> 8 ) & 0xff;
+            final float blue = pixel & 0xff;
+            if ( hasAlpha ) {
+                final float alpha = pixel >>> 24;
+                final float premultiplier = alpha / 255f;
+                channels[ channelIndex++ ] = alpha;
+                channels[ channelIndex++ ] = red * premultiplier;
+                channels[ channelIndex++ ] = green * premultiplier;
+                channels[ channelIndex++ ] = blue * premultiplier;
+            }
+            else {
+                channels[ channelIndex++ ] = 255f;
+                channels[ channelIndex++ ] = red;
+                channels[ channelIndex++ ] = green;
+                channels[ channelIndex++ ] = blue;
+            }
+        }
+    }
+
+    /**
+     * Filters a row of floating-point channels horizontally.
+     *
+     * @param channels
+     *            The source row, in ARGB order
+     * @param contributions
+     *            The {@link Contributions} of the source columns to each
+     *            target column
+     * @param filtered
+     *            The destination for the filtered channels, in ARGB order
+     * @param filteredOffset
+     *            The index of the first filtered channel to write
+     *
+     * @since 1.0
+     */
+    private static void filterRow( final float[] channels,
+                                   final Contributions contributions,
+                                   final float[] filtered,
+                                   final int filteredOffset ) {
+        int filteredIndex = filteredOffset;
+        for ( int column = 0; column < contributions.count.length; column++ ) {
+            final int count = contributions.count[ column ];
+            final int weightOffset = column * contributions.maximumCount;
+            int channelIndex = contributions.firstIndex[ column ] * CHANNELS;
+            float alpha = 0f;
+            float red = 0f;
+            float green = 0f;
+            float blue = 0f;
+            for ( int tap = 0; tap < count; tap++ ) {
+                final float weight = contributions.weights[ weightOffset + tap ];
+                alpha += weight * channels[ channelIndex++ ];
+                red += weight * channels[ channelIndex++ ];
+                green += weight * channels[ channelIndex++ ];
+                blue += weight * channels[ channelIndex++ ];
+            }
+            filtered[ filteredIndex++ ] = alpha;
+            filtered[ filteredIndex++ ] = red;
+            filtered[ filteredIndex++ ] = green;
+            filtered[ filteredIndex++ ] = blue;
+        }
+    }
+
+    /**
+     * Packs filtered floating-point channels into a packed ARGB pixel,
+     * clamping the overshoot of sharpening kernels and undoing the alpha
+     * premultiplication.
+     *
+     * @param alpha
+     *            The filtered alpha, from 0 to 255
+     * @param red
+     *            The filtered red, premultiplied by alpha if it is meaningful
+     * @param green
+     *            The filtered green, premultiplied by alpha if it is meaningful
+     * @param blue
+     *            The filtered blue, premultiplied by alpha if it is meaningful
+     * @param hasAlpha
+     *            {@code true} if the alpha of the pixels is meaningful
+     * @return The packed ARGB pixel
+     *
+     * @since 1.0
+     */
+    private static int packPixel( final float alpha,
+                                  final float red,
+                                  final float green,
+                                  final float blue,
+                                  final boolean hasAlpha ) {
+        if ( !hasAlpha ) {
+            return 0xff000000 | ( clampComponent( red ) << 16 ) | ( clampComponent( green ) << 8 )
+                    | clampComponent( blue );
+        }
+
+        final int alphaComponent = clampComponent( alpha );
+        if ( alphaComponent == 0 ) {
+            return 0;
+        }
+
+        final float unpremultiplier = 255f / Math.min( 255f, alpha );
+        return ( alphaComponent << 24 ) | ( clampComponent( red * unpremultiplier ) << 16 )
+                | ( clampComponent( green * unpremultiplier ) << 8 )
+                | clampComponent( blue * unpremultiplier );
+    }
+
+    /**
+     * Returns a filtered channel rounded and clamped to an 8-bit code value.
+     *
+     * @param value
+     *            The filtered channel
+     * @return The 8-bit code value, from 0 to 255
+     *
+     * @since 1.0
+     */
+    private static int clampComponent( final float value ) {
+        final int component = ( int ) ( value + 0.5f );
+        return ( component < 0 ) ? 0 : ( component > 255 ) ? 255 : component;
+    }
+
+    /**
+     * Runs an operation over all rows of a target image, on the supplied
+     * {@link ForkJoinPool} in bands unless the work is too small to be worth
+     * forking.
+     *
+     * @param operation
+     *            The {@link RowBandOperation} to run
+     * @param numberOfRows
+     *            The number of rows of the target image
+     * @param numberOfSourcePixels
+     *            The number of source pixels, as a measure of the work
+     * @param forkJoinPool
+     *            The {@link ForkJoinPool} to run the operation on
+     *
+     * @since 1.0
+     */
+    private static void processRows( final RowBandOperation operation,
+                                     final int numberOfRows,
+                                     final long numberOfSourcePixels,
+                                     final ForkJoinPool forkJoinPool ) {
+        if ( ( numberOfSourcePixels < SEQUENTIAL_THRESHOLD_PIXELS ) || ( numberOfRows < 2 ) ) {
+            operation.processRows( 0, numberOfRows );
+            return;
+        }
+
+        // Aim for a few bands per worker, so that uneven bands balance out.
+        final int minimumBandRows = Math
+                .max( 1, numberOfRows / ( 4 * forkJoinPool.getParallelism() ) );
+        forkJoinPool.invoke( new RowBandTask( operation, 0, numberOfRows, minimumBandRows ) );
+    }
+
+    /**
+     * {@code RowBandOperation} processes a band of target rows.
+     */
+    @FunctionalInterface
+    private interface RowBandOperation {
+
+        /**
+         * Processes the target rows of a band.
+         *
+         * @param firstRow
+         *            The first row of the band
+         * @param endRow
+         *            The row after the last row of the band
+         */
+        void processRows( int firstRow, int endRow );
+    }
+
+    /**
+     * {@code RowBandTask} processes a band of rows, splitting itself in half
+     * until the bands are small enough to process directly.
+     */
+    private static final class RowBandTask extends RecursiveAction {
+
+        /**
+         * The serialization version, as fork-join tasks are serializable.
+         */
+        private static final long                serialVersionUID = 1L;
+
+        /**
+         * The operation to run on each band.
+         */
+        private final transient RowBandOperation operation;
+
+        /**
+         * The first row of the band.
+         */
+        private final int                        firstRow;
+
+        /**
+         * The row after the last row of the band.
+         */
+        private final int                        endRow;
+
+        /**
+         * The number of rows below which a band is not split any further.
+         */
+        private final int                        minimumBandRows;
+
+        /**
+         * This is the fully specified constructor for a band task.
+         *
+         * @param pOperation
+         *            The operation to run on each band
+         * @param pFirstRow
+         *            The first row of the band
+         * @param pEndRow
+         *            The row after the last row of the band
+         * @param pMinimumBandRows
+         *            The number of rows below which a band is not split
+         */
+        RowBandTask( final RowBandOperation pOperation,
+                     final int pFirstRow,
+                     final int pEndRow,
+                     final int pMinimumBandRows ) {
+            operation = pOperation;
+            firstRow = pFirstRow;
+            endRow = pEndRow;
+            minimumBandRows = pMinimumBandRows;
+        }
+
+        @Override
+        protected void compute() {
+            final int numberOfRows = endRow - firstRow;
+            if ( numberOfRows < ( 2 * minimumBandRows ) ) {
+                operation.processRows( firstRow, endRow );
+                return;
+            }
+
+            final int middleRow = firstRow + ( numberOfRows / 2 );
+            invokeAll( new RowBandTask( operation, firstRow, middleRow, minimumBandRows ),
+                       new RowBandTask( operation, middleRow, endRow, minimumBandRows ) );
+        }
+    }
+
+    /**
+     * {@code PackedPixels} describes a rectangle of packed ARGB pixels within
+     * an array.
+     */
+    private static final class PackedPixels {
+
+        /**
+         * The array that holds the pixels.
+         */
+        final int[] pixels;
+
+        /**
+         * The index of the upper left pixel.
+         */
+        final int   offset;
+
+        /**
+         * The distance between the starts of consecutive rows.
+         */
+        final int   scanlineStride;
+
+        /**
+         * The width of the rectangle, in pixels.
+         */
+        final int   width;
+
+        /**
+         * The height of the rectangle, in pixels.
+         */
+        final int   height;
+
+        /**
+         * This is the fully specified constructor.
+         *
+         * @param pPixels
+         *            The array that holds the pixels
+         * @param pOffset
+         *            The index of the upper left pixel
+         * @param pScanlineStride
+         *            The distance between the starts of consecutive rows
+         * @param pWidth
+         *            The width of the rectangle, in pixels
+         * @param pHeight
+         *            The height of the rectangle, in pixels
+         */
+        PackedPixels( final int[] pPixels,
+                      final int pOffset,
+                      final int pScanlineStride,
+                      final int pWidth,
+                      final int pHeight ) {
+            pixels = pPixels;
+            offset = pOffset;
+            scanlineStride = pScanlineStride;
+            width = pWidth;
+            height = pHeight;
+        }
+    }
+
+    /**
+     * {@code ResampleKernel} is an enumeration of the separable filters used
+     * for resampling, with distances in source pixels relative to the center
+     * of a target pixel, and the filter widened by the downscale ratio.
+     */
+    private enum ResampleKernel {
+        /**
+         * Weights each source pixel by the fraction of it that falls within
+         * the target pixel.
+         */
+        BOX {
+            @Override
+            double getSupport( final double filterScale ) {
+                return ( 0.5d * filterScale ) + 0.5d;
+            }
+
+            @Override
+            double getWeight( final double distance, final double filterScale ) {
+                final double halfWidth = 0.5d * filterScale;
+                return Math.max( 0d,
+                                 Math.min( distance + 0.5d, halfWidth )
+                                         - Math.max( distance - 0.5d, -halfWidth ) );
+            }
+        },
+        /**
+         * Weights each source pixel linearly by its distance.
+         */
+        TENT {
+            @Override
+            double getSupport( final double filterScale ) {
+                return filterScale;
+            }
+
+            @Override
+            double getWeight( final double distance, final double filterScale ) {
+                return Math.max( 0d, 1d - ( Math.abs( distance ) / filterScale ) );
+            }
+        },
+        /**
+         * Weights each source pixel by a sinc function windowed by a wider
+         * sinc function, over three lobes.
+         */
+        LANCZOS3 {
+            @Override
+            double getSupport( final double filterScale ) {
+                return 3d * filterScale;
+            }
+
+            @Override
+            double getWeight( final double distance, final double filterScale ) {
+                final double x = distance / filterScale;
+                if ( Math.abs( x ) >= 3d ) {
+                    return 0d;
+                }
+
+                return sinc( x ) * sinc( x / 3d );
+            }
+        };
+
+        /**
+         * Returns the distance beyond which the filter has no weight.
+         *
+         * @param filterScale
+         *            The factor by which the filter is widened
+         * @return The support of the filter, in source pixels
+         */
+        abstract double getSupport( double filterScale );
+
+        /**
+         * Returns the weight of a source pixel.
+         *
+         * @param distance
+         *            The distance of the center of the source pixel from the
+         *            center of the target pixel, in source pixels
+         * @param filterScale
+         *            The factor by which the filter is widened
+         * @return The unnormalized weight of the source pixel
+         */
+        abstract double getWeight( double distance, double filterScale );
+
+        /**
+         * Returns the normalized sinc function of the supplied value.
+         *
+         * @param x
+         *            The value to take the sinc function of
+         * @return The normalized sinc function of the value
+         */
+        static double sinc( final double x ) {
+            if ( x == 0d ) {
+                return 1d;
+            }
+
+            final double piX = FastMath.PI * x;
+            return FastMath.sin( piX ) / piX;
+        }
+    }
+
+    /**
+     * {@code Contributions} holds the normalized weights of the source pixels
+     * that contribute to each target pixel along one axis.
+     */
+    private static final class Contributions {
+
+        /**
+         * The index of the first contributing source pixel, per target pixel.
+         */
+        final int[]   firstIndex;
+
+        /**
+         * The number of contributing source pixels, per target pixel.
+         */
+        final int[]   count;
+
+        /**
+         * The maximum number of contributing source pixels, which is the
+         * stride of the weights of consecutive target pixels.
+         */
+        final int     maximumCount;
+
+        /**
+         * The normalized weights of the contributing source pixels.
+         */
+        final float[] weights;
+
+        /**
+         * This is the fully specified constructor, which computes the weights.
+         *
+         * @param kernel
+         *            The {@link ResampleKernel} to compute the weights of
+         * @param sourceSize
+         *            The number of source pixels along the axis
+         * @param targetSize
+         *            The number of target pixels along the axis
+         */
+        Contributions( final ResampleKernel kernel, final int sourceSize, final int targetSize ) {
+            final double scale = sourceSize / ( double ) targetSize;
+            final double filterScale = Math.max( scale, 1d );
+            final double support = kernel.getSupport( filterScale );
+
+            firstIndex = new int[ targetSize ];
+            count = new int[ targetSize ];
+            maximumCount = ( int ) FastMath.ceil( 2d * support ) + 2;
+            weights = new float[ targetSize * maximumCount ];
+
+            final double[] rawWeights = new double[ maximumCount ];
+            for ( int targetIndex = 0; targetIndex < targetSize; targetIndex++ ) {
+                final double center = ( targetIndex + 0.5d ) * scale;
+                final int first = Math.max( 0, ( int ) FastMath.floor( center - support ) );
+                final int end = Math.min( sourceSize,
+                                          Math.min( first + maximumCount,
+                                                    ( int ) FastMath.ceil( center + support ) ) );
+
+                double weightSum = 0d;
+                for ( int sourceIndex = first; sourceIndex < end; sourceIndex++ ) {
+                    final double weight = kernel.getWeight( ( sourceIndex + 0.5d ) - center,
+                                                            filterScale );
+                    rawWeights[ sourceIndex - first ] = weight;
+                    weightSum += weight;
+                }
+
+                final int weightOffset = targetIndex * maximumCount;
+                if ( weightSum == 0d ) {
+                    // Fall back to the nearest source pixel, which can only
+                    // happen at the very edges of an extreme enlargement.
+                    firstIndex[ targetIndex ] = Math.min( sourceSize - 1, ( int ) center );
+                    count[ targetIndex ] = 1;
+                    weights[ weightOffset ] = 1f;
+                    continue;
+                }
+
+                firstIndex[ targetIndex ] = first;
+                count[ targetIndex ] = end - first;
+                for ( int tap = 0; tap < ( end - first ); tap++ ) {
+                    weights[ weightOffset + tap ] = ( float ) ( rawWeights[ tap ] / weightSum );
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,363 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageWriterSpi;
+
+/**
+ * {@code ImageWriterPool} retains idle {@link ImageWriter} instances for
+ * reuse, keyed by the Service Provider that created them, so that high volume
+ * exporters such as a thumbnail service do not construct a new JPEG or PNG
+ * codec, with its native resources, for every image.
+ * <p>
+ * Writers are taken from the pool via {@link #acquire} and given back via
+ * {@link #release}, which resets them so that no output, listeners or abort
+ * request carry over to the next user. Writers that are not given back are
+ * simply garbage collected as usual. Writers in excess of the per-provider
+ * bound, and all idle writers on {@link #shutdown}, are disposed.
+ * <p>
+ * As writers for aliases such as "jpg" and "jpeg" share a Service Provider,
+ * they also share idle writers. All methods are thread-safe.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class ImageWriterPool {
+
+    /**
+     * The default bound on the number of idle writers per Service Provider,
+     * which allows every processor to be writing the same format at once.
+     */
+    public static final int                                        DEFAULT_MAXIMUM_IDLE_WRITERS =
+            Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The shared pool, for clients that have no need for a private pool.
+     */
+    private static final ImageWriterPool                           SHARED_POOL                  =
+            new ImageWriterPool( DEFAULT_MAXIMUM_IDLE_WRITERS );
+
+    /**
+     * The bound on the number of idle writers per Service Provider.
+     */
+    private final int                                              maximumIdleWriters;
+
+    /**
+     * The idle writers for each Service Provider.
+     */
+    private final Map< ImageWriterSpi, ArrayDeque< ImageWriter > > idleWriters;
+
+    /**
+     * The flag for whether the pool has been shut down.
+     */
+    private boolean                                                shutDown;
+
+    /**
+     * The number of acquisitions that were satisfied by an idle writer.
+     */
+    private long                                                   hitCount;
+
+    /**
+     * The number of acquisitions that had to construct a new writer.
+     */
+    private long                                                   missCount;
+
+    /**
+     * The number of writers that were disposed of by the pool.
+     */
+    private long                                                   disposalCount;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor.
+     *
+     * @param pMaximumIdleWriters
+     *            The bound on the number of idle writers per Service Provider
+     *
+     * @since 1.0
+     */
+    public ImageWriterPool( final int pMaximumIdleWriters ) {
+        maximumIdleWriters = pMaximumIdleWriters;
+        idleWriters = new HashMap<>();
+
+        shutDown = false;
+        hitCount = 0L;
+        missCount = 0L;
+        disposalCount = 0L;
+    }
+
+    /**
+     * Returns the shared pool, which is bounded by
+     * {@link #DEFAULT_MAXIMUM_IDLE_WRITERS}.
+     *
+     * @return The shared {@link ImageWriterPool}
+     *
+     * @since 1.0
+     */
+    public static ImageWriterPool getSharedPool() {
+        return SHARED_POOL;
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the bound on the number of idle writers per Service Provider.
+     *
+     * @return The bound on the number of idle writers per Service Provider
+     *
+     * @since 1.0
+     */
+    public int getMaximumIdleWriters() {
+        return maximumIdleWriters;
+    }
+
+    /**
+     * Returns the total number of idle writers.
+     *
+     * @return The total number of idle writers
+     *
+     * @since 1.0
+     */
+    public synchronized int getIdleWriterCount() {
+        int idleWriterCount = 0;
+        for ( final ArrayDeque< ImageWriter > writers : idleWriters.values() ) {
+            idleWriterCount += writers.size();
+        }
+
+        return idleWriterCount;
+    }
+
+    /**
+     * Returns the number of acquisitions that were satisfied by an idle writer.
+     *
+     * @return The number of pool hits
+     *
+     * @since 1.0
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of acquisitions that had to construct a new writer.
+     *
+     * @return The number of pool misses
+     *
+     * @since 1.0
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of writers that were disposed of by the pool.
+     *
+     * @return The number of disposed writers
+     *
+     * @since 1.0
+     */
+    public synchronized long getDisposalCount() {
+        return disposalCount;
+    }
+
+    /**
+     * Returns the flag for whether the pool has been shut down.
+     *
+     * @return {@code true} if the pool has been shut down
+     *
+     * @since 1.0
+     */
+    public synchronized boolean isShutDown() {
+        return shutDown;
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Returns a writer for the preferred Service Provider of the supplied
+     * Image Format Name, reusing an idle one if possible.
+     *
+     * @param imageFormatName
+     *            The Image Format Name to get an {@link ImageWriter} for
+     * @return An {@link ImageWriter} with no output set, or {@code null} if
+     *         there is no Image Writer support for the format
+     *
+     * @since 1.0
+     */
+    public ImageWriter acquire( final String imageFormatName ) {
+        final List< ImageWriterSpi > imageWriterSpis = ImageFormatUtilities
+                .getImageWriterSpis( imageFormatName );
+        if ( imageWriterSpis.isEmpty() ) {
+            return null;
+        }
+
+        final ImageWriterSpi imageWriterSpi = imageWriterSpis.get( 0 );
+        synchronized ( this ) {
+            final ArrayDeque< ImageWriter > writers = idleWriters.get( imageWriterSpi );
+            if ( ( writers != null ) && !writers.isEmpty() ) {
+                hitCount++;
+                return writers.pop();
+            }
+
+            missCount++;
+        }
+
+        // Constructing is done outside the lock, as some codecs load native
+        // libraries or large tables on construction.
+        try {
+            return imageWriterSpi.createWriterInstance();
+        }
+        catch ( final IOException ioe ) {
+            ioe.printStackTrace();
+            return ImageFormatUtilities.createImageWriter( imageFormatName );
+        }
+    }
+
+    /**
+     * Resets a writer and gives it back to the pool for reuse, or disposes it
+     * if the pool is full or shut down. The writer must no longer be used by
+     * the caller, as it will be handed out again by a later acquisition.
+     *
+     * @param imageWriter
+     *            The {@link ImageWriter} to give back, which may be
+     *            {@code null}
+     *
+     * @since 1.0
+     */
+    public void release( final ImageWriter imageWriter ) {
+        if ( imageWriter == null ) {
+            return;
+        }
+
+        // Resetting clears the output, the listeners and any abort request.
+        imageWriter.reset();
+
+        final ImageWriterSpi imageWriterSpi = imageWriter.getOriginatingProvider();
+        synchronized ( this ) {
+            if ( !shutDown && ( imageWriterSpi != null ) ) {
+                ArrayDeque< ImageWriter > writers = idleWriters.get( imageWriterSpi );
+                if ( writers == null ) {
+                    writers = new ArrayDeque<>( 2 );
+                    idleWriters.put( imageWriterSpi, writers );
+                }
+
+                // Guard against the same writer being released twice, which
+                // would otherwise hand it out to two callers at once.
+                for ( final ImageWriter idleWriter : writers ) {
+                    if ( idleWriter == imageWriter ) {
+                        return;
+                    }
+                }
+
+                if ( writers.size() < maximumIdleWriters ) {
+                    writers.push( imageWriter );
+                    return;
+                }
+            }
+
+            disposalCount++;
+        }
+
+        imageWriter.dispose();
+    }
+
+    /**
+     * Disposes of all idle writers, leaving the pool usable.
+     *
+     * @since 1.0
+     */
+    public void clear() {
+        disposeWriters( removeIdleWriters() );
+    }
+
+    /**
+     * Disposes of all idle writers, and of all writers released from now on,
+     * such as when the application or export service is shutting down.
+     * <p>
+     * Writers can still be acquired after shutdown, but they are no longer
+     * retained for reuse.
+     *
+     * @since 1.0
+     */
+    public void shutdown() {
+        final List< ImageWriter > writers;
+        synchronized ( this ) {
+            shutDown = true;
+            writers = removeIdleWriters();
+        }
+
+        disposeWriters( writers );
+    }
+
+    /**
+     * Removes all idle writers from the pool, counting them as disposed.
+     *
+     * @return The writers that were removed, which the caller must dispose
+     *
+     * @since 1.0
+     */
+    private synchronized List< ImageWriter > removeIdleWriters() {
+        final List< ImageWriter > writers = new ArrayList<>();
+        for ( final ArrayDeque< ImageWriter > idle : idleWriters.values() ) {
+            writers.addAll( idle );
+        }
+        idleWriters.clear();
+        disposalCount += writers.size();
+
+        return writers;
+    }
+
+    /**
+     * Disposes of the supplied writers, outside of the lock as disposing can
+     * release native resources.
+     *
+     * @param writers
+     *            The writers to dispose
+     *
+     * @since 1.0
+     */
+    private static void disposeWriters( final List< ImageWriter > writers ) {
+        for ( final ImageWriter imageWriter : writers ) {
+            imageWriter.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,337 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code OffHeapDataBufferInt} is an integer {@link DataBuffer} whose
+ * elements live outside of the Java heap, either in direct memory or in a
+ * memory-mapped file, so that poster-scale images can be composed and encoded
+ * without heap pressure or long garbage collection pauses.
+ * <p>
+ * It has a single bank, and may be wrapped in a generic
+ * {@link java.awt.image.WritableRaster} on a
+ * {@link java.awt.image.SinglePixelPackedSampleModel} with the default ARGB
+ * band masks; {@link ImageConversionUtilities#createBufferedImage(DataBuffer, int, int)}
+ * does exactly that. As a {@link DataBuffer} is indexed by {@code int}, an
+ * image is limited to {@link Integer#MAX_VALUE} pixels. The elements are
+ * stored in segments of one gigabyte, as that is the largest power of two
+ * that a single {@link ByteBuffer} can hold.
+ * <p>
+ * Java 2D has no accelerated loops for custom Data Buffers, so drawing into
+ * such an image goes through its general purpose loops; for heavy drawing it
+ * is faster to draw into a heap image of a band at a time and copy each band
+ * in with {@link java.awt.image.WritableRaster#setDataElements}.
+ * <p>
+ * The memory is released when the buffer is garbage collected, as there is
+ * no supported way to unmap or free it explicitly.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class OffHeapDataBufferInt extends DataBuffer {
+
+    /**
+     * The base two logarithm of the number of elements per segment.
+     */
+    private static final int   SEGMENT_SHIFT         = 28;
+
+    /**
+     * The number of elements per segment.
+     */
+    private static final int   SEGMENT_SIZE          = 1 << SEGMENT_SHIFT;
+
+    /**
+     * The mask for the index of an element within its segment.
+     */
+    private static final int   SEGMENT_MASK          = SEGMENT_SIZE - 1;
+
+    /**
+     * The number of bytes per element.
+     */
+    private static final int   BYTES_PER_ELEMENT     = Integer.BYTES;
+
+    /**
+     * The segments that hold the elements, in native byte order.
+     */
+    private final IntBuffer[]  segments;
+
+    /**
+     * The underlying byte buffers of the segments, which are kept so that the
+     * memory-mapped ones can be forced to their file.
+     */
+    private final ByteBuffer[] byteBuffers;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the fully specified constructor, which is private as the
+     * buffers are created via the static factory methods.
+     *
+     * @param pSize
+     *            The number of elements in the buffer
+     * @param pByteBuffers
+     *            The byte buffers to hold the elements, one per segment
+     *
+     * @since 1.0
+     */
+    private OffHeapDataBufferInt( final int pSize, final ByteBuffer[] pByteBuffers ) {
+        super( TYPE_INT, pSize );
+
+        byteBuffers = pByteBuffers;
+        segments = new IntBuffer[ byteBuffers.length ];
+        for ( int segment = 0; segment < segments.length; segment++ ) {
+            segments[ segment ] = byteBuffers[ segment ].order( ByteOrder.nativeOrder() )
+                    .asIntBuffer();
+        }
+    }
+
+    /**
+     * Returns a buffer of the supplied number of elements in direct memory,
+     * with all elements initialized to zero.
+     *
+     * @param size
+     *            The number of elements in the buffer
+     * @return A new {@link OffHeapDataBufferInt} in direct memory
+     * @throws IllegalArgumentException
+     *             If the size is negative
+     *
+     * @since 1.0
+     */
+    public static OffHeapDataBufferInt allocateDirect( final int size ) {
+        final ByteBuffer[] byteBuffers = new ByteBuffer[ getNumberOfSegments( size ) ];
+        for ( int segment = 0; segment < byteBuffers.length; segment++ ) {
+            byteBuffers[ segment ] = ByteBuffer
+                    .allocateDirect( getSegmentBytes( size, segment ) );
+        }
+
+        return new OffHeapDataBufferInt( size, byteBuffers );
+    }
+
+    /**
+     * Returns a buffer of the supplied number of elements that is mapped onto
+     * the supplied file, which is created or extended as needed. Elements are
+     * stored in the native byte order of the platform.
+     * <p>
+     * The file stays mapped, and so should not be deleted, until the buffer is
+     * garbage collected.
+     *
+     * @param file
+     *            The file to map the elements onto
+     * @param size
+     *            The number of elements in the buffer
+     * @return A new {@link OffHeapDataBufferInt} mapped onto the file
+     * @throws IOException
+     *             If the file could not be opened or mapped
+     * @throws IllegalArgumentException
+     *             If the size is negative
+     *
+     * @since 1.0
+     */
+    public static OffHeapDataBufferInt mapFile( final Path file, final int size )
+            throws IOException {
+        final ByteBuffer[] byteBuffers = new ByteBuffer[ getNumberOfSegments( size ) ];
+
+        // The mappings remain valid after the channel is closed.
+        try ( final FileChannel fileChannel = FileChannel.open( file,
+                                                                StandardOpenOption.CREATE,
+                                                                StandardOpenOption.READ,
+                                                                StandardOpenOption.WRITE ) ) {
+            for ( int segment = 0; segment < byteBuffers.length; segment++ ) {
+                final long position = ( ( long ) segment << SEGMENT_SHIFT ) * BYTES_PER_ELEMENT;
+                byteBuffers[ segment ] = fileChannel.map( FileChannel.MapMode.READ_WRITE,
+                                                          position,
+                                                          getSegmentBytes( size, segment ) );
+            }
+        }
+
+        return new OffHeapDataBufferInt( size, byteBuffers );
+    }
+
+    ////////////////////// DataBuffer method overrides ///////////////////////
+
+    @Override
+    public int getElem( final int i ) {
+        return segments[ i >>> SEGMENT_SHIFT ].get( i & SEGMENT_MASK );
+    }
+
+    @Override
+    public int getElem( final int bank, final int i ) {
+        return segments[ i >>> SEGMENT_SHIFT ].get( i & SEGMENT_MASK );
+    }
+
+    @Override
+    public void setElem( final int i, final int val ) {
+        segments[ i >>> SEGMENT_SHIFT ].put( i & SEGMENT_MASK, val );
+    }
+
+    @Override
+    public void setElem( final int bank, final int i, final int val ) {
+        segments[ i >>> SEGMENT_SHIFT ].put( i & SEGMENT_MASK, val );
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Copies a run of consecutive elements into the supplied array, such as a
+     * row of a packed raster, using bulk transfers.
+     *
+     * @param index
+     *            The index of the first element to copy
+     * @param elements
+     *            The destination for the elements
+     * @param offset
+     *            The index in the destination of the first element
+     * @param length
+     *            The number of elements to copy
+     *
+     * @since 1.0
+     */
+    public void getElems( final int index,
+                          final int[] elements,
+                          final int offset,
+                          final int length ) {
+        int elementIndex = index;
+        int arrayIndex = offset;
+        int remaining = length;
+        while ( remaining > 0 ) {
+            final int segmentIndex = elementIndex & SEGMENT_MASK;
+            final int count = Math.min( remaining, SEGMENT_SIZE - segmentIndex );
+
+            // A duplicate is used so that concurrent transfers do not share a
+            // position.
+            final IntBuffer segment = segments[ elementIndex >>> SEGMENT_SHIFT ].duplicate();
+            segment.position( segmentIndex );
+            segment.get( elements, arrayIndex, count );
+
+            elementIndex += count;
+            arrayIndex += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Copies a run of consecutive elements from the supplied array, such as a
+     * row of a packed raster, using bulk transfers.
+     *
+     * @param index
+     *            The index of the first element to overwrite
+     * @param elements
+     *            The source of the elements
+     * @param offset
+     *            The index in the source of the first element
+     * @param length
+     *            The number of elements to copy
+     *
+     * @since 1.0
+     */
+    public void setElems( final int index,
+                          final int[] elements,
+                          final int offset,
+                          final int length ) {
+        int elementIndex = index;
+        int arrayIndex = offset;
+        int remaining = length;
+        while ( remaining > 0 ) {
+            final int segmentIndex = elementIndex & SEGMENT_MASK;
+            final int count = Math.min( remaining, SEGMENT_SIZE - segmentIndex );
+
+            final IntBuffer segment = segments[ elementIndex >>> SEGMENT_SHIFT ].duplicate();
+            segment.position( segmentIndex );
+            segment.put( elements, arrayIndex, count );
+
+            elementIndex += count;
+            arrayIndex += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Forces any changes to the elements of a memory-mapped buffer to be
+     * written to its file; this has no effect on a direct memory buffer.
+     *
+     * @since 1.0
+     */
+    public void force() {
+        for ( final ByteBuffer byteBuffer : byteBuffers ) {
+            if ( byteBuffer instanceof MappedByteBuffer ) {
+                ( ( MappedByteBuffer ) byteBuffer ).force();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of segments needed for the supplied number of
+     * elements.
+     *
+     * @param size
+     *            The number of elements
+     * @return The number of segments needed
+     * @throws IllegalArgumentException
+     *             If the size is negative
+     *
+     * @since 1.0
+     */
+    private static int getNumberOfSegments( final int size ) {
+        if ( size < 0 ) {
+            throw new IllegalArgumentException( "Negative Data Buffer size: " + size ); //$NON-NLS-1$
+        }
+
+        return ( int ) ( ( ( ( long ) size + SEGMENT_SIZE ) - 1L ) >>> SEGMENT_SHIFT );
+    }
+
+    /**
+     * Returns the number of bytes in the supplied segment.
+     *
+     * @param size
+     *            The number of elements in the buffer
+     * @param segment
+     *            The index of the segment
+     * @return The number of bytes in the segment
+     *
+     * @since 1.0
+     */
+    private static int getSegmentBytes( final int size, final int segment ) {
+        final int segmentElements = Math.min( SEGMENT_SIZE, size - ( segment << SEGMENT_SHIFT ) );
+        return segmentElements * BYTES_PER_ELEMENT;
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code PngFilterStrategy} is an enumeration of the ways in which the rows of
+ * a PNG image may be filtered before compression; see
+ * {@link ParallelPngWriter}.
+ * <p>
+ * Filtering replaces each byte by its difference from a neighbouring byte,
+ * which turns smooth gradients into runs of small values that compress well.
+ * The adaptive strategy tries every filter on each row and keeps the one with
+ * the smallest sum of absolute differences, which is the heuristic that the
+ * PNG specification recommends for truecolor images. Flat-colored content
+ * such as charts and dashboards often compresses best with no filtering at
+ * all, which is also the fastest.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public enum PngFilterStrategy {
+    /**
+     * Rows are compressed as is.
+     */
+    NONE,
+    /**
+     * Each byte is predicted from the byte of the pixel to its left.
+     */
+    SUB,
+    /**
+     * Each byte is predicted from the byte of the pixel above it.
+     */
+    UP,
+    /**
+     * Each byte is predicted from the average of the pixels to its left and
+     * above it.
+     */
+    AVERAGE,
+    /**
+     * Each byte is predicted from whichever of the pixels to its left, above
+     * it, and above and to its left is closest to their linear combination.
+     */
+    PAETH,
+    /**
+     * Each row uses the filter that minimizes its sum of absolute differences.
+     */
+    ADAPTIVE;
+
+    /**
+     * Returns the default PNG Filter Strategy, for safe initialization and for
+     * clients that have no way of dealing with alternate modes.
+     *
+     * @return The most generally effective PNG Filter Strategy, which is
+     *         Adaptive
+     *
+     * @since 1.0
+     */
+    public static PngFilterStrategy defaultValue() {
+        return ADAPTIVE;
+    }
+
+}
@@ -0,0 +1,678 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.mhschmieder.graphicstoolkit.color.ColorConstants;
+import com.mhschmieder.graphicstoolkit.color.ColorMode;
+import com.mhschmieder.graphicstoolkit.color.ColorUtilities;
+
+/**
+ * {@code RasterColorEncoder} converts the pixels of a {@link BufferedImage} or
+ * {@link Raster} to the packed binary sample data that the PostScript and PDF
+ * image operators expect for a given {@link ColorMode}, optionally wrapped in
+ * an {@link AsciiEncoding} for 7-bit clean documents.
+ * <p>
+ * The samples are 1-bit and packed eight to a byte for Bitmap, 8-bit gray for
+ * Grayscale, 24-bit for RGB, and 32-bit for CMYK. Every row starts on a byte
+ * boundary, as both PostScript and PDF require. Images are processed one row
+ * at a time through the bulk converters in {@link ColorUtilities}, so the only
+ * working memory is a single row of pixels and of encoded bytes. Binary and
+ * ASCII85 payloads are smaller than per-pixel hexadecimal strings for every
+ * Color Mode; with ASCIIHex applied, only Bitmap payloads are smaller, as the
+ * other Color Modes come out the same size as the hexadecimal strings.
+ * <p>
+ * Bitmap output may be dithered with a {@link DitherMode} when whole images
+ * are encoded, with a fresh {@link BitmapDitherer} for each image. Individual
+ * rows encoded via {@link #encodeRow} are always thresholded, as dithering
+ * depends on the rows that came before.
+ * <p>
+ * Instances are immutable and thus may be shared between threads.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public final class RasterColorEncoder {
+
+    /**
+     * The {@link ColorMode} to convert the pixels to.
+     */
+    private final ColorMode     colorMode;
+
+    /**
+     * The {@link AsciiEncoding} to wrap the binary sample data in.
+     */
+    private final AsciiEncoding asciiEncoding;
+
+    /**
+     * The {@link DitherMode} to reduce the pixels with, for Bitmap output.
+     */
+    private final DitherMode    ditherMode;
+
+    //////////////////////////// Constructors ////////////////////////////////
+
+    /**
+     * This is the partially specified constructor, to use when the binary
+     * sample data is to be wrapped in the default ASCII Encoding, as given by
+     * {@link AsciiEncoding#defaultValue()}.
+     *
+     * @param pColorMode
+     *            The {@link ColorMode} to convert the pixels to
+     *
+     * @since 1.0
+     */
+    public RasterColorEncoder( final ColorMode pColorMode ) {
+        this( pColorMode, AsciiEncoding.defaultValue() );
+    }
+
+    /**
+     * This is the partially specified constructor, to use when the binary
+     * sample data is to be wrapped in an ASCII Encoding.
+     *
+     * @param pColorMode
+     *            The {@link ColorMode} to convert the pixels to
+     * @param pAsciiEncoding
+     *            The {@link AsciiEncoding} to wrap the binary sample data in
+     *
+     * @since 1.0
+     */
+    public RasterColorEncoder( final ColorMode pColorMode, final AsciiEncoding pAsciiEncoding ) {
+        this( pColorMode, pAsciiEncoding, DitherMode.defaultValue() );
+    }
+
+    /**
+     * This is the fully specified constructor, to use when Bitmap output is
+     * to be dithered.
+     *
+     * @param pColorMode
+     *            The {@link ColorMode} to convert the pixels to
+     * @param pAsciiEncoding
+     *            The {@link AsciiEncoding} to wrap the binary sample data in
+     * @param pDitherMode
+     *            The {@link DitherMode} to reduce the pixels with, which is
+     *            ignored for all Color Modes other than Bitmap
+     *
+     * @since 1.0
+     */
+    public RasterColorEncoder( final ColorMode pColorMode,
+                               final AsciiEncoding pAsciiEncoding,
+                               final DitherMode pDitherMode ) {
+        colorMode = ( pColorMode != null ) ? pColorMode : ColorMode.defaultValue();
+        asciiEncoding = ( pAsciiEncoding != null ) ? pAsciiEncoding : AsciiEncoding.defaultValue();
+        ditherMode = ( pDitherMode != null ) ? pDitherMode : DitherMode.defaultValue();
+    }
+
+    ////////////////// Accessor methods for private data /////////////////////
+
+    /**
+     * Returns the {@link ColorMode} that the pixels are converted to.
+     *
+     * @return The {@link ColorMode} that the pixels are converted to
+     *
+     * @since 1.0
+     */
+    public ColorMode getColorMode() {
+        return colorMode;
+    }
+
+    /**
+     * Returns the {@link AsciiEncoding} that the sample data is wrapped in.
+     *
+     * @return The {@link AsciiEncoding} that the sample data is wrapped in
+     *
+     * @since 1.0
+     */
+    public AsciiEncoding getAsciiEncoding() {
+        return asciiEncoding;
+    }
+
+    /**
+     * Returns the {@link DitherMode} that Bitmap output is reduced with.
+     *
+     * @return The {@link DitherMode} that Bitmap output is reduced with
+     *
+     * @since 1.0
+     */
+    public DitherMode getDitherMode() {
+        return ditherMode;
+    }
+
+    /**
+     * Returns the number of bits per color component, for writing into the
+     * image operator's dictionary.
+     *
+     * @return 1 for Bitmap, and 8 for all other Color Modes
+     *
+     * @since 1.0
+     */
+    public int getBitsPerComponent() {
+        return ( ColorMode.BITMAP.equals( colorMode ) ) ? 1 : 8;
+    }
+
+    /**
+     * Returns the number of color components per pixel, for writing into the
+     * image operator's dictionary or choosing its device color space.
+     *
+     * @return 1 for Bitmap and Grayscale, 3 for RGB, and 4 for CMYK
+     *
+     * @since 1.0
+     */
+    public int getNumberOfComponents() {
+        return ColorUtilities.getComponentsPerPixel( colorMode );
+    }
+
+    /**
+     * Returns the number of binary bytes that one encoded row occupies, prior
+     * to any ASCII Encoding.
+     *
+     * @param width
+     *            The number of pixels per row
+     * @return The number of binary bytes per encoded row
+     *
+     * @since 1.0
+     */
+    public int getBytesPerRow( final int width ) {
+        return ( ColorMode.BITMAP.equals( colorMode ) )
+            ? ( width + 7 ) / 8
+            : width * getNumberOfComponents();
+    }
+
+    /////////////////// Primary implementation methods ///////////////////////
+
+    /**
+     * Converts one row of packed ARGB pixels to binary sample data for the
+     * current {@link ColorMode}. Alpha is ignored.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to encode
+     * @param pixelOffset
+     *            The index of the first pixel to encode
+     * @param width
+     *            The number of pixels to encode
+     * @param rowBytes
+     *            The destination for the binary sample data, which must have
+     *            room for {@link #getBytesPerRow} bytes
+     * @param rowOffset
+     *            The index of the first byte to write
+     * @return The number of bytes written
+     *
+     * @since 1.0
+     */
+    public int encodeRow( final int[] pixels,
+                          final int pixelOffset,
+                          final int width,
+                          final byte[] rowBytes,
+                          final int rowOffset ) {
+        switch ( colorMode ) {
+        case BITMAP:
+            encodeBitmapRow( pixels, pixelOffset, width, rowBytes, rowOffset );
+            break;
+        case GRAYSCALE:
+            ColorUtilities.rgbToGray( pixels, pixelOffset, width, rowBytes, rowOffset, width, width, 1 );
+            break;
+        case CMYK:
+            ColorUtilities.rgbToCmyk( pixels,
+                                      pixelOffset,
+                                      width,
+                                      rowBytes,
+                                      rowOffset,
+                                      width * ColorConstants.NUMBER_OF_CMYK_COMPONENTS,
+                                      width,
+                                      1 );
+            break;
+        case RGB:
+        default:
+            int rowIndex = rowOffset;
+            final int pixelEnd = pixelOffset + width;
+            for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+                final int packedColor = pixels[ pixelIndex ];
+                rowBytes[ rowIndex++ ] = ( byte ) ColorUtilities.getRed( packedColor );
+                rowBytes[ rowIndex++ ] = ( byte ) ColorUtilities.getGreen( packedColor );
+                rowBytes[ rowIndex++ ] = ( byte ) ColorUtilities.getBlue( packedColor );
+            }
+            break;
+        }
+
+        return getBytesPerRow( width );
+    }
+
+    /**
+     * Encodes all of the pixels of a {@link BufferedImage}, row by row, and
+     * writes them to an {@link OutputStream}, followed by the end-of-data
+     * marker of the {@link AsciiEncoding} if there is one.
+     * <p>
+     * The {@link OutputStream} is flushed but not closed, so that the rest of
+     * the document can follow the image data. It should be buffered, as the
+     * data is written one row at a time.
+     *
+     * @param bufferedImage
+     *            The {@link BufferedImage} to encode
+     * @param outputStream
+     *            The {@link OutputStream} to write the encoded image data to
+     * @throws IOException
+     *             If the {@link OutputStream} could not be written to
+     *
+     * @since 1.0
+     */
+    public void encode( final BufferedImage bufferedImage, final OutputStream outputStream )
+            throws IOException {
+        final int width = bufferedImage.getWidth();
+        final int height = bufferedImage.getHeight();
+        final int[] rowPixels = new int[ width ];
+        final byte[] rowBytes = new byte[ getBytesPerRow( width ) ];
+        final BitmapDitherer bitmapDitherer = makeBitmapDitherer( width );
+
+        final OutputStream encodedStream = wrapOutputStream( outputStream );
+        for ( int row = 0; row < height; row++ ) {
+            bufferedImage.getRGB( 0, row, width, 1, rowPixels, 0, width );
+            final int rowLength = ( bitmapDitherer != null )
+                ? bitmapDitherer.ditherRow( rowPixels, 0, rowBytes, 0 )
+                : encodeRow( rowPixels, 0, width, rowBytes, 0 );
+            encodedStream.write( rowBytes, 0, rowLength );
+        }
+        finishOutputStream( encodedStream );
+    }
+
+    /**
+     * Encodes all of the pixels of a {@link Raster}, row by row, and writes
+     * them to an {@link OutputStream}, followed by the end-of-data marker of
+     * the {@link AsciiEncoding} if there is one.
+     * <p>
+     * The {@link Raster} must have 8-bit samples; its first three bands are
+     * taken as Red, Green and Blue, or its only band as gray if it has fewer
+     * than three. This avoids the per-pixel Color Model lookups of the
+     * {@link BufferedImage} method, for rasters that are known to be sRGB.
+     * <p>
+     * The {@link OutputStream} is flushed but not closed, so that the rest of
+     * the document can follow the image data.
+     *
+     * @param raster
+     *            The {@link Raster} to encode
+     * @param outputStream
+     *            The {@link OutputStream} to write the encoded image data to
+     * @throws IOException
+     *             If the {@link OutputStream} could not be written to
+     *
+     * @since 1.0
+     */
+    public void encode( final Raster raster, final OutputStream outputStream ) throws IOException {
+        final int minX = raster.getMinX();
+        final int minY = raster.getMinY();
+        final int width = raster.getWidth();
+        final int height = raster.getHeight();
+        final int numberOfBands = raster.getNumBands();
+        final int[] rowSamples = new int[ width * numberOfBands ];
+        final int[] rowPixels = new int[ width ];
+        final byte[] rowBytes = new byte[ getBytesPerRow( width ) ];
+        final BitmapDitherer bitmapDitherer = makeBitmapDitherer( width );
+
+        final OutputStream encodedStream = wrapOutputStream( outputStream );
+        for ( int row = 0; row < height; row++ ) {
+            raster.getPixels( minX, minY + row, width, 1, rowSamples );
+            for ( int column = 0, sampleIndex = 0; column < width; column++ ) {
+                final int red = rowSamples[ sampleIndex ];
+                final int green = ( numberOfBands < 3 ) ? red : rowSamples[ sampleIndex + 1 ];
+                final int blue = ( numberOfBands < 3 ) ? red : rowSamples[ sampleIndex + 2 ];
+                rowPixels[ column ] = ColorUtilities.makePackedColor( red, green, blue, 255 );
+                sampleIndex += numberOfBands;
+            }
+            final int rowLength = ( bitmapDitherer != null )
+                ? bitmapDitherer.ditherRow( rowPixels, 0, rowBytes, 0 )
+                : encodeRow( rowPixels, 0, width, rowBytes, 0 );
+            encodedStream.write( rowBytes, 0, rowLength );
+        }
+        finishOutputStream( encodedStream );
+    }
+
+    /**
+     * Packs one row of pixels into 1-bit Bitmap samples, with the most
+     * significant bit first and 1 for White, padding the last byte with zeroes.
+     *
+     * @param pixels
+     *            The packed ARGB pixels to encode
+     * @param pixelOffset
+     *            The index of the first pixel to encode
+     * @param width
+     *            The number of pixels to encode
+     * @param rowBytes
+     *            The destination for the packed bits
+     * @param rowOffset
+     *            The index of the first byte to write
+     *
+     * @since 1.0
+     */
+    private static void encodeBitmapRow( final int[] pixels,
+                                         final int pixelOffset,
+                                         final int width,
+                                         final byte[] rowBytes,
+                                         final int rowOffset ) {
+        int rowIndex = rowOffset;
+        int bits = 0;
+        int numberOfBits = 0;
+        final int pixelEnd = pixelOffset + width;
+        for ( int pixelIndex = pixelOffset; pixelIndex < pixelEnd; pixelIndex++ ) {
+            final int packedColor = pixels[ pixelIndex ];
+            final int red = ColorUtilities.getRed( packedColor );
+            final int green = ColorUtilities.getGreen( packedColor );
+            final int blue = ColorUtilities.getBlue( packedColor );
+            final int bitmapValue = ColorUtilities.rgbToBitmapValue( red, green, blue );
+            bits = ( bits << 1 ) | ( bitmapValue & 1 );
+            if ( ++numberOfBits == 8 ) {
+                rowBytes[ rowIndex++ ] = ( byte ) bits;
+                bits = 0;
+                numberOfBits = 0;
+            }
+        }
+
+        if ( numberOfBits > 0 ) {
+            rowBytes[ rowIndex ] = ( byte ) ( bits << ( 8 - numberOfBits ) );
+        }
+    }
+
+    /**
+     * Returns a new {@link BitmapDitherer} for one image, or {@code null} if
+     * the rows can be encoded independently via {@link #encodeRow}.
+     *
+     * @param width
+     *            The number of pixels per row
+     * @return A new {@link BitmapDitherer}, or {@code null} if the Color Mode
+     *         is not Bitmap or the pixels are simply thresholded
+     *
+     * @since 1.0
+     */
+    private BitmapDitherer makeBitmapDitherer( final int width ) {
+        return ( ColorMode.BITMAP.equals( colorMode )
+                && !DitherMode.THRESHOLD.equals( ditherMode ) )
+                    ? new BitmapDitherer( ditherMode, width )
+                    : null;
+    }
+
+    /**
+     * Returns the supplied {@link OutputStream} wrapped in the current
+     * {@link AsciiEncoding}, or as-is if there is none.
+     *
+     * @param outputStream
+     *            The {@link OutputStream} to wrap
+     * @return The wrapped {@link OutputStream}
+     *
+     * @since 1.0
+     */
+    private OutputStream wrapOutputStream( final OutputStream outputStream ) {
+        switch ( asciiEncoding ) {
+        case ASCII_HEX:
+            return new AsciiHexOutputStream( outputStream );
+        case ASCII_85:
+            return new Ascii85OutputStream( outputStream );
+        case NONE:
+        default:
+            return outputStream;
+        }
+    }
+
+    /**
+     * Writes any pending data and end-of-data marker for the wrapped
+     * {@link OutputStream}, and flushes it without closing it.
+     *
+     * @param outputStream
+     *            The {@link OutputStream} that was wrapped for encoding
+     * @throws IOException
+     *             If the {@link OutputStream} could not be written to
+     *
+     * @since 1.0
+     */
+    private static void finishOutputStream( final OutputStream outputStream ) throws IOException {
+        if ( outputStream instanceof AsciiOutputStream ) {
+            ( ( AsciiOutputStream ) outputStream ).finish();
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * {@code AsciiOutputStream} is the base class for the ASCII Encoding
+     * filters, which write complete lines to the underlying stream and can be
+     * finished with an end-of-data marker without closing that stream.
+     */
+    private abstract static class AsciiOutputStream extends FilterOutputStream {
+
+        /**
+         * The maximum number of characters per line, to keep documents
+         * readable and within the line limits of older PostScript consumers.
+         */
+        protected static final int MAXIMUM_LINE_LENGTH = 72;
+
+        /**
+         * The characters of the current line, plus room for its line feed and
+         * for an end-of-data marker of up to two characters.
+         */
+        protected final byte[]     line                = new byte[ MAXIMUM_LINE_LENGTH + 3 ];
+
+        /**
+         * The number of characters in the current line.
+         */
+        protected int              lineLength;
+
+        /**
+         * This is the default constructor for an ASCII Encoding filter.
+         *
+         * @param outputStream
+         *            The {@link OutputStream} to write the encoded data to
+         */
+        protected AsciiOutputStream( final OutputStream outputStream ) {
+            super( outputStream );
+            lineLength = 0;
+        }
+
+        /**
+         * Appends a character to the current line, writing the line out with
+         * a line feed once it is full.
+         *
+         * @param character
+         *            The ASCII character to append
+         * @throws IOException
+         *             If the underlying stream could not be written to
+         */
+        protected final void append( final int character ) throws IOException {
+            line[ lineLength++ ] = ( byte ) character;
+            if ( lineLength == MAXIMUM_LINE_LENGTH ) {
+                line[ lineLength++ ] = '\n';
+                out.write( line, 0, lineLength );
+                lineLength = 0;
+            }
+        }
+
+        @Override
+        public final void write( final byte[] bytes, final int offset, final int length )
+                throws IOException {
+            final int end = offset + length;
+            for ( int index = offset; index < end; index++ ) {
+                write( bytes[ index ] );
+            }
+        }
+
+        /**
+         * Writes any pending data, the end-of-data marker and a final line
+         * feed, without closing the underlying stream. This must be called
+         * exactly once, after all data has been written.
+         *
+         * @throws IOException
+         *             If the underlying stream could not be written to
+         */
+        protected abstract void finish() throws IOException;
+
+        /**
+         * Writes the end-of-data marker and the remainder of the current line.
+         *
+         * @param endOfData
+         *            The end-of-data marker for the ASCII Encoding
+         * @throws IOException
+         *             If the underlying stream could not be written to
+         */
+        protected final void appendEndOfData( final String endOfData ) throws IOException {
+            // The marker is never split across lines, as some consumers do not
+            // tolerate white space within it.
+            for ( int index = 0; index < endOfData.length(); index++ ) {
+                line[ lineLength++ ] = ( byte ) endOfData.charAt( index );
+            }
+            line[ lineLength++ ] = '\n';
+            out.write( line, 0, lineLength );
+            lineLength = 0;
+        }
+
+    }
+
+    /**
+     * {@code AsciiHexOutputStream} writes two lower-case hexadecimal characters
+     * per byte, terminated by the ASCIIHex end-of-data marker.
+     */
+    private static final class AsciiHexOutputStream extends AsciiOutputStream {
+
+        /**
+         * The hexadecimal digits, indexed by nibble value.
+         */
+        private static final byte[] HEX_DIGITS = {
+                '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+        /**
+         * This is the default constructor for an ASCIIHex filter.
+         *
+         * @param outputStream
+         *            The {@link OutputStream} to write the encoded data to
+         */
+        AsciiHexOutputStream( final OutputStream outputStream ) {
+            super( outputStream );
+        }
+
+        @Override
+        public void write( final int b ) throws IOException {
+            append( HEX_DIGITS[ ( b >> 4 ) & 0xf ] );
+            append( HEX_DIGITS[ b & 0xf ] );
+        }
+
+        @Override
+        @SuppressWarnings("nls")
+        protected void finish() throws IOException {
+            appendEndOfData( ">" );
+        }
+
+    }
+
+    /**
+     * {@code Ascii85OutputStream} writes five base-85 characters per four
+     * bytes, with "z" for four zero bytes, terminated by the ASCII85
+     * end-of-data marker.
+     */
+    private static final class Ascii85OutputStream extends AsciiOutputStream {
+
+        /**
+         * The bytes of the current four-byte group, most significant first.
+         */
+        private int         tuple;
+
+        /**
+         * The number of bytes in the current four-byte group.
+         */
+        private int         tupleLength;
+
+        /**
+         * The base-85 digits of the current group, most significant first.
+         */
+        private final int[] digits = new int[ 5 ];
+
+        /**
+         * This is the default constructor for an ASCII85 filter.
+         *
+         * @param outputStream
+         *            The {@link OutputStream} to write the encoded data to
+         */
+        Ascii85OutputStream( final OutputStream outputStream ) {
+            super( outputStream );
+            tuple = 0;
+            tupleLength = 0;
+        }
+
+        @Override
+        public void write( final int b ) throws IOException {
+            tuple = ( tuple << 8 ) | ( b & 0xff );
+            if ( ++tupleLength == 4 ) {
+                if ( tuple == 0 ) {
+                    append( 'z' );
+                }
+                else {
+                    appendTuple( 5 );
+                }
+                tuple = 0;
+                tupleLength = 0;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("nls")
+        protected void finish() throws IOException {
+            // A final partial group is padded with zero bytes, and only one
+            // character more than the number of bytes is written for it.
+            if ( tupleLength > 0 ) {
+                final int numberOfCharacters = tupleLength + 1;
+                tuple <<= 8 * ( 4 - tupleLength );
+                appendTuple( numberOfCharacters );
+                tuple = 0;
+                tupleLength = 0;
+            }
+            appendEndOfData( "~>" );
+        }
+
+        /**
+         * Appends the leading base-85 characters of the current group.
+         *
+         * @param numberOfCharacters
+         *            The number of characters to append, from 2 to 5
+         * @throws IOException
+         *             If the underlying stream could not be written to
+         */
+        private void appendTuple( final int numberOfCharacters ) throws IOException {
+            long value = tuple & 0xffffffffL;
+            for ( int digit = 4; digit >= 0; digit-- ) {
+                digits[ digit ] = ( int ) ( value % 85 );
+                value /= 85;
+            }
+            for ( int digit = 0; digit < numberOfCharacters; digit++ ) {
+                append( '!' + digits[ digit ] );
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2020, 2022 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the GraphicsToolkit Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * GraphicsToolkit Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/graphicstoolkit
+ */
+package com.mhschmieder.graphicstoolkit.image;
+
+/**
+ * {@code RasterCopyMode} is an enumeration of the ways in which the pixels of
+ * a {@link java.awt.image.RenderedImage} may be transferred when converting it
+ * to a {@link java.awt.image.BufferedImage}.
+ * <p>
+ * Sharing avoids any copy when the source image consists of a single writable
+ * tile that the Buffered Image can wrap directly, which halves peak memory for
+ * large decoded images, but means that later changes to either image are seen
+ * by the other. Tile streaming copies one tile at a time, concurrently when
+ * there are several tiles, rather than asking the source image for all of its
+ * data at once.
+ *
+ * @version 1.0
+ *
+ * @author Mark Schmieder
+ */
+public enum RasterCopyMode {
+    /**
+     * The pixels are always copied into a new raster, all in one pass.
+     */
+    COPY,
+    /**
+     * The source raster is shared when its layout permits, and otherwise the
+     * pixels are copied tile by tile.
+     */
+    SHARE,
+    /**
+     * The pixels are always copied into a new raster, tile by tile, with the
+     * tiles copied in parallel.
+     */
+    TILE_STREAMING;
+
+    /**
+     * Returns the default Raster Copy Mode, for safe initialization and for
+     * clients that have no way of dealing with alternate modes. Copying is
+     * chosen as the result is then independent of the source image.
+     *
+     * @return The safest Raster Copy Mode, which is Copy
+     *
+     * @since 1.0
+     */
+    public static RasterCopyMode defaultValue() {
+        return COPY;
+    }
+
+}
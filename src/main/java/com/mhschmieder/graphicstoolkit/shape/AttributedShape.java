@@ -35,6 +35,7 @@ import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 
 import com.mhschmieder.graphicstoolkit.DrawMode;
+import com.mhschmieder.graphicstoolkit.color.ColorPool;
 
 /**
  * {@code AttributedShape} holds a Graphics2D {@link Shape} alongside related
@@ -118,7 +119,7 @@ public class AttributedShape {
     }
 
     /**
-     * This is the fully specified constructor, to use when the {@link Shape}
+     * This is the unpooled constructor, to use when the {@link Shape}
      * has known non-default attributes and needs to apply a transform.
      *
      * @param unattributedShape
@@ -137,9 +138,38 @@ public class AttributedShape {
                             final Color color,
                             final DrawMode parentDrawMode,
                             final AffineTransform affineTransform ) {
+        this( unattributedShape, color, parentDrawMode, affineTransform, null );
+    }
+
+    /**
+     * This is the fully specified constructor, to use when the pen color
+     * should be interned, so that the many shapes of an imported scene share
+     * one instance per distinct color rather than each holding their own.
+     *
+     * @param unattributedShape
+     *            The original unattributed {@link Shape}
+     * @param color
+     *            The {@link Color} to assign to the pen (foreground)
+     * @param parentDrawMode
+     *            The {@link DrawMode} to use for rendering this shape, usually
+     *            passed from a parent context
+     * @param affineTransform
+     *            The {@link AffineTransform} to apply to the shape
+     * @param colorPool
+     *            The {@link ColorPool} to intern the pen color in, such as one
+     *            that lives only as long as the imported scene, or
+     *            {@code null} to use the color as-is
+     *
+     * @since 1.0
+     */
+    public AttributedShape( final Shape unattributedShape,
+                            final Color color,
+                            final DrawMode parentDrawMode,
+                            final AffineTransform affineTransform,
+                            final ColorPool colorPool ) {
         shape = unattributedShape;
         transform = affineTransform;
-        penColor = color;
+        penColor = ( colorPool != null ) ? colorPool.intern( color ) : color;
         drawMode = parentDrawMode;
     }
 